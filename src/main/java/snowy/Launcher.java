@@ -1,20 +1,136 @@
 package snowy;
 
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Scanner;
+
 import javafx.application.Application;
 
+import snowy.exception.SnowyException;
+
 /**
  * Serves as the entry point for the Snowy application.
  * This launcher class is used to workaround classpath issues that arise when
  * using JavaFX with certain build tools. It delegates the actual application
- * launching to the Main class.
+ * launching to the Main class, or runs Snowy in the terminal when started
+ * with the --headless flag, or runs a file of commands when started with
+ * --batch [file], adding --quiet to print only the commands that failed.
+ * Setting the snowy.startupTiming system property prints how long each step of
+ * starting up took, counted from the start of the JVM. Setting it to "exit" also
+ * closes Snowy once startup has finished, for benchmarking and for recording
+ * startup profiles.
  */
 public class Launcher {
+    private static final String HEADLESS_FLAG = "--headless";
+    private static final String BATCH_FLAG = "--batch";
+    private static final String QUIET_FLAG = "--quiet";
+    private static final String BATCH_USAGE = "Usage: --batch <file> [--quiet]";
+    private static final String STARTUP_TIMING_PROPERTY = "snowy.startupTiming";
+    private static final String STARTUP_TIMING_EXIT = "exit";
+
     /**
-     * Launches the JavaFX application.
+     * Launches the JavaFX application, or the text-based interface if --headless is given.
+     * Exits with status 1 if --batch is given without a file.
      *
      * @param args Command line arguments passed to the application.
      */
     public static void main(String[] args) {
+        List<String> arguments = Arrays.asList(args);
+        int batchIndex = arguments.indexOf(BATCH_FLAG);
+        if (batchIndex != -1) {
+            if (batchIndex + 1 == args.length || args[batchIndex + 1].startsWith("--")) {
+                System.out.println(BATCH_USAGE);
+                System.exit(1);
+            }
+            runBatch(Path.of(args[batchIndex + 1]), arguments.contains(QUIET_FLAG));
+            return;
+        }
+        if (arguments.contains(HEADLESS_FLAG)) {
+            runHeadless();
+            return;
+        }
         Application.launch(Main.class, args);
     }
+
+    /**
+     * Reads commands from standard input and prints Snowy's responses, reminders and
+     * notices about outside changes to the task file to standard output until the
+     * user says bye or the input ends.
+     */
+    private static void runHeadless() {
+        Snowy snowy = createSnowy();
+        System.out.println(snowy.getWelcome());
+        logStartup("tasks ready");
+        if (isExitAfterStartup()) {
+            return;
+        }
+        snowy.startReminders(System.out::println);
+        snowy.startWatching(System.out::println);
+
+        Scanner scanner = new Scanner(System.in);
+        while (scanner.hasNextLine()) {
+            String input = scanner.nextLine();
+            System.out.println(snowy.getResponse(input));
+            if (input.trim().equalsIgnoreCase("bye")) {
+                break;
+            }
+        }
+        snowy.stopReminders();
+        snowy.stopWatching();
+    }
+
+    /**
+     * Runs every command in a file and prints the responses and a summary to standard output.
+     * Exits with status 1 if the tasks or the file cannot be read.
+     *
+     * @param file    File of commands, one per line.
+     * @param isQuiet Whether to print only the responses to commands that failed.
+     */
+    private static void runBatch(Path file, boolean isQuiet) {
+        Snowy snowy = createSnowy();
+        try {
+            System.out.println(snowy.runBatch(file, isQuiet, System.out::println));
+        } catch (SnowyException e) {
+            System.out.println(e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Creates Snowy with the default task file, exiting with status 1 if the tasks cannot be loaded.
+     *
+     * @return The new Snowy instance.
+     */
+    private static Snowy createSnowy() {
+        try {
+            return new Snowy();
+        } catch (SnowyException e) {
+            System.out.println("Woof! I couldn't load your tasks: " + e.getMessage());
+            System.exit(1);
+            return null;
+        }
+    }
+
+    /**
+     * Prints how long Snowy has taken to reach a step of starting up, if startup timing is enabled.
+     *
+     * @param step Name of the step that was reached.
+     */
+    static void logStartup(String step) {
+        if (System.getProperty(STARTUP_TIMING_PROPERTY) != null) {
+            System.out.println("Startup: " + step + " after "
+                    + ManagementFactory.getRuntimeMXBean().getUptime() + " ms");
+        }
+    }
+
+    /**
+     * Checks whether Snowy should close as soon as it has finished starting up.
+     *
+     * @return True if the snowy.startupTiming system property is set to "exit".
+     */
+    static boolean isExitAfterStartup() {
+        return STARTUP_TIMING_EXIT.equals(System.getProperty(STARTUP_TIMING_PROPERTY));
+    }
 }
@@ -1,8 +1,11 @@
 package snowy;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
 import javafx.scene.layout.AnchorPane;
@@ -10,16 +13,21 @@ import javafx.stage.Stage;
 
 /**
  * A GUI for Snowy using FXML.
+ * The window is shown as soon as its layout is loaded; Snowy loads its tasks on
+ * a background thread and the chat becomes usable once they are ready. If they
+ * cannot be loaded, the chat says why instead.
  */
 public class Main extends Application {
-
-    private final Snowy snowy = new Snowy();
-
+    private volatile Snowy snowy;
+    private boolean isFirstFrameShown;
+    private boolean isSnowyReady;
 
     /**
      * Starts the JavaFX application by setting up the primary stage.
-     * Loads the MainWindow FXML layout, creates the scene, sets the stage title,
-     * injects the Snowy instance into the controller, and displays the stage.
+     * Loads the MainWindow FXML layout, creates the scene, sets the stage title
+     * and displays the stage, then loads Snowy in the background. Once Snowy is
+     * loaded it is injected into the controller and starts delivering reminders
+     * and notices about outside changes to the chat.
      *
      * @param stage The primary stage for this application, provided by the JavaFX platform.
      */
@@ -31,10 +39,55 @@ public class Main extends Application {
             Scene scene = new Scene(ap);
             stage.setScene(scene);
             stage.setTitle("Snowy");
-            fxmlLoader.<MainWindow>getController().setSnowy(snowy);
+            MainWindow mainWindow = fxmlLoader.getController();
+            scene.addPostLayoutPulseListener(new Runnable() {
+                @Override
+                public void run() {
+                    scene.removePostLayoutPulseListener(this);
+                    isFirstFrameShown = true;
+                    logStartup("first frame");
+                }
+            });
             stage.show();
+            logStartup("window shown");
+
+            CompletableFuture.supplyAsync(Snowy::new).thenAccept(loaded -> Platform.runLater(() -> {
+                snowy = loaded;
+                mainWindow.setSnowy(loaded);
+                loaded.startReminders(reminder -> Platform.runLater(() -> mainWindow.showNotification(reminder)));
+                loaded.startWatching(message -> Platform.runLater(() -> mainWindow.showNotification(message)));
+                isSnowyReady = true;
+                logStartup("tasks ready");
+            })).exceptionally(e -> {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                String reason = cause.getMessage() != null ? cause.getMessage() : cause.toString();
+                Platform.runLater(() -> mainWindow.showLoadError(reason));
+                return null;
+            });
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
+
+    @Override
+    public void stop() {
+        if (snowy != null) {
+            snowy.stopReminders();
+            snowy.stopWatching();
+        }
+    }
+
+    /**
+     * Prints how long the app has taken to reach a step of starting up, if
+     * startup timing is enabled, and closes the app once startup has finished if
+     * asked to. Must be called on the JavaFX application thread.
+     *
+     * @param step Name of the step that was reached.
+     */
+    private void logStartup(String step) {
+        Launcher.logStartup(step);
+        if (Launcher.isExitAfterStartup() && isFirstFrameShown && isSnowyReady) {
+            Platform.exit();
+        }
+    }
 }
@@ -1,22 +1,40 @@
 package snowy;
 
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
 import javafx.scene.control.ScrollPane;
 import javafx.scene.control.TextField;
 import javafx.scene.image.Image;
 import javafx.scene.layout.AnchorPane;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.BackgroundImage;
+import javafx.scene.layout.BackgroundPosition;
+import javafx.scene.layout.BackgroundRepeat;
+import javafx.scene.layout.BackgroundSize;
+import javafx.scene.layout.Pane;
 import javafx.scene.layout.VBox;
+import javafx.util.Duration;
 
 /**
  * Controller for the main GUI window of Snowy.
  * Manages the main chat interface including the scroll pane for chat history,
  * the text input field, and the send button. Handles user input events and
  * coordinates with the Snowy chatbot to generate and display responses.
+ * Images are decoded on background threads at the size they are shown at, so
+ * the window can appear before they are ready.
  */
 public class MainWindow extends AnchorPane {
-    private final Image userImage = new Image(this.getClass().getResourceAsStream("/images/tintin.png"));
-    private final Image snowyImage = new Image(this.getClass().getResourceAsStream("/images/snowy.png"));
+    // Twice the size of the avatar in DialogBox.fxml, so avatars stay sharp on high-density screens
+    private static final double AVATAR_PIXELS = 198;
+    // Twice the window height; the background is scaled to cover the window
+    private static final double BACKGROUND_PIXELS = 1200;
+
+    private final Image userImage = loadImage("/images/tintin.png", AVATAR_PIXELS, AVATAR_PIXELS);
+    private final Image snowyImage = loadImage("/images/snowy.png", AVATAR_PIXELS, AVATAR_PIXELS);
+    @FXML
+    private Pane backdrop;
     @FXML
     private ScrollPane scrollPane;
     @FXML
@@ -26,11 +44,14 @@ public class MainWindow extends AnchorPane {
     @FXML
     private Button sendButton;
     private Snowy snowy;
+    // Shown in reply to every command if Snowy could not be loaded
+    private String loadError;
 
     /**
      * Initializes the main window components.
      * Sets up auto-scrolling behavior for the scroll pane to always show
-     * the most recent messages at the bottom.
+     * the most recent messages at the bottom, starts loading the background
+     * and disables input until Snowy has loaded its tasks.
      */
     @FXML
     public void initialize() {
@@ -38,23 +59,82 @@ public class MainWindow extends AnchorPane {
         // Make dialog container width follow the scroll pane so dialog boxes resize
         dialogContainer.prefWidthProperty().bind(scrollPane.widthProperty().subtract(20));
         dialogContainer.setFillWidth(true);
+        userInput.setDisable(true);
+        sendButton.setDisable(true);
+        loadBackground();
+    }
+
+    /**
+     * Starts decoding an image from the application's resources on a background thread.
+     *
+     * @param resource Path of the image resource.
+     * @param width    Width to decode the image at, keeping its aspect ratio, or 0 for its own width.
+     * @param height   Height to decode the image at, keeping its aspect ratio, or 0 for its own height.
+     * @return The image, which is empty until decoding finishes.
+     */
+    private static Image loadImage(String resource, double width, double height) {
+        String url = MainWindow.class.getResource(resource).toExternalForm();
+        return new Image(url, width, height, true, true, true);
+    }
+
+    /**
+     * Shows the background image behind the chat once it has been decoded.
+     * Until then the window shows the plain background colour from main.css.
+     */
+    private void loadBackground() {
+        Image image = loadImage("/images/background.png", 0, BACKGROUND_PIXELS);
+        image.progressProperty().addListener((observable, oldProgress, progress) -> {
+            if (progress.doubleValue() >= 1 && !image.isError()) {
+                BackgroundSize cover = new BackgroundSize(1, 1, true, true, false, true);
+                backdrop.setBackground(new Background(new BackgroundImage(image, BackgroundRepeat.NO_REPEAT,
+                        BackgroundRepeat.NO_REPEAT, BackgroundPosition.CENTER, cover)));
+            }
+        });
     }
 
     /**
-     * Injects the Snowy instance into the controller and displays the welcome message.
-     * This method is called by Main after the FXML is loaded to provide the
-     * controller with access to the Snowy chatbot.
+     * Injects the Snowy instance into the controller, displays the welcome message
+     * and lets the user start typing commands.
+     * This method is called by Main once Snowy has loaded its tasks, which happens
+     * after the window is first shown.
      *
      * @param s The Snowy chatbot instance to use for processing commands.
      */
     public void setSnowy(Snowy s) {
         snowy = s;
+        userInput.setDisable(false);
+        sendButton.setDisable(false);
+        userInput.requestFocus();
         // Show welcome message
         dialogContainer.getChildren().add(
                 DialogBox.getSnowyDialog(snowy.getWelcome(), snowyImage)
         );
     }
 
+    /**
+     * Tells the user that Snowy could not load its tasks, and lets them type bye
+     * to close the window. Called by Main instead of {@link #setSnowy}.
+     *
+     * @param reason What went wrong.
+     */
+    public void showLoadError(String reason) {
+        loadError = "Woof! I couldn't load your tasks: " + reason + "\nType bye to close me, then try again.";
+        userInput.setDisable(false);
+        sendButton.setDisable(false);
+        userInput.requestFocus();
+        dialogContainer.getChildren().add(DialogBox.getSnowyDialog(loadError, snowyImage));
+    }
+
+    /**
+     * Displays a message Snowy sends on its own, such as a reminder, in the chat.
+     * Must be called on the JavaFX application thread.
+     *
+     * @param message The text to display.
+     */
+    public void showNotification(String message) {
+        dialogContainer.getChildren().add(DialogBox.getSnowyDialog(message, snowyImage));
+    }
+
     /**
      * Handles user input from the text field or send button.
      * Creates dialog boxes for both the user's input and Snowy's response,
@@ -63,15 +143,21 @@ public class MainWindow extends AnchorPane {
     @FXML
     private void handleUserInput() {
         String input = userInput.getText();
+        boolean isBye = input.trim().equalsIgnoreCase("bye");
 
         // Closes the application with goodbye message upon bye command
-        if (input.trim().equalsIgnoreCase("bye")) {
-            javafx.animation.PauseTransition delay = new javafx.animation.PauseTransition(javafx.util.Duration.seconds(1));
-            delay.setOnFinished(event -> javafx.application.Platform.exit());
+        if (isBye) {
+            PauseTransition delay = new PauseTransition(Duration.seconds(1));
+            delay.setOnFinished(event -> Platform.exit());
             delay.play();
         }
 
-        String response = snowy.getResponse(input);
+        String response;
+        if (snowy != null) {
+            response = snowy.getResponse(input);
+        } else {
+            response = isBye ? "Bye!" : loadError;
+        }
         dialogContainer.getChildren().addAll(
                 DialogBox.getUserDialog(input, userImage),
                 DialogBox.getSnowyDialog(response, snowyImage)
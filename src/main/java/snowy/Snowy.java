@@ -1,21 +1,58 @@
 package snowy;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+import snowy.batch.BatchCommand;
+import snowy.batch.CommandReader;
+import snowy.cache.ResponseCache;
+import snowy.exception.InvalidInputException;
 import snowy.exception.SnowyException;
+import snowy.exception.WriteConflictException;
+import snowy.history.AddChange;
+import snowy.history.Change;
+import snowy.history.DeleteChange;
+import snowy.history.History;
+import snowy.history.LabelChange;
+import snowy.history.MarkChange;
 import snowy.parser.Parser;
+import snowy.parser.QueryParser;
+import snowy.reminder.ReminderScheduler;
+import snowy.storage.FileWatcher;
+import snowy.storage.FlatFileStorage;
 import snowy.storage.Storage;
+import snowy.storage.TaskChanges;
 import snowy.task.Deadline;
+import snowy.task.DescriptionPool;
 import snowy.task.Event;
+import snowy.task.Priority;
+import snowy.task.Recurrence;
+import snowy.task.RecurringDeadline;
+import snowy.task.RecurringEvent;
 import snowy.task.Task;
 import snowy.task.ToDo;
+import snowy.tasklist.EventConflict;
+import snowy.tasklist.QueryPlan;
+import snowy.tasklist.TaskEvent;
 import snowy.tasklist.TaskList;
+import snowy.tasklist.TaskListener;
+import snowy.tasklist.TaskStats;
+import snowy.tasklist.TimeSlot;
+import snowy.workspace.Workspace;
+import snowy.workspace.WorkspaceManager;
 
 /**
  * Main class for the Snowy chatbot.
@@ -31,36 +68,367 @@ public class Snowy {
     private static final int MARK_CMD_LENGTH = 5; // "mark "
     private static final int UNMARK_CMD_LENGTH = 7; // "unmark "
     private static final int DELETE_CMD_LENGTH = 7; // "delete "
+    private static final int FIND_RESULT_LIMIT = 20;
+    private static final int STATS_WEEKS = 4;
+    private static final String AUTO_ARCHIVE_DAYS_PROPERTY = "snowy.autoArchiveDays";
+    private static final String MAX_LOADED_TASKS_PROPERTY = "snowy.maxLoadedTasks";
+    private static final String BATCH_CHECKPOINT_PROPERTY = "snowy.batchCheckpoint";
+    private static final int DEFAULT_BATCH_CHECKPOINT = 1000;
     private static final DateTimeFormatter DATE_DISPLAY_FORMAT = DateTimeFormatter.ofPattern("MMM dd yyyy");
-    private final Storage storage;
+    private static final DateTimeFormatter DATE_TIME_DISPLAY_FORMAT = DateTimeFormatter.ofPattern("MMM dd yyyy HH:mm");
+    private static final DateTimeFormatter TIME_DISPLAY_FORMAT = DateTimeFormatter.ofPattern("HH:mm");
+    private final DescriptionPool descriptionPool = new DescriptionPool();
+    private final ReminderScheduler reminders = new ReminderScheduler();
+    private final ResponseCache responseCache = new ResponseCache();
+    private final WorkspaceManager workspaces;
+    private FileWatcher watcher;
+    private Workspace workspace;
+    private Storage storage;
     private TaskList tasks;
+    private History history;
+    // While a command file runs, saves are put off until the next checkpoint
+    private boolean isBatching;
+    private boolean hasDeferredSave;
+    // Set while the task list takes in changes that are already in storage
+    private boolean isSavingPaused;
+    private final TaskListener saver = this::saveChanges;
+    private final TaskListener reminderUpdater = this::updateReminders;
 
 
     /**
      * Creates a new Snowy instance with default file path.
+     *
+     * @throws SnowyException If the tasks cannot be loaded.
      */
-    public Snowy() {
+    public Snowy() throws SnowyException {
         this(FILEPATH);
     }
 
     /**
      * Creates a new Snowy instance with the specified file path.
-     * Initializes storage at the given location, loads existing tasks from file,
-     * and creates an empty task list if loading fails.
+     * Initializes storage at the given location and loads existing tasks from file.
+     * Other task lists are stored next to this file and can be switched to with the
+     * use command. Lists are unloaded when more tasks than the snowy.maxLoadedTasks
+     * system property allows are loaded, 100,000 by default.
      *
      * @param filePath The path to the data file for storing tasks.
+     * @throws SnowyException If the tasks cannot be loaded.
+     */
+    public Snowy(String filePath) throws SnowyException {
+        Path path = Paths.get(filePath).toAbsolutePath();
+        workspaces = new WorkspaceManager(path.getParent(), descriptionPool,
+                Math.max(1, Integer.getInteger(MAX_LOADED_TASKS_PROPERTY, WorkspaceManager.DEFAULT_MAX_LOADED_TASKS)));
+        activate(workspaces.open(path));
+    }
+
+    /**
+     * Makes the given workspace the one that commands operate on.
+     * If the snowy.autoArchiveDays system property is set, done tasks older than
+     * that many days are archived first.
+     *
+     * @param newWorkspace The workspace to switch to.
+     */
+    private void activate(Workspace newWorkspace) {
+        if (tasks != null) {
+            tasks.removeListener(saver);
+            tasks.removeListener(reminderUpdater);
+        }
+        workspace = newWorkspace;
+        storage = newWorkspace.getStorage();
+        tasks = newWorkspace.getTasks();
+        // Every listener hears about a change, so reminders follow even one that fails to save
+        tasks.addListener(saver);
+        tasks.addListener(reminderUpdater);
+        history = newWorkspace.getHistory();
+        responseCache.clear();
+
+        Integer autoArchiveDays = Integer.getInteger(AUTO_ARCHIVE_DAYS_PROPERTY);
+        if (autoArchiveDays != null) {
+            try {
+                archiveDoneTasks(LocalDate.now().minusDays(autoArchiveDays));
+            } catch (SnowyException e) {
+                // Auto-archiving is best effort; the tasks simply stay in the active list
+            }
+        }
+        reminders.rebuild(tasks.getTasks());
+    }
+
+    /**
+     * Moves done tasks from the active list to the archive file.
+     *
+     * @param cutoff Only tasks whose last date is before this date are archived, or null for all done tasks.
+     * @return The number of tasks archived.
+     * @throws SnowyException If the tasks cannot be written to the archive.
+     */
+    private int archiveDoneTasks(LocalDate cutoff) throws SnowyException {
+        List<Task> archived = withoutSaving(() -> tasks.removeDoneTasks(cutoff));
+        if (archived.isEmpty()) {
+            return 0;
+        }
+        // Write the archive before dropping the tasks from the task file, so a failure loses nothing
+        storage.appendToArchive(archived);
+        saveTasksNow();
+        // Positions recorded in the history no longer match the list
+        history.clear();
+        return archived.size();
+    }
+
+    /**
+     * Starts reminding the user of upcoming deadlines and events.
+     *
+     * @param sink Receives the text of each reminder, on the reminder thread.
+     */
+    public void startReminders(Consumer<String> sink) {
+        reminders.start(sink);
+    }
+
+    /**
+     * Stops reminding the user of upcoming deadlines and events.
+     */
+    public void stopReminders() {
+        reminders.stop();
+    }
+
+    /**
+     * Starts watching the task files for changes made outside Snowy, such as edits
+     * by hand or by a sync tool, and merges them into the loaded task lists.
+     *
+     * @param sink Receives a message about each merged change, on the watcher thread.
+     */
+    public synchronized void startWatching(Consumer<String> sink) {
+        if (watcher != null) {
+            return;
+        }
+        watcher = new FileWatcher(workspaces.getDirectory(), changedFile -> {
+            String message = reloadExternalChanges(changedFile);
+            if (message != null) {
+                sink.accept(message);
+            }
+        });
+        try {
+            watcher.start();
+        } catch (SnowyException e) {
+            // Without a watcher, outside changes are still merged in on the next save
+            watcher = null;
+        }
+    }
+
+    /**
+     * Stops watching the task files for changes made outside Snowy.
+     */
+    public synchronized void stopWatching() {
+        if (watcher != null) {
+            watcher.stop();
+            watcher = null;
+        }
+    }
+
+    /**
+     * Merges changes made outside Snowy to a task file into the loaded task list.
+     * Only the lines that changed since Snowy last read or wrote the file are parsed,
+     * and only the matching tasks are replaced.
+     *
+     * @param changedFile The file that changed.
+     * @return A message describing the merge, or null if there was nothing to merge.
+     */
+    synchronized String reloadExternalChanges(Path changedFile) {
+        if (!(storage instanceof FlatFileStorage fileStorage)
+                || !changedFile.toAbsolutePath().normalize().equals(fileStorage.getPath())) {
+            // Inactive lists are simply read again when next used
+            workspaces.unload(WorkspaceManager.getWorkspaceName(changedFile));
+            return null;
+        }
+
+        String fileName = changedFile.getFileName().toString();
+        try {
+            TaskChanges changes = fileStorage.reload(tasks.getTasks());
+            if (changes.isEmpty()) {
+                return null;
+            }
+            applyChanges(changes);
+            return "Woof! " + fileName + " was changed outside Snowy. I've swapped " + changes.getRemovedCount()
+                    + " old task(s) for " + changes.getAddedTasks().size() + " new or edited task(s)."
+                    + (changes.getSkippedCount() > 0
+                            ? " " + changes.getSkippedCount() + " line(s) could not be read and were skipped."
+                            : "");
+        } catch (SnowyException e) {
+            return "Woof! " + fileName + " was changed outside Snowy, but I couldn't reload it: " + e.getMessage();
+        }
+    }
+
+    /**
+     * Saves changes to the task list as they are published, writing only the
+     * affected task when there is one. Changes taken in from storage are not saved.
+     *
+     * @param events The changes, all made by one operation.
+     * @throws SnowyException If the changes cannot be saved.
+     */
+    private void saveChanges(List<TaskEvent> events) throws SnowyException {
+        if (isSavingPaused) {
+            return;
+        }
+        if (events.size() > 1) {
+            save(() -> storage.save(tasks.getTasks()));
+            return;
+        }
+        int index = events.get(0).getIndex();
+        switch (events.get(0).getKind()) {
+        case ADDED:
+            save(() -> storage.saveAdded(tasks.getTasks(), index));
+            break;
+        case REMOVED:
+            save(() -> storage.saveRemoved(tasks.getTasks(), index));
+            break;
+        default:
+            save(() -> storage.saveUpdated(tasks.getTasks(), index));
+            break;
+        }
+    }
+
+    /**
+     * Keeps reminders in step with changes to the task list as they are published.
+     *
+     * @param events The changes, all made by one operation.
+     */
+    private void updateReminders(List<TaskEvent> events) {
+        for (TaskEvent event : events) {
+            if (event.getKind() == TaskEvent.Kind.REMOVED) {
+                reminders.cancel(event.getTask());
+            } else {
+                reminders.schedule(event.getTask());
+            }
+        }
+    }
+
+    /**
+     * Changes the task list without saving the change, for changes that are saved
+     * some other way or were read from storage in the first place.
+     *
+     * @param change The change to make.
+     * @param <T>    The type of the result.
+     * @return The result of the change.
+     */
+    private <T> T withoutSaving(Supplier<T> change) {
+        boolean wasPaused = isSavingPaused;
+        isSavingPaused = true;
+        try {
+            return change.get();
+        } finally {
+            isSavingPaused = wasPaused;
+        }
+    }
+
+    /**
+     * Saves the whole task list straight away, even while running a command file,
+     * including any changes whose saving was put off.
+     *
+     * @throws SnowyException If the tasks cannot be saved.
+     */
+    private void saveTasksNow() throws SnowyException {
+        hasDeferredSave = false;
+        write(() -> storage.save(tasks.getTasks()));
+    }
+
+    /**
+     * Saves any changes whose saving was put off while running a command file.
+     *
+     * @throws SnowyException If the tasks cannot be saved.
+     */
+    private void flushDeferredSave() throws SnowyException {
+        if (hasDeferredSave) {
+            saveTasksNow();
+        }
+    }
+
+    /**
+     * Saves a change to the task list, or puts off saving it while running a command file.
+     *
+     * @param write The write to run.
+     * @throws SnowyException If the write fails, or another instance changed the same tasks,
+     *     in which case the list is reloaded from storage.
+     */
+    private void save(Supplier<TaskChanges> write) throws SnowyException {
+        if (isBatching) {
+            hasDeferredSave = true;
+            return;
+        }
+        write(write);
+    }
+
+    /**
+     * Runs a write to storage and takes in any changes that other Snowy instances saved
+     * to the same list in the meantime.
+     *
+     * @param write The write to run.
+     * @throws SnowyException If the write fails, or another instance changed the same tasks,
+     *     in which case the list is reloaded from storage.
+     */
+    private void write(Supplier<TaskChanges> write) throws SnowyException {
+        try {
+            TaskChanges mergedChanges = write.get();
+            if (!mergedChanges.isEmpty()) {
+                applyChanges(mergedChanges);
+            }
+        } catch (WriteConflictException e) {
+            applyChanges(e.getChangesToFile());
+            throw e;
+        }
+    }
+
+    /**
+     * Applies changes read from storage to the task list, replacing only the affected tasks.
+     *
+     * @param changes The changed run of tasks, relative to the current task list.
+     * @throws SnowyException If the changed run does not lie within the task list.
      */
-    public Snowy(String filePath) {
+    private void applyChanges(TaskChanges changes) throws SnowyException {
+        withoutSaving(() -> tasks.replaceTasks(changes.getStart(), changes.getRemovedCount(),
+                changes.getAddedTasks()));
+        // Positions recorded in the history may no longer match the list
+        history.clear();
+    }
 
-        storage = new Storage(filePath);
+    /**
+     * Makes a change to the task list and records it so it can be undone. The change is
+     * recorded even if saving it fails, since the task list keeps it either way.
+     *
+     * @param change     The record of the change.
+     * @param makeChange Makes the change to the task list.
+     * @throws SnowyException If the change cannot be made or saved.
+     */
+    private void recordChange(Change change, Runnable makeChange) throws SnowyException {
+        long version = tasks.getVersion();
         try {
-            storage.initializeFile();
-            tasks = new TaskList(storage.load());
+            makeChange.run();
+        } catch (WriteConflictException e) {
+            // The list was reloaded from storage and the history cleared
+            throw e;
         } catch (SnowyException e) {
-            tasks = new TaskList();
+            if (tasks.getVersion() != version) {
+                history.record(change);
+            }
+            throw e;
         }
+        history.record(change);
     }
 
+    /**
+     * Undoes or redoes a change, forgetting the history if the list had to be
+     * reloaded from storage while saving it.
+     *
+     * @param move Undoes or redoes the change.
+     * @return The change that was undone or redone.
+     * @throws SnowyException If there is no such change, or it cannot be made or saved.
+     */
+    private Change moveInHistory(Supplier<Change> move) throws SnowyException {
+        try {
+            return move.get();
+        } catch (WriteConflictException e) {
+            // Positions recorded in the history no longer match the reloaded list
+            history.clear();
+            throw e;
+        }
+    }
 
     /**
      * Handles the mark command by marking a task as completed.
@@ -71,8 +439,8 @@ public class Snowy {
      */
     private String handleMark(String input) throws SnowyException {
         int taskIndex = Parser.parseTaskIndex(input, MARK_CMD_LENGTH);
-        tasks.markTask(taskIndex);
-        storage.save(tasks.getTasks());
+        Task task = tasks.getTask(taskIndex);
+        recordChange(new MarkChange(taskIndex, task, task.isDone(), true), () -> tasks.markTask(taskIndex));
         return "Nice! I've marked this task as done:\n" + tasks.getTask(taskIndex).printDetailed();
     }
 
@@ -85,11 +453,60 @@ public class Snowy {
      */
     private String handleUnmark(String input) throws SnowyException {
         int taskIndex = Parser.parseTaskIndex(input, UNMARK_CMD_LENGTH);
-        tasks.unmarkTask(taskIndex);
-        storage.save(tasks.getTasks());
+        Task task = tasks.getTask(taskIndex);
+        recordChange(new MarkChange(taskIndex, task, task.isDone(), false), () -> tasks.unmarkTask(taskIndex));
         return "Ok, I've marked this task as not done yet:\n" + tasks.getTask(taskIndex).printDetailed();
     }
 
+    /**
+     * Handles the priority command by setting how important a task is.
+     *
+     * @param input The complete user input string.
+     * @throws SnowyException If the task number or priority is invalid or missing.
+     */
+    private String handlePriority(String input) throws SnowyException {
+        int taskIndex = Parser.parseLabelTaskIndex(input);
+        Priority priority = Parser.parsePriority(input);
+        return relabel(taskIndex, priority, tasks.getTask(taskIndex).getTags(),
+                "Got it. I've set the priority of this task to " + priority.getLabel() + ":\n");
+    }
+
+    /**
+     * Handles the tag command by adding tags to a task.
+     *
+     * @param input The complete user input string.
+     * @throws SnowyException If the task number or a tag is invalid or missing.
+     */
+    private String handleTag(String input) throws SnowyException {
+        int taskIndex = Parser.parseLabelTaskIndex(input);
+        Task task = tasks.getTask(taskIndex);
+        List<String> tags = new ArrayList<>(task.getTags());
+        tags.addAll(Parser.parseTags(input));
+        return relabel(taskIndex, task.getPriority(), tags, "Got it. I've tagged this task:\n");
+    }
+
+    /**
+     * Handles the untag command by removing tags from a task.
+     *
+     * @param input The complete user input string.
+     * @throws SnowyException If the task number or a tag is invalid or missing.
+     */
+    private String handleUntag(String input) throws SnowyException {
+        int taskIndex = Parser.parseLabelTaskIndex(input);
+        Task task = tasks.getTask(taskIndex);
+        List<String> tags = new ArrayList<>(task.getTags());
+        tags.removeAll(Parser.parseTags(input));
+        return relabel(taskIndex, task.getPriority(), tags, "Got it. I've removed those tags from this task:\n");
+    }
+
+    private String relabel(int taskIndex, Priority priority, List<String> tags, String message)
+            throws SnowyException {
+        Task task = tasks.getTask(taskIndex);
+        recordChange(new LabelChange(taskIndex, task, task.getPriority(), task.getTags(), priority, tags),
+                () -> tasks.relabelTask(taskIndex, priority, tags));
+        return message + task.printDetailed();
+    }
+
     /**
      * Handles the todo command by creating and adding a new ToDo task.
      * Parses the description, creates the task, saves to storage, and displays confirmation.
@@ -98,18 +515,17 @@ public class Snowy {
      * @throws SnowyException If the description is missing or empty.
      */
     private String handleTodo(String input) throws SnowyException {
-        String description = Parser.parseTodoDescription(input);
+        String description = descriptionPool.intern(Parser.parseTodoDescription(input));
         Task task = new ToDo(description);
-        tasks.addTask(task);
-        storage.save(tasks.getTasks());
+        recordChange(new AddChange(tasks.size(), task), () -> tasks.addTask(task));
         return "Got it. I've added this task:\n" + task.printDetailed() + "\n"
                 + "Now you have " + tasks.size() + " tasks in the list.";
     }
 
     /**
      * Handles the deadline command by creating and adding a new Deadline task.
-     * Parses the description and deadline datetime, creates the task, saves to storage,
-     * and displays confirmation.
+     * Parses the description, deadline datetime and optional recurrence, creates the task,
+     * saves to storage, and displays confirmation.
      *
      * @param input The complete user input string.
      * @throws SnowyException If the format is invalid or any required information is missing.
@@ -119,23 +535,26 @@ public class Snowy {
             // Parse command into components
             String[] parts = Parser.parseDeadline(input);
             LocalDateTime by = Parser.parseDateTime(parts[1]);
+            Recurrence recurrence = Parser.parseRecurrence(input);
 
             // Construct and store the tasks
-            Task task = new Deadline(parts[0], by);
-            tasks.addTask(task);
-            storage.save(tasks.getTasks());
+            String description = descriptionPool.intern(parts[0]);
+            Task task = recurrence == null
+                    ? new Deadline(description, by)
+                    : new RecurringDeadline(description, by, recurrence);
+            recordChange(new AddChange(tasks.size(), task), () -> tasks.addTask(task));
 
             return "Got it. I've added this task:\n" + task.printDetailed() + "\n"
                     + "Now you have " + tasks.size() + " tasks in the list.";
         } catch (DateTimeParseException e) {
-            throw new SnowyException("Woof! Please use the format: yyyy-MM-dd HHmm");
+            throw new InvalidInputException("Woof! Please use the format: yyyy-MM-dd HHmm");
         }
     }
 
     /**
      * Handles the event command by creating and adding a new Event task.
-     * Parses the description, start time, and end time, creates the task, saves to storage,
-     * and displays confirmation.
+     * Parses the description, start time, end time, and optional recurrence, creates the task,
+     * saves to storage, and displays confirmation.
      *
      * @param input The complete user input string.
      * @throws SnowyException If the format is invalid or any required information is missing.
@@ -146,16 +565,101 @@ public class Snowy {
             String[] parts = Parser.parseEvent(input);
             LocalDateTime from = Parser.parseDateTime(parts[1]);
             LocalDateTime to = Parser.parseDateTime(parts[2]);
+            Recurrence recurrence = Parser.parseRecurrence(input);
 
             // Construct and store the task
-            Task task = new Event(parts[0], from, to);
-            tasks.addTask(task);
-            storage.save(tasks.getTasks());
+            String description = descriptionPool.intern(parts[0]);
+            Task task = recurrence == null
+                    ? new Event(description, from, to)
+                    : new RecurringEvent(description, from, to, recurrence);
+            recordChange(new AddChange(tasks.size(), task), () -> tasks.addTask(task));
             return "Got it. I've added this task:\n" + task.printDetailed() + "\n"
-                    + "Now you have " + tasks.size() + " tasks in the list.";
+                    + "Now you have " + tasks.size() + " tasks in the list."
+                    + formatClashes(tasks.getConflictingEvents((Event) task));
         } catch (DateTimeParseException e) {
-            throw new SnowyException("Woof! Please use the format: yyyy-MM-dd HHmm");
+            throw new InvalidInputException("Woof! Please use the format: yyyy-MM-dd HHmm");
+        }
+    }
+
+    private static String formatClashes(List<Event> clashes) {
+        if (clashes.isEmpty()) {
+            return "";
+        }
+        StringBuilder result = new StringBuilder("\nWoof! Heads up, this clashes with:");
+        for (Event clash : clashes) {
+            result.append("\n- ").append(clash.printDetailed());
         }
+        return result.toString();
+    }
+
+    /**
+     * Handles the conflicts command by listing every pair of events whose times overlap.
+     * Recurring events are not included.
+     */
+    private String handleConflicts() {
+        List<EventConflict> conflicts = tasks.findConflicts();
+        if (conflicts.isEmpty()) {
+            return "Woof! None of your events overlap.";
+        }
+
+        StringBuilder result = new StringBuilder("Woof! These events overlap:\n");
+        for (int i = 0; i < conflicts.size(); i++) {
+            EventConflict conflict = conflicts.get(i);
+            result.append(i + 1).append(". ").append(conflict.getFirst().printDetailed()).append("\n")
+                    .append("   ").append(conflict.getSecond().printDetailed()).append("\n");
+        }
+        return result.toString().trim();
+    }
+
+    /**
+     * Handles the overdue command by listing the deadlines that are past due and
+     * not done, the longest overdue first.
+     */
+    private String handleOverdue() {
+        List<Deadline> overdue = tasks.getOverdueDeadlines(LocalDateTime.now());
+        if (overdue.isEmpty()) {
+            return "Woof! Nothing is overdue. Good job!";
+        }
+
+        StringBuilder result = new StringBuilder("These deadlines have passed:\n");
+        for (int i = 0; i < overdue.size(); i++) {
+            result.append(i + 1).append(". ").append(overdue.get(i).printDetailed()).append("\n");
+        }
+        return result.toString().trim();
+    }
+
+    /**
+     * Handles the stats command by summarising the list: how many tasks there are
+     * of each type, how many are done, how many deadlines are overdue, and how much
+     * of each of the last few weeks' dated tasks is done.
+     */
+    private String handleStats() {
+        TaskStats stats = tasks.getStats(LocalDateTime.now(), STATS_WEEKS);
+        if (stats.getTaskCount() == 0) {
+            return "Woof! You don't have any tasks to count yet.";
+        }
+
+        StringBuilder result = new StringBuilder("Here are your task stats:\n")
+                .append("Tasks: ").append(stats.getTaskCount())
+                .append(" (").append(stats.getTodoCount()).append(" todos, ")
+                .append(stats.getDeadlineCount()).append(" deadlines, ")
+                .append(stats.getEventCount()).append(" events)\n")
+                .append("Done: ").append(stats.getDoneCount()).append(", pending: ").append(stats.getPendingCount())
+                .append(" (").append(formatPercentage(stats.getDoneCount(), stats.getTaskCount())).append(" done)\n")
+                .append("Overdue deadlines: ").append(stats.getOverdueCount());
+        if (!stats.getWeeks().isEmpty()) {
+            result.append("\nDone by week:");
+            for (TaskStats.Week week : stats.getWeeks()) {
+                result.append("\n- Week of ").append(week.getStart().format(DATE_DISPLAY_FORMAT)).append(": ")
+                        .append(week.getDoneCount()).append("/").append(week.getTaskCount())
+                        .append(" (").append(formatPercentage(week.getDoneCount(), week.getTaskCount())).append(")");
+            }
+        }
+        return result.toString();
+    }
+
+    private static String formatPercentage(int part, int whole) {
+        return Math.round(100.0 * part / whole) + "%";
     }
 
     /**
@@ -167,12 +671,81 @@ public class Snowy {
      */
     private String handleDelete(String input) throws SnowyException {
         int taskIndex = Parser.parseTaskIndex(input, DELETE_CMD_LENGTH);
-        Task removedTask = tasks.deleteTask(taskIndex);
-        storage.save(tasks.getTasks());
+        Task removedTask = tasks.getTask(taskIndex);
+        recordChange(new DeleteChange(taskIndex, removedTask), () -> tasks.deleteTask(taskIndex));
         return "Noted. I've removed this task:\n" + removedTask.printDetailed() + "\n"
                 + "Now you have " + tasks.size() + " tasks in the list.";
     }
 
+    /**
+     * Handles the archive command by moving done tasks to the archive file.
+     * With a number of days, only done tasks whose last date is at least that old are archived.
+     *
+     * @param input The complete user input string.
+     * @throws SnowyException If the age is invalid or the archive cannot be written.
+     */
+    private String handleArchive(String input) throws SnowyException {
+        int days = Parser.parseArchiveAge(input);
+        int count = archiveDoneTasks(days < 0 ? null : LocalDate.now().minusDays(days));
+        if (count == 0) {
+            return "Woof! There are no done tasks to archive.";
+        }
+        return "Woof! I've archived " + count + " done task(s). Use find --all to search them.\n"
+                + "Now you have " + tasks.size() + " tasks in the list.";
+    }
+
+    /**
+     * Handles the use command by switching to another named task list,
+     * creating it if it does not exist yet.
+     *
+     * @param input The complete user input string.
+     * @throws SnowyException If the list name is missing or invalid.
+     */
+    private String handleUse(String input) throws SnowyException {
+        String name = Parser.parseWorkspaceName(input);
+        if (name.equals(workspace.getName())) {
+            return "Woof! You're already using the list '" + name + "'.";
+        }
+        flushDeferredSave();
+        activate(workspaces.get(name));
+        String loadReport = storage.getLoadReport();
+        return "Woof! Switched to the list '" + name + "'. It has " + tasks.size() + " tasks."
+                + (loadReport == null ? "" : "\n" + loadReport);
+    }
+
+    /**
+     * Handles the run command by running every command in a file.
+     *
+     * @param input The full user input
+     * @throws SnowyException If the file is missing or cannot be read
+     */
+    private String handleRun(String input) throws SnowyException {
+        Path file = Path.of(Parser.parseRunFile(input));
+        StringBuilder responses = new StringBuilder();
+        String summary = runBatch(file, Parser.isQuietRun(input), line -> responses.append(line).append("\n"));
+        return responses.append(summary).toString();
+    }
+
+    /**
+     * Handles the undo command by reversing the most recent change to the task list.
+     *
+     * @throws SnowyException If there is nothing to undo.
+     */
+    private String handleUndo() throws SnowyException {
+        Change change = moveInHistory(() -> history.undo(tasks));
+        return "Woof! I've undone this change:\n" + change.describe();
+    }
+
+    /**
+     * Handles the redo command by reapplying the most recently undone change.
+     *
+     * @throws SnowyException If there is nothing to redo.
+     */
+    private String handleRedo() throws SnowyException {
+        Change change = moveInHistory(() -> history.redo(tasks));
+        return "Woof! I've redone this change:\n" + change.describe();
+    }
+
     /**
      * Handles the "on" command by finding and displaying all tasks on a specific date.
      * Parses the date, finds matching tasks, and displays them to the user.
@@ -198,42 +771,184 @@ public class Snowy {
             }
             return result.toString().trim();
         } catch (DateTimeParseException e) {
-            throw new SnowyException("Woof! Please use the format: " + DATE_DISPLAY_FORMAT);
+            throw new InvalidInputException("Woof! Please use the format: " + DATE_DISPLAY_FORMAT);
         }
 
     }
 
     /**
-     * Handles the find command
+     * Handles the "between" command by displaying all tasks between two dates, grouped by day.
+     *
+     * @param input The complete user input string.
+     * @throws SnowyException If either date is missing, invalid, or the range is reversed.
+     */
+    private String handleBetween(String input) throws SnowyException {
+        try {
+            String[] dateStrings = Parser.parseBetweenDates(input);
+            LocalDate from = Parser.parseDate(dateStrings[0]);
+            LocalDate to = Parser.parseDate(dateStrings[1]);
+            if (from.isAfter(to)) {
+                throw new InvalidInputException("Woof! The first date must not be after the second date!");
+            }
+
+            return formatAgenda(tasks.getTasksBetween(from, to),
+                    "Tasks from " + from.format(DATE_DISPLAY_FORMAT) + " to " + to.format(DATE_DISPLAY_FORMAT));
+        } catch (DateTimeParseException e) {
+            throw new InvalidInputException("Woof! Please use the format: between [yyyy-MM-dd] [yyyy-MM-dd]");
+        }
+    }
+
+    /**
+     * Handles the "free" command by listing the gaps between events, on one day or
+     * over a range of days, that are at least a given length.
+     *
+     * @param input The complete user input string.
+     * @throws SnowyException If the dates or the duration are missing or invalid.
+     */
+    private String handleFree(String input) throws SnowyException {
+        try {
+            String[] parts = Parser.parseFree(input);
+            LocalDate from = Parser.parseDate(parts[0]);
+            LocalDate to = Parser.parseDate(parts[1]);
+            Duration minLength = Parser.parseDuration(parts[2]);
+            if (from.isAfter(to)) {
+                throw new InvalidInputException("Woof! The first date must not be after the second date!");
+            }
+
+            List<TimeSlot> slots = tasks.getFreeSlots(from, to, minLength);
+            if (slots.isEmpty()) {
+                return "Woof! There's no free slot of " + parts[2] + " or longer then.";
+            }
+            StringBuilder result = new StringBuilder("Here are your free slots of " + parts[2] + " or longer:\n");
+            for (int i = 0; i < slots.size(); i++) {
+                result.append(i + 1).append(". ").append(formatSlot(slots.get(i))).append("\n");
+            }
+            return result.toString().trim();
+        } catch (DateTimeParseException e) {
+            throw new InvalidInputException("Woof! Please use the format: free [yyyy-MM-dd] [yyyy-MM-dd] [duration]");
+        }
+    }
+
+    private static String formatSlot(TimeSlot slot) {
+        LocalDateTime start = slot.getStart();
+        LocalDateTime end = slot.getEnd();
+        String endText = end.toLocalDate().equals(start.toLocalDate())
+                ? end.format(TIME_DISPLAY_FORMAT)
+                : end.format(DATE_TIME_DISPLAY_FORMAT);
+        return start.format(DATE_TIME_DISPLAY_FORMAT) + " to " + endText;
+    }
+
+    /**
+     * Handles the "agenda" command by displaying all tasks in the next n days, starting today.
+     *
+     * @param input The complete user input string.
+     * @throws SnowyException If the number of days is missing or invalid.
+     */
+    private String handleAgenda(String input) throws SnowyException {
+        int days = Parser.parseAgendaDays(input);
+        LocalDate from = LocalDate.now();
+        LocalDate to = from.plusDays(days - 1);
+
+        return formatAgenda(tasks.getTasksBetween(from, to), "Your agenda for the next " + days + " day(s)");
+    }
+
+    private String formatAgenda(NavigableMap<LocalDate, List<Task>> tasksByDate, String title) {
+        if (tasksByDate.isEmpty()) {
+            return "Woof! No tasks found in that period.";
+        }
+
+        StringBuilder result = new StringBuilder(title).append(":\n");
+        for (Map.Entry<LocalDate, List<Task>> entry : tasksByDate.entrySet()) {
+            result.append(entry.getKey().format(DATE_DISPLAY_FORMAT)).append(":\n");
+            List<Task> dayTasks = entry.getValue();
+            for (int i = 0; i < dayTasks.size(); i++) {
+                result.append("  ").append(i + 1).append(". ").append(dayTasks.get(i).printDetailed()).append("\n");
+            }
+        }
+        return result.toString().trim();
+    }
+
+    /**
+     * Handles the find command by showing the tasks that best match the keyword,
+     * tolerating small typos, best match first. If the keyword uses the query
+     * language, the matching tasks are shown in list order instead.
      *
      * @param input The full user input
      * @throws SnowyException If there's an error processing the search
      */
     private String handleFind(String input) throws SnowyException {
         String keyword = Parser.parseFindKeyword(input);
+        int limit = Parser.parseFindLimit(input, FIND_RESULT_LIMIT);
+        if (QueryParser.isQuery(keyword)) {
+            return handleQuery(keyword, limit);
+        }
+        if (Parser.isFindAll(input)) {
+            return appendArchivedMatches(findInList(keyword, limit), keyword);
+        }
+        return findInList(keyword, limit);
+    }
 
-        if (tasks.size() == 0) {
+    private String findInList(String keyword, int limit) {
+
+        List<Task> matchingTasks = tasks.searchTasks(keyword, limit);
+
+        if (matchingTasks.isEmpty()) {
             return "Woof! No matching tasks found in your list.";
         }
 
         StringBuilder result = new StringBuilder("Here are the matching tasks in your list:\n");
-        boolean found = false;
+        for (Task task : matchingTasks) {
+            result.append(tasks.indexOf(task) + 1).append(". ").append(task.printDetailed()).append("\n");
+        }
+        return result.toString().trim();
+    }
 
-        for (int i = 0; i < tasks.size(); i++) {
-            Task task = tasks.getTask(i);
-            if (task.getDescription().toLowerCase().contains(keyword.toLowerCase())) {
-                result.append((i + 1)).append(". ").append(task.printDetailed()).append("\n");
-                found = true;
-            }
+    /**
+     * Appends archived tasks whose descriptions contain the keyword to a find response.
+     *
+     * @param response The response for the active list.
+     * @param keyword  The keyword to search the archive for.
+     * @throws SnowyException If the archive cannot be read.
+     */
+    private String appendArchivedMatches(String response, String keyword) throws SnowyException {
+        List<Task> archivedMatches = storage.searchArchive(keyword);
+        if (archivedMatches.isEmpty()) {
+            return response;
+        }
+
+        StringBuilder result = new StringBuilder(response).append("\nArchived matches:\n");
+        for (Task task : archivedMatches) {
+            result.append("- ").append(task.printDetailed()).append("\n");
         }
+        return result.toString().trim();
+    }
 
-        if (!found) {
+    private String handleQuery(String queryText, int limit) throws SnowyException {
+        QueryPlan plan = tasks.planQuery(QueryParser.parse(queryText));
+        List<Integer> positions = tasks.runQuery(plan);
+
+        if (positions.isEmpty()) {
             return "Woof! No matching tasks found in your list.";
         }
 
+        StringBuilder result = new StringBuilder("Here are the matching tasks in your list:\n");
+        for (int position : positions.subList(0, Math.min(limit, positions.size()))) {
+            result.append(position + 1).append(". ").append(tasks.getTask(position).printDetailed()).append("\n");
+        }
         return result.toString().trim();
     }
 
+    /**
+     * Handles the explain command by showing how a find query would be answered.
+     *
+     * @param input The full user input
+     * @throws SnowyException If the query is missing or malformed
+     */
+    private String handleExplain(String input) throws SnowyException {
+        QueryPlan plan = tasks.planQuery(QueryParser.parse(Parser.parseExplainQuery(input)));
+        return "Here's how I'd find those tasks:\n" + plan.describe();
+    }
+
     private String formatTaskList() {
         if (tasks.size() == 0) {
             return "Woof! Your task list is empty!";
@@ -251,61 +966,221 @@ public class Snowy {
             return "Woof! Your task list is empty!";
         }
 
-        String taskLines = IntStream.range(0, tasks.getSortedTasks().size())
-                .mapToObj(i -> (i + 1) + ". " + tasks.getSortedTasks().get(i).printDetailed())
+        ArrayList<Task> sortedTasks = tasks.getSortedTasks();
+        String taskLines = IntStream.range(0, sortedTasks.size())
+                .mapToObj(i -> (i + 1) + ". " + sortedTasks.get(i).printDetailed())
                 .collect(Collectors.joining("\n"));
         return "Here are your tasks in sorted order:\n" + taskLines;
     }
 
-    public String getWelcome() {
-        return "Woof woof! I'm Snowy! How can I help you?\n";
+    /**
+     * Returns the greeting shown when Snowy starts, along with any problems found
+     * while loading the task list and how many deadlines have passed.
+     *
+     * @return The welcome message.
+     */
+    public synchronized String getWelcome() {
+        String loadReport = storage.getLoadReport();
+        int overdueCount = tasks.getOverdueDeadlines(LocalDateTime.now()).size();
+        return "Woof woof! I'm Snowy! How can I help you?\n" + (loadReport == null ? "" : loadReport + "\n")
+                + (overdueCount == 0 ? "" : "Woof! You have " + overdueCount
+                        + " overdue deadline(s). Type overdue to see them.\n");
+    }
+
+    /**
+     * Returns Snowy's response to the user's input.
+     * Responses to read-only commands are cached until the task list next changes.
+     *
+     * @param input The full user input.
+     * @return The response to show the user.
+     */
+    public synchronized String getResponse(String input) {
+        try {
+            return respond(Parser.parseCommand(input), input);
+        } catch (Exception e) {
+            return describeError(e);
+        }
+    }
+
+    /**
+     * Runs a command, reusing the cached response to a read-only command if the
+     * task list has not changed since. Searches that include the archive are never
+     * cached, since the archive can change without the task list changing.
+     *
+     * @param command The command word.
+     * @param input   The full user input.
+     * @return The response to show the user.
+     * @throws SnowyException If the command is invalid or fails.
+     */
+    private String respond(String command, String input) throws SnowyException {
+        assert command != null && !command.isEmpty() : "Parsed command should never be null or empty";
+        if (!ResponseCache.isCacheable(command) || Parser.isFindAll(input)) {
+            return executeCommand(command, input);
+        }
+
+        long version = tasks.getVersion();
+        String cached = responseCache.get(input, version);
+        if (cached != null) {
+            return cached;
+        }
+        String response = executeCommand(command, input);
+        responseCache.put(input, version, response);
+        return response;
+    }
+
+    private static String describeError(Exception e) {
+        return e instanceof SnowyException ? e.getMessage() : "Woof! Something went wrong: " + e.getMessage();
     }
 
-    public String getResponse(String input) {
+    /**
+     * Runs every command in a file, in order, as if the user had typed them one by one.
+     * The file is read ahead on a background thread, and the task list is saved once
+     * every snowy.batchCheckpoint commands (1000 by default) and at the end, rather
+     * than after every change. A bye command stops the run early.
+     *
+     * @param file    File of commands, one per line; blank lines and lines starting with '#' are skipped.
+     * @param isQuiet Whether to show only the responses to commands that failed.
+     * @param output  Receives the response to each command, prefixed with its line number.
+     * @return A summary of how many commands ran and failed, and how fast.
+     * @throws SnowyException If the file cannot be read.
+     */
+    public synchronized String runBatch(Path file, boolean isQuiet, Consumer<String> output)
+            throws SnowyException {
+        int checkpoint = Math.max(1, Integer.getInteger(BATCH_CHECKPOINT_PROPERTY, DEFAULT_BATCH_CHECKPOINT));
+        int commandCount = 0;
+        int failedCount = 0;
+        long start = System.nanoTime();
+
+        CommandReader reader = new CommandReader(file);
+        reader.start();
+        isBatching = true;
+        try (reader) {
+            for (BatchCommand next = reader.next(); next != null; next = reader.next()) {
+                commandCount++;
+                String response;
+                boolean isFailed = false;
+                if (next.getCommand().equals("run")) {
+                    response = "Woof! A command file can't run another command file.";
+                    isFailed = true;
+                } else {
+                    try {
+                        response = respond(next.getCommand(), next.getInput());
+                    } catch (Exception e) {
+                        response = describeError(e);
+                        isFailed = true;
+                    }
+                }
+                if (isFailed) {
+                    failedCount++;
+                }
+                if (isFailed || !isQuiet) {
+                    output.accept("Line " + next.getLineNumber() + ": " + response);
+                }
+                if (next.getCommand().equals("bye")) {
+                    break;
+                }
+                if (commandCount % checkpoint == 0) {
+                    flushDeferredSave();
+                }
+            }
+        } catch (SnowyException e) {
+            output.accept(e.getMessage());
+        } finally {
+            isBatching = false;
+        }
+
         try {
-            String command = Parser.parseCommand(input);
-            assert command != null && !command.isEmpty() : "Parsed command should never be null or empty";
-            switch (command) {
-            case "bye":
-                return "Sad puppy noises* Bye... Hope to play with you again soon!";
+            flushDeferredSave();
+        } catch (SnowyException e) {
+            output.accept(e.getMessage());
+        }
+        long millis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        return "Woof! Ran " + commandCount + " command(s) from " + file.getFileName() + " in " + millis + " ms ("
+                + commandCount * 1000L / millis + " commands/s). " + failedCount + " failed.";
+    }
 
-            case "list":
-                return formatTaskList();
+    private String executeCommand(String command, String input) throws SnowyException {
+        switch (command) {
+        case "bye":
+            return "Sad puppy noises* Bye... Hope to play with you again soon!";
 
-            case "mark":
-                return handleMark(input);
+        case "list":
+            return formatTaskList();
 
-            case "unmark":
-                return handleUnmark(input);
+        case "mark":
+            return handleMark(input);
 
-            case "todo":
-                return handleTodo(input);
+        case "unmark":
+            return handleUnmark(input);
 
-            case "deadline":
-                return handleDeadline(input);
+        case "priority":
+            return handlePriority(input);
 
-            case "event":
-                return handleEvent(input);
+        case "tag":
+            return handleTag(input);
 
-            case "delete":
-                return handleDelete(input);
+        case "untag":
+            return handleUntag(input);
 
-            case "on":
-                return handleOn(input);
+        case "todo":
+            return handleTodo(input);
 
-            case "find":
-                return handleFind(input);
+        case "deadline":
+            return handleDeadline(input);
 
-            case "sortedlist":
-                return formatSortedTaskList();
+        case "event":
+            return handleEvent(input);
 
-            default:
-                return "Woof! I don't understand that command. :(";
-            }
-        } catch (SnowyException e) {
-            return e.getMessage();
-        } catch (Exception e) {
-            return "Woof! Something went wrong: " + e.getMessage();
+        case "delete":
+            return handleDelete(input);
+
+        case "use":
+            return handleUse(input);
+
+        case "archive":
+            return handleArchive(input);
+
+        case "run":
+            return handleRun(input);
+
+        case "undo":
+            return handleUndo();
+
+        case "redo":
+            return handleRedo();
+
+        case "on":
+            return handleOn(input);
+
+        case "find":
+            return handleFind(input);
+
+        case "explain":
+            return handleExplain(input);
+
+        case "between":
+            return handleBetween(input);
+
+        case "agenda":
+            return handleAgenda(input);
+
+        case "conflicts":
+            return handleConflicts();
+
+        case "free":
+            return handleFree(input);
+
+        case "overdue":
+            return handleOverdue();
+
+        case "stats":
+            return handleStats();
+
+        case "sortedlist":
+            return formatSortedTaskList();
+
+        default:
+            throw new InvalidInputException("Woof! I don't understand that command. :(");
         }
     }
 
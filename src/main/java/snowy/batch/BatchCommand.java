@@ -0,0 +1,36 @@
+package snowy.batch;
+
+/**
+ * Represents one command read from a command file, already split into its
+ * command word so that the thread running the batch only has to execute it.
+ */
+public class BatchCommand {
+    private final int lineNumber;
+    private final String input;
+    private final String command;
+
+    /**
+     * Creates a BatchCommand.
+     *
+     * @param lineNumber One-based line number of the command in its file.
+     * @param input      The full command, trimmed.
+     * @param command    The command word.
+     */
+    public BatchCommand(int lineNumber, String input, String command) {
+        this.lineNumber = lineNumber;
+        this.input = input;
+        this.command = command;
+    }
+
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    public String getInput() {
+        return input;
+    }
+
+    public String getCommand() {
+        return command;
+    }
+}
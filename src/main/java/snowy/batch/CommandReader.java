@@ -0,0 +1,116 @@
+package snowy.batch;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import snowy.exception.InvalidInputException;
+import snowy.exception.SnowyException;
+import snowy.parser.Parser;
+
+/**
+ * Reads a file of commands, one per line, on a background thread, so that
+ * reading and splitting the next commands overlaps with running the current
+ * one. Blank lines and lines starting with '#' are skipped. Commands are handed
+ * over in file order through a bounded queue, so a long file is never held in
+ * memory all at once.
+ */
+public class CommandReader implements AutoCloseable {
+    private static final int QUEUE_CAPACITY = 1024;
+    private static final String COMMENT_PREFIX = "#";
+    // Marks the end of the file; never handed out
+    private static final BatchCommand END = new BatchCommand(0, "", "");
+
+    private final Path file;
+    private final BlockingQueue<BatchCommand> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private volatile SnowyException readError;
+    private Thread thread;
+
+    /**
+     * Creates a reader for the given command file.
+     *
+     * @param file File of commands to read.
+     */
+    public CommandReader(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Starts reading the file in the background.
+     *
+     * @throws SnowyException If the file does not exist or cannot be read.
+     */
+    public void start() throws SnowyException {
+        if (!Files.isRegularFile(file) || !Files.isReadable(file)) {
+            throw new InvalidInputException("Woof! I can't read the command file " + file + "!");
+        }
+        thread = new Thread(this::run, "snowy-command-reader");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Returns the next command in the file, waiting for it to be read if needed.
+     *
+     * @return The next command, or null once the whole file has been read.
+     * @throws SnowyException If the file could not be read to the end.
+     */
+    public BatchCommand next() throws SnowyException {
+        assert thread != null : "Reader should be started before taking commands";
+        try {
+            BatchCommand next = queue.take();
+            if (next != END) {
+                return next;
+            }
+            // Leave the marker for any later call
+            queue.put(END);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SnowyException("Woof! Stopped reading " + file + " before the end.");
+        }
+        if (readError != null) {
+            throw readError;
+        }
+        return null;
+    }
+
+    /**
+     * Stops reading the file, if it has not been read to the end already.
+     */
+    @Override
+    public void close() {
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void run() {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            int lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                String input = line.trim();
+                if (input.isEmpty() || input.startsWith(COMMENT_PREFIX)) {
+                    continue;
+                }
+                queue.put(new BatchCommand(lineNumber, input, Parser.parseCommand(input)));
+            }
+        } catch (IOException e) {
+            readError = new SnowyException("Woof! Error reading " + file + ": " + e.getMessage());
+        } catch (InterruptedException e) {
+            // Closed before the end of the file; nobody is waiting for more commands
+            return;
+        }
+
+        try {
+            queue.put(END);
+        } catch (InterruptedException e) {
+            // Closed while handing over the last commands
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package snowy.cache;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Caches the responses of read-only commands such as list and find.
+ * Each response is stored with the task list version it was computed from,
+ * and is only reused while the list is still at that version, so any
+ * mutation invalidates every cached response without having to track which
+ * ones it affects. Responses are also only reused on the day they were
+ * computed, since some of them depend on the current date. The least recently
+ * used response is evicted once the cache is full.
+ */
+public class ResponseCache {
+    /** Default number of responses kept. */
+    public static final int DEFAULT_CAPACITY = 32;
+
+    private static final Set<String> CACHEABLE_COMMANDS = Set.of("list", "sortedlist", "on", "find", "conflicts",
+            "free");
+
+    private final LinkedHashMap<String, Entry> entries;
+    private long hitCount;
+    private long missCount;
+
+    /**
+     * Creates a cache holding up to {@link #DEFAULT_CAPACITY} responses.
+     */
+    public ResponseCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a cache holding up to the given number of responses.
+     *
+     * @param capacity Maximum number of cached responses.
+     */
+    public ResponseCache(int capacity) {
+        assert capacity > 0 : "Cache capacity must be positive";
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns whether responses to a command may be cached.
+     *
+     * @param command The command word.
+     * @return true if the command only reads the task list.
+     */
+    public static boolean isCacheable(String command) {
+        return CACHEABLE_COMMANDS.contains(command);
+    }
+
+    /**
+     * Returns the cached response to a command, if it was computed at the given task list version.
+     *
+     * @param input   The full user input.
+     * @param version The current task list version.
+     * @return The cached response, or null if there is no valid cached response.
+     */
+    public String get(String input, long version) {
+        String key = normalize(input);
+        Entry entry = entries.get(key);
+        if (entry == null || entry.version != version || !entry.date.equals(LocalDate.now())) {
+            if (entry != null) {
+                entries.remove(key);
+            }
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        return entry.response;
+    }
+
+    /**
+     * Caches the response to a command computed at the given task list version.
+     *
+     * @param input    The full user input.
+     * @param version  The task list version the response was computed from.
+     * @param response The response.
+     */
+    public void put(String input, long version, String response) {
+        entries.put(normalize(input), new Entry(version, LocalDate.now(), response));
+    }
+
+    /**
+     * Removes every cached response.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    private static String normalize(String input) {
+        return input.trim().replaceAll("\\s+", " ");
+    }
+
+    private static class Entry {
+        private final long version;
+        private final LocalDate date;
+        private final String response;
+
+        private Entry(long version, LocalDate date, String response) {
+            this.version = version;
+            this.date = date;
+            this.response = response;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package snowy.exception;
+
+/**
+ * Represents a snapshot file whose contents fail their checksum or cannot be decompressed.
+ * The exception records which block is damaged and where it starts in the file.
+ */
+public class CorruptSnapshotException extends SnowyException {
+    private static final long serialVersionUID = 1L;
+
+    private final int blockIndex;
+    private final long offset;
+
+    /**
+     * Creates a new CorruptSnapshotException.
+     *
+     * @param message    A descriptive error message explaining what went wrong.
+     * @param blockIndex Zero-based index of the damaged block.
+     * @param offset     Byte offset in the file at which the damaged block starts.
+     */
+    public CorruptSnapshotException(String message, int blockIndex, long offset) {
+        super(message);
+        this.blockIndex = blockIndex;
+        this.offset = offset;
+    }
+
+    public int getBlockIndex() {
+        return blockIndex;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+}
@@ -0,0 +1,21 @@
+package snowy.exception;
+
+/**
+ * Represents a command the user typed wrongly, such as a missing description,
+ * a badly formatted date or a task number that does not exist.
+ * These errors are expected and only their message is shown to the user, so
+ * the exception does not record a stack trace, which keeps rejecting bad input
+ * cheap when many commands are run at once.
+ */
+public class InvalidInputException extends SnowyException {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Creates a new InvalidInputException.
+     *
+     * @param message The message to show the user, explaining what to fix.
+     */
+    public InvalidInputException(String message) {
+        super(message, false);
+    }
+}
@@ -6,6 +6,8 @@ package snowy.exception;
  * task operations, or file I/O operations within Snowy.
  */
 public class SnowyException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
     /**
      * Creates a new SnowyException with the specified error message.
      * This exception is used to signal errors specific to Snowy chatbot operations,
@@ -16,4 +18,14 @@ public class SnowyException extends RuntimeException {
     public SnowyException(String message) {
         super(message);
     }
+
+    /**
+     * Creates a new SnowyException that may skip recording where it was thrown.
+     *
+     * @param message            A descriptive error message explaining what went wrong.
+     * @param writableStackTrace Whether the stack trace should be recorded.
+     */
+    protected SnowyException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
 }
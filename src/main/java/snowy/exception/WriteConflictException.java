@@ -0,0 +1,29 @@
+package snowy.exception;
+
+import snowy.storage.TaskChanges;
+
+/**
+ * Represents a failed save because another Snowy instance changed the same
+ * tasks in the task file at the same time. The exception carries the changes
+ * needed to bring the unsaved tasks back in line with the file.
+ */
+public class WriteConflictException extends SnowyException {
+    private static final long serialVersionUID = 1L;
+
+    private final TaskChanges changesToFile;
+
+    /**
+     * Creates a new WriteConflictException.
+     *
+     * @param message       A descriptive error message explaining what went wrong.
+     * @param changesToFile The changes that turn the unsaved tasks into the tasks in the file.
+     */
+    public WriteConflictException(String message, TaskChanges changesToFile) {
+        super(message);
+        this.changesToFile = changesToFile;
+    }
+
+    public TaskChanges getChangesToFile() {
+        return changesToFile;
+    }
+}
@@ -0,0 +1,30 @@
+package snowy.history;
+
+import snowy.exception.SnowyException;
+import snowy.task.Task;
+import snowy.tasklist.TaskList;
+
+/**
+ * Records that a task was added to the list.
+ */
+public class AddChange extends Change {
+
+    public AddChange(int index, Task task) {
+        super(index, task);
+    }
+
+    @Override
+    public void undo(TaskList tasks) throws SnowyException {
+        tasks.deleteTask(index);
+    }
+
+    @Override
+    public void redo(TaskList tasks) throws SnowyException {
+        tasks.insertTask(index, task);
+    }
+
+    @Override
+    public String describe() {
+        return "add " + task.printDetailed();
+    }
+}
@@ -0,0 +1,58 @@
+package snowy.history;
+
+import snowy.exception.SnowyException;
+import snowy.task.Task;
+import snowy.tasklist.TaskList;
+
+/**
+ * Represents a single reversible change to a task list.
+ * A change records only the task it touched, the position of that task and
+ * whatever else is needed to reverse it, never a copy of the whole list.
+ */
+public abstract class Change {
+    protected final int index;
+    protected final Task task;
+
+    /**
+     * Creates a change that touched the task at the given position.
+     *
+     * @param index Position of the task in the list (0-based).
+     * @param task  The task that was changed.
+     */
+    protected Change(int index, Task task) {
+        assert task != null : "A change must refer to a task";
+        this.index = index;
+        this.task = task;
+    }
+
+    /**
+     * Reverses this change on the given task list.
+     *
+     * @param tasks The task list the change was made to.
+     * @throws SnowyException If the list no longer matches the change.
+     */
+    public abstract void undo(TaskList tasks) throws SnowyException;
+
+    /**
+     * Applies this change to the given task list again after it was undone.
+     *
+     * @param tasks The task list the change was made to.
+     * @throws SnowyException If the list no longer matches the change.
+     */
+    public abstract void redo(TaskList tasks) throws SnowyException;
+
+    /**
+     * Returns a short description of this change for display to the user.
+     *
+     * @return Description of the change.
+     */
+    public abstract String describe();
+
+    public int getIndex() {
+        return index;
+    }
+
+    public Task getTask() {
+        return task;
+    }
+}
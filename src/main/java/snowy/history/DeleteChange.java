@@ -0,0 +1,30 @@
+package snowy.history;
+
+import snowy.exception.SnowyException;
+import snowy.task.Task;
+import snowy.tasklist.TaskList;
+
+/**
+ * Records that a task was deleted from the list, keeping the deleted task so it can be restored.
+ */
+public class DeleteChange extends Change {
+
+    public DeleteChange(int index, Task task) {
+        super(index, task);
+    }
+
+    @Override
+    public void undo(TaskList tasks) throws SnowyException {
+        tasks.insertTask(index, task);
+    }
+
+    @Override
+    public void redo(TaskList tasks) throws SnowyException {
+        tasks.deleteTask(index);
+    }
+
+    @Override
+    public String describe() {
+        return "delete " + task.printDetailed();
+    }
+}
@@ -0,0 +1,108 @@
+package snowy.history;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import snowy.exception.InvalidInputException;
+import snowy.exception.SnowyException;
+import snowy.tasklist.TaskList;
+
+/**
+ * Keeps a bounded history of changes to a task list so they can be undone and redone.
+ * Only the most recent changes are kept; once the history is full, the oldest
+ * change is forgotten. Recording a new change clears everything that could be redone.
+ */
+public class History {
+    /** Default number of changes that can be undone. */
+    public static final int DEFAULT_CAPACITY = 100;
+
+    private final Deque<Change> undoStack = new ArrayDeque<>();
+    private final Deque<Change> redoStack = new ArrayDeque<>();
+    private final int capacity;
+
+    /**
+     * Creates a history that remembers up to {@link #DEFAULT_CAPACITY} changes.
+     */
+    public History() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a history that remembers up to the given number of changes.
+     *
+     * @param capacity Maximum number of changes that can be undone.
+     */
+    public History(int capacity) {
+        assert capacity > 0 : "History capacity must be positive";
+        this.capacity = capacity;
+    }
+
+    /**
+     * Records a change that was just made.
+     *
+     * @param change The change to record.
+     */
+    public void record(Change change) {
+        undoStack.push(change);
+        if (undoStack.size() > capacity) {
+            undoStack.removeLast();
+        }
+        redoStack.clear();
+    }
+
+    /**
+     * Undoes the most recent change that has not been undone yet.
+     *
+     * @param tasks The task list to undo the change on.
+     * @return The change that was undone.
+     * @throws SnowyException If there is nothing to undo.
+     */
+    public Change undo(TaskList tasks) throws SnowyException {
+        if (undoStack.isEmpty()) {
+            throw new InvalidInputException("Woof! There's nothing to undo!");
+        }
+        Change change = undoStack.pop();
+        long version = tasks.getVersion();
+        try {
+            change.undo(tasks);
+        } catch (SnowyException e) {
+            // Saving can fail after the list was already changed, which still counts
+            (tasks.getVersion() == version ? undoStack : redoStack).push(change);
+            throw e;
+        }
+        redoStack.push(change);
+        return change;
+    }
+
+    /**
+     * Redoes the most recently undone change.
+     *
+     * @param tasks The task list to redo the change on.
+     * @return The change that was redone.
+     * @throws SnowyException If there is nothing to redo.
+     */
+    public Change redo(TaskList tasks) throws SnowyException {
+        if (redoStack.isEmpty()) {
+            throw new InvalidInputException("Woof! There's nothing to redo!");
+        }
+        Change change = redoStack.pop();
+        long version = tasks.getVersion();
+        try {
+            change.redo(tasks);
+        } catch (SnowyException e) {
+            // Saving can fail after the list was already changed, which still counts
+            (tasks.getVersion() == version ? redoStack : undoStack).push(change);
+            throw e;
+        }
+        undoStack.push(change);
+        return change;
+    }
+
+    /**
+     * Forgets every recorded change, for example after the task list was replaced.
+     */
+    public void clear() {
+        undoStack.clear();
+        redoStack.clear();
+    }
+}
@@ -0,0 +1,52 @@
+package snowy.history;
+
+import java.util.List;
+
+import snowy.exception.SnowyException;
+import snowy.task.Priority;
+import snowy.task.Task;
+import snowy.tasklist.TaskList;
+
+/**
+ * Records that a task's priority or tags were changed.
+ */
+public class LabelChange extends Change {
+    private final Priority oldPriority;
+    private final List<String> oldTags;
+    private final Priority newPriority;
+    private final List<String> newTags;
+
+    /**
+     * Creates a record of a task's labels changing.
+     *
+     * @param index       Position of the task in the list (0-based).
+     * @param task        The task that was relabelled.
+     * @param oldPriority The task's priority before the change.
+     * @param oldTags     The task's tags before the change.
+     * @param newPriority The task's priority after the change.
+     * @param newTags     The task's tags after the change.
+     */
+    public LabelChange(int index, Task task, Priority oldPriority, List<String> oldTags,
+            Priority newPriority, List<String> newTags) {
+        super(index, task);
+        this.oldPriority = oldPriority;
+        this.oldTags = oldTags;
+        this.newPriority = newPriority;
+        this.newTags = newTags;
+    }
+
+    @Override
+    public void undo(TaskList tasks) throws SnowyException {
+        tasks.relabelTask(index, oldPriority, oldTags);
+    }
+
+    @Override
+    public void redo(TaskList tasks) throws SnowyException {
+        tasks.relabelTask(index, newPriority, newTags);
+    }
+
+    @Override
+    public String describe() {
+        return "relabel " + task.getDescription();
+    }
+}
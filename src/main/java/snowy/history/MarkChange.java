@@ -0,0 +1,50 @@
+package snowy.history;
+
+import snowy.exception.SnowyException;
+import snowy.task.Task;
+import snowy.tasklist.TaskList;
+
+/**
+ * Records that a task was marked as done or not done.
+ */
+public class MarkChange extends Change {
+    private final boolean wasDone;
+    private final boolean isDone;
+
+    /**
+     * Creates a record of a task's completion status changing.
+     *
+     * @param index   Position of the task in the list (0-based).
+     * @param task    The task that was marked or unmarked.
+     * @param wasDone Whether the task was done before the change.
+     * @param isDone  Whether the task is done after the change.
+     */
+    public MarkChange(int index, Task task, boolean wasDone, boolean isDone) {
+        super(index, task);
+        this.wasDone = wasDone;
+        this.isDone = isDone;
+    }
+
+    @Override
+    public void undo(TaskList tasks) throws SnowyException {
+        setDone(tasks, wasDone);
+    }
+
+    @Override
+    public void redo(TaskList tasks) throws SnowyException {
+        setDone(tasks, isDone);
+    }
+
+    @Override
+    public String describe() {
+        return (isDone ? "mark " : "unmark ") + task.getDescription();
+    }
+
+    private void setDone(TaskList tasks, boolean done) throws SnowyException {
+        if (done) {
+            tasks.markTask(index);
+        } else {
+            tasks.unmarkTask(index);
+        }
+    }
+}
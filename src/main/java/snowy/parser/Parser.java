@@ -1,10 +1,18 @@
 package snowy.parser;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
+import snowy.exception.InvalidInputException;
 import snowy.exception.SnowyException;
+import snowy.task.Priority;
+import snowy.task.Recurrence;
 
 /**
  * Parses user commands and extracts relevant information.
@@ -14,6 +22,13 @@ import snowy.exception.SnowyException;
  * and input validation related to command syntax.
  */
 public class Parser {
+    private static final String RECURRENCE_SEPARATOR = " /every ";
+    private static final String LIMIT_SEPARATOR = " /limit ";
+    private static final String ALL_FLAG = "--all";
+    private static final String QUIET_FLAG = "--quiet";
+    private static final int MAX_NUMBER_DIGITS = 9;
+    private static final Pattern TAG_PATTERN = Pattern.compile("[\\p{L}\\p{N}_-]+");
+    private static final Pattern DURATION_PATTERN = Pattern.compile("(?:(\\d+)h)?(?:(\\d+)m(?:in)?)?");
 
     /**
      * Parses user input and returns the command type
@@ -49,16 +64,13 @@ public class Parser {
      */
     public static int parseTaskIndex(String fullCommand, int commandLength) throws SnowyException {
         if (fullCommand.length() <= commandLength) {
-            throw new SnowyException("Woof! Please specify the number of the task!");
+            throw new InvalidInputException("Woof! Please specify the number of the task!");
         }
 
-        try {
-            int index = Integer.parseInt(fullCommand.substring(commandLength).trim()) - 1;
-            assert index >= 0 : "Task index should be non-negative after conversion: " + index;
-            return index;
-        } catch (NumberFormatException e) {
-            throw new SnowyException("Woof! Please provide a valid task number!");
-        }
+        int index = parseNumber(fullCommand.substring(commandLength).trim(),
+                "Woof! Please provide a valid task number!") - 1;
+        assert index >= 0 : "Task index should be non-negative after conversion: " + index;
+        return index;
     }
 
     /**
@@ -71,7 +83,7 @@ public class Parser {
     public static String parseTodoDescription(String fullCommand) throws SnowyException {
         String errorMsg = "Woof woof! The description of a ToDo cannot be empty!";
         if (fullCommand.trim().equals("todo")) {
-            throw new SnowyException(errorMsg);
+            throw new InvalidInputException(errorMsg);
         }
 
         String description = extractArgument(fullCommand, 5, errorMsg);
@@ -91,20 +103,20 @@ public class Parser {
      */
     public static String[] parseDeadline(String fullCommand) throws SnowyException {
         if (fullCommand.trim().equals("deadline")) {
-            throw new SnowyException("Woof! The description of a deadline cannot be empty!");
+            throw new InvalidInputException("Woof! The description of a deadline cannot be empty!");
         }
 
         String errorMsg = "Woof! The description of a deadline cannot be empty!";
-        String details = extractArgument(fullCommand, 9, errorMsg);
+        String details = stripRecurrence(extractArgument(fullCommand, 9, errorMsg));
 
         if (!details.contains(" /by ")) {
-            throw new SnowyException("Woof woof! Please use the format: deadline [task] /by [yyyy-MM-dd HHmm]");
+            throw new InvalidInputException("Woof woof! Please use the format: deadline [task] /by [yyyy-MM-dd HHmm]");
         }
 
         String[] parts = details.split(" /by ");
 
         if (parts.length < 2 || parts[0].trim().isEmpty() || parts[1].trim().isEmpty()) {
-            throw new SnowyException("Woof! Both the description and deadline are required!");
+            throw new InvalidInputException("Woof! Both the description and deadline are required!");
         }
 
         assert parts.length == 2 : "Deadline split should produce exactly 2 parts";
@@ -123,22 +135,22 @@ public class Parser {
      */
     public static String[] parseEvent(String fullCommand) throws SnowyException {
         if (fullCommand.trim().equals("event")) {
-            throw new SnowyException("Woof! The description of an event cannot be empty!");
+            throw new InvalidInputException("Woof! The description of an event cannot be empty!");
         }
 
         String errorMsg = "Woof! The description of an event cannot be empty!";
-        String details = extractArgument(fullCommand, 6, errorMsg);
+        String details = stripRecurrence(extractArgument(fullCommand, 6, errorMsg));
 
 
         if (!details.contains(" /from ") || !details.contains(" /to ")) {
-            throw new SnowyException("Woof woof! Please use the format: "
+            throw new InvalidInputException("Woof woof! Please use the format: "
                     + "event [task] /from [yyyy-MM-dd HHmm] /to [yyyy-MM-dd HHmm]");
         }
 
         String[] parts = details.split(" /from | /to ");
 
         if (parts.length < 3 || parts[0].trim().isEmpty() || parts[1].trim().isEmpty() || parts[2].trim().isEmpty()) {
-            throw new SnowyException("Woof! Description, start time, and end time are all required!");
+            throw new InvalidInputException("Woof! Description, start time, and end time are all required!");
         }
 
         assert parts.length == 3 : "Event split should produce exactly 3 parts";
@@ -146,6 +158,27 @@ public class Parser {
         return new String[]{parts[0], parts[1].trim(), parts[2].trim()};
     }
 
+    /**
+     * Parses the optional recurrence of a deadline or event command
+     * Format: ... /every [week|month]
+     *
+     * @param fullCommand The full user input
+     * @return The recurrence, or null if the task does not repeat
+     * @throws SnowyException if the recurrence is empty or not supported
+     */
+    public static Recurrence parseRecurrence(String fullCommand) throws SnowyException {
+        int index = fullCommand.indexOf(RECURRENCE_SEPARATOR);
+        if (index == -1) {
+            return null;
+        }
+
+        String recurrence = fullCommand.substring(index + RECURRENCE_SEPARATOR.length()).trim();
+        if (recurrence.isEmpty()) {
+            throw new InvalidInputException("Woof! Please specify how often the task repeats: /every [week|month]");
+        }
+        return Recurrence.fromString(recurrence);
+    }
+
     /**
      * Parses the date from an "on" command
      *
@@ -155,7 +188,7 @@ public class Parser {
      */
     public static String parseOnDate(String fullCommand) throws SnowyException {
         if (fullCommand.trim().equals("on")) {
-            throw new SnowyException("Woof! Please specify a date in yyyy-MM-dd format!");
+            throw new InvalidInputException("Woof! Please specify a date in yyyy-MM-dd format!");
         }
 
         String errorMsg = "Woof! Please specify a date in date in yyyy-MM-dd format!";
@@ -164,6 +197,168 @@ public class Parser {
         return dateString;
     }
 
+    /**
+     * Parses the two dates from a "between" command
+     * Format: between [yyyy-MM-dd] [yyyy-MM-dd]
+     *
+     * @param fullCommand The full user input
+     * @return String array: [fromString, toString]
+     * @throws SnowyException if either date is missing
+     */
+    public static String[] parseBetweenDates(String fullCommand) throws SnowyException {
+        String errorMsg = "Woof! Please use the format: between [yyyy-MM-dd] [yyyy-MM-dd]";
+        if (fullCommand.trim().equals("between")) {
+            throw new InvalidInputException(errorMsg);
+        }
+
+        String[] parts = extractArgument(fullCommand, 8, errorMsg).split("\\s+");
+        if (parts.length != 2) {
+            throw new InvalidInputException(errorMsg);
+        }
+        return parts;
+    }
+
+    /**
+     * Parses the dates and slot length from a "free" command
+     * Format: free [yyyy-MM-dd] [duration] or free [yyyy-MM-dd] [yyyy-MM-dd] [duration]
+     *
+     * @param fullCommand The full user input
+     * @return String array: [fromString, toString, durationString], with the same from and to for a single day
+     * @throws SnowyException if the date or duration is missing
+     */
+    public static String[] parseFree(String fullCommand) throws SnowyException {
+        String errorMsg = "Woof! Please use the format: free [yyyy-MM-dd] [yyyy-MM-dd] [duration]";
+        if (fullCommand.trim().equals("free")) {
+            throw new InvalidInputException(errorMsg);
+        }
+
+        String[] parts = extractArgument(fullCommand, 5, errorMsg).split("\\s+");
+        if (parts.length == 2) {
+            return new String[] {parts[0], parts[0], parts[1]};
+        }
+        if (parts.length != 3) {
+            throw new InvalidInputException(errorMsg);
+        }
+        return parts;
+    }
+
+    /**
+     * Parses a length of time written in hours and minutes, such as 2h, 45m or 1h30m
+     *
+     * @param durationString The duration to parse
+     * @return The duration, longer than zero
+     * @throws SnowyException if the duration is malformed or zero
+     */
+    public static Duration parseDuration(String durationString) throws SnowyException {
+        Matcher matcher = DURATION_PATTERN.matcher(durationString.toLowerCase());
+        if (durationString.isEmpty() || !matcher.matches()) {
+            throw new InvalidInputException("Woof! Please write the duration in hours and minutes, e.g. 1h30m!");
+        }
+        Duration duration = Duration.ZERO;
+        if (matcher.group(1) != null) {
+            duration = duration.plusHours(parseNumber(matcher.group(1), "Woof! That duration is too long!"));
+        }
+        if (matcher.group(2) != null) {
+            duration = duration.plusMinutes(parseNumber(matcher.group(2), "Woof! That duration is too long!"));
+        }
+        if (duration.isZero()) {
+            throw new InvalidInputException("Woof! The duration must be longer than zero!");
+        }
+        return duration;
+    }
+
+    /**
+     * Parses the task number from a priority, tag or untag command
+     * Format: [command] [task number] [value...]
+     *
+     * @param fullCommand The full user input
+     * @return The task index (0-based)
+     * @throws SnowyException if the task number or the values are missing, or the number is invalid
+     */
+    public static int parseLabelTaskIndex(String fullCommand) throws SnowyException {
+        String[] parts = splitLabelCommand(fullCommand);
+        return parseNumber(parts[1], "Woof! Please provide a valid task number!") - 1;
+    }
+
+    /**
+     * Parses the priority from a priority command
+     * Format: priority [task number] [high/medium/low]
+     *
+     * @param fullCommand The full user input
+     * @return The priority
+     * @throws SnowyException if the priority is missing or unknown
+     */
+    public static Priority parsePriority(String fullCommand) throws SnowyException {
+        String[] parts = splitLabelCommand(fullCommand);
+        if (parts.length != 3) {
+            throw new InvalidInputException("Woof! Please use the format: priority [task number] [high/medium/low]");
+        }
+        return Priority.fromString(parts[2]);
+    }
+
+    /**
+     * Parses the tags from a tag or untag command
+     * Format: tag [task number] [tag...]
+     *
+     * @param fullCommand The full user input
+     * @return The tags, normalised as by {@link #parseTag}
+     * @throws SnowyException if no tags are given or a tag is invalid
+     */
+    public static List<String> parseTags(String fullCommand) throws SnowyException {
+        String[] parts = splitLabelCommand(fullCommand);
+        List<String> tags = new ArrayList<>();
+        for (int i = 2; i < parts.length; i++) {
+            tags.add(parseTag(parts[i]));
+        }
+        return tags;
+    }
+
+    /**
+     * Normalises a tag as written by the user, dropping any leading '#' and
+     * converting it to lower case
+     *
+     * @param tagString The tag to parse, such as "#Work"
+     * @return The tag, such as "work"
+     * @throws SnowyException if the tag is empty or has characters other than letters, digits, '_' and '-'
+     */
+    public static String parseTag(String tagString) throws SnowyException {
+        String tag = tagString.startsWith("#") ? tagString.substring(1) : tagString;
+        if (!TAG_PATTERN.matcher(tag).matches()) {
+            throw new InvalidInputException("Woof! Tags can only have letters, digits, '_' and '-'!");
+        }
+        return tag.toLowerCase();
+    }
+
+    private static String[] splitLabelCommand(String fullCommand) throws SnowyException {
+        String[] parts = fullCommand.trim().split("\\s+");
+        if (parts.length < 3) {
+            String values = parts[0].equals("priority") ? "[high/medium/low]" : "[tag...]";
+            throw new InvalidInputException("Woof! Please use the format: " + parts[0] + " [task number] " + values);
+        }
+        return parts;
+    }
+
+    /**
+     * Parses the number of days from an "agenda" command
+     * Format: agenda [n]
+     *
+     * @param fullCommand The full user input
+     * @return The number of days, at least 1
+     * @throws SnowyException if the number of days is missing or not a positive number
+     */
+    public static int parseAgendaDays(String fullCommand) throws SnowyException {
+        String errorMsg = "Woof! Please specify a positive number of days: agenda [n]";
+        if (fullCommand.trim().equals("agenda")) {
+            throw new InvalidInputException(errorMsg);
+        }
+
+        int days = parseNumber(extractArgument(fullCommand, 7, errorMsg), errorMsg);
+        if (days < 1) {
+            throw new InvalidInputException(errorMsg);
+        }
+        return days;
+    }
+
     /**
      * Parses a date-time string into LocalDateTime
      * Accepts format: yyyy-MM-dd HHmm
@@ -196,21 +391,181 @@ public class Parser {
      * @throws SnowyException If keyword is missing
      */
     public static String parseFindKeyword(String fullCommand) throws SnowyException {
-        if (fullCommand.trim().equals("find")) {
-            throw new SnowyException("Woof! Please specify a keyword to search for!");
+        String errorMsg = "Woof! Please specify a keyword to search for!";
+        String command = stripLimit(fullCommand).trim();
+        if (command.equals("find")) {
+            throw new InvalidInputException(errorMsg);
         }
 
-        String errorMsg = "Woof! Please specify a keyword to search for!";
-        String keyword = extractArgument(fullCommand, 5, errorMsg);
+        String keyword = extractArgument(command, 5, errorMsg);
+        if (keyword.equals(ALL_FLAG) || keyword.startsWith(ALL_FLAG + " ")) {
+            keyword = keyword.substring(ALL_FLAG.length()).trim();
+            if (keyword.isEmpty()) {
+                throw new InvalidInputException(errorMsg);
+            }
+        }
 
         return keyword;
     }
 
+    /**
+     * Returns whether a "find" command also searches archived tasks
+     * Format: find --all [keyword]
+     *
+     * @param fullCommand The full user input
+     * @return true if the --all flag is given
+     */
+    public static boolean isFindAll(String fullCommand) {
+        return fullCommand.trim().matches("find\\s+" + ALL_FLAG + "(\\s.*)?");
+    }
+
+    /**
+     * Parses the optional age from an "archive" command
+     * Format: archive [days]
+     *
+     * @param fullCommand The full user input
+     * @return The minimum age in days of tasks to archive, or -1 to archive all done tasks
+     * @throws SnowyException If the age is not a non-negative number
+     */
+    public static int parseArchiveAge(String fullCommand) throws SnowyException {
+        String argument = fullCommand.trim().substring("archive".length()).trim();
+        if (argument.isEmpty()) {
+            return -1;
+        }
+        String errorMsg = "Woof! Please give the age in days as a number: archive [days]";
+        int days = parseNumber(argument, errorMsg);
+        if (days < 0) {
+            throw new InvalidInputException(errorMsg);
+        }
+        return days;
+    }
+
+    /**
+     * Parses the list name from a "use" command
+     *
+     * @param fullCommand The full user input
+     * @return The name of the task list
+     * @throws SnowyException If the name is missing
+     */
+    public static String parseWorkspaceName(String fullCommand) throws SnowyException {
+        String errorMsg = "Woof! Please specify the name of the list to use!";
+        if (fullCommand.trim().equals("use")) {
+            throw new InvalidInputException(errorMsg);
+        }
+        return extractArgument(fullCommand, 4, errorMsg);
+    }
+
+    /**
+     * Parses the query from an "explain" command
+     *
+     * @param fullCommand The full user input
+     * @return The query text
+     * @throws SnowyException If the query is missing
+     */
+    public static String parseExplainQuery(String fullCommand) throws SnowyException {
+        String errorMsg = "Woof! Please specify a query to explain!";
+        if (fullCommand.trim().equals("explain")) {
+            throw new InvalidInputException(errorMsg);
+        }
+        return extractArgument(fullCommand, 8, errorMsg);
+    }
+
+    /**
+     * Parses the file name from a "run" command
+     * Format: run [--quiet] [file]
+     *
+     * @param fullCommand The full user input
+     * @return The path of the command file
+     * @throws SnowyException If the file name is missing
+     */
+    public static String parseRunFile(String fullCommand) throws SnowyException {
+        String errorMsg = "Woof! Please specify the file of commands to run: run [--quiet] [file]";
+        if (fullCommand.trim().equals("run")) {
+            throw new InvalidInputException(errorMsg);
+        }
+
+        String file = extractArgument(fullCommand, 4, errorMsg);
+        if (file.equals(QUIET_FLAG) || file.startsWith(QUIET_FLAG + " ")) {
+            file = file.substring(QUIET_FLAG.length()).trim();
+            if (file.isEmpty()) {
+                throw new InvalidInputException(errorMsg);
+            }
+        }
+        return file;
+    }
+
+    /**
+     * Checks whether a "run" command asks for only errors to be shown
+     *
+     * @param fullCommand The full user input
+     * @return True if the --quiet flag is given
+     */
+    public static boolean isQuietRun(String fullCommand) {
+        return fullCommand.trim().matches("run\\s+" + QUIET_FLAG + "(\\s.*)?");
+    }
+
+    /**
+     * Parses the optional result limit of a "find" command
+     * Format: find [keyword] /limit [n]
+     *
+     * @param fullCommand  The full user input
+     * @param defaultLimit The limit to use if none is given
+     * @return The maximum number of results to show
+     * @throws SnowyException If the limit is not a positive number
+     */
+    public static int parseFindLimit(String fullCommand, int defaultLimit) throws SnowyException {
+        int index = fullCommand.indexOf(LIMIT_SEPARATOR);
+        if (index == -1) {
+            return defaultLimit;
+        }
+
+        String errorMsg = "Woof! Please give a positive number of results: find [keyword] /limit [n]";
+        int limit = parseNumber(fullCommand.substring(index + LIMIT_SEPARATOR.length()).trim(), errorMsg);
+        if (limit < 1) {
+            throw new InvalidInputException(errorMsg);
+        }
+        return limit;
+    }
+
+    /**
+     * Parses a whole number, checking its digits first so that bad input is
+     * reported without the cost of building a NumberFormatException
+     *
+     * @param text     The text to parse
+     * @param errorMsg The message to show if the text is not a number
+     * @return The number
+     * @throws SnowyException If the text is not a number or is too large
+     */
+    private static int parseNumber(String text, String errorMsg) throws SnowyException {
+        int start = text.startsWith("-") || text.startsWith("+") ? 1 : 0;
+        // Nine digits always fit in an int
+        if (text.length() == start || text.length() - start > MAX_NUMBER_DIGITS) {
+            throw new InvalidInputException(errorMsg);
+        }
+        for (int i = start; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                throw new InvalidInputException(errorMsg);
+            }
+        }
+        return Integer.parseInt(text);
+    }
+
+    private static String stripLimit(String fullCommand) {
+        int index = fullCommand.indexOf(LIMIT_SEPARATOR);
+        return index == -1 ? fullCommand : fullCommand.substring(0, index);
+    }
+
+    private static String stripRecurrence(String details) {
+        int index = details.indexOf(RECURRENCE_SEPARATOR);
+        return index == -1 ? details : details.substring(0, index);
+    }
+
     private static String extractArgument(
             String fullCommand, int commandLength, String errorMsg) throws SnowyException {
         String arg = fullCommand.substring(commandLength).trim();
         if (arg.isEmpty()) {
-            throw new SnowyException(errorMsg);
+            throw new InvalidInputException(errorMsg);
         }
         return arg;
     }
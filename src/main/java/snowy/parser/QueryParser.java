@@ -0,0 +1,149 @@
+package snowy.parser;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import snowy.exception.InvalidInputException;
+import snowy.exception.SnowyException;
+import snowy.task.Priority;
+import snowy.tasklist.Filter;
+import snowy.tasklist.Query;
+
+/**
+ * Parses the task query language used by "find" and "explain".
+ * A query is a list of space-separated terms that a task must all satisfy:
+ * <ul>
+ *     <li>{@code type:T}, {@code type:D} or {@code type:E} for the task type</li>
+ *     <li>{@code done:0} or {@code done:1} for the completion status</li>
+ *     <li>{@code priority:high}, {@code priority:medium} or {@code priority:low} for the priority</li>
+ *     <li>{@code tag:work}, or just {@code #work}, for a tag</li>
+ *     <li>{@code before:yyyy-MM-dd}, {@code after:yyyy-MM-dd} or {@code on:yyyy-MM-dd} for the task date</li>
+ *     <li>{@code /regex/} for a regular expression matched against the description, ignoring case</li>
+ *     <li>any other word for a keyword contained in the description, ignoring case</li>
+ * </ul>
+ */
+public class QueryParser {
+    private static final Set<String> FIELDS = Set.of("type", "done", "priority", "tag", "before", "after", "on");
+    private static final String TAG_PREFIX = "#";
+
+    /**
+     * Returns whether the text uses any query-language term rather than being a plain keyword.
+     *
+     * @param text The text after the command word
+     * @return true if the text contains a field term, a tag or a regular expression
+     */
+    public static boolean isQuery(String text) {
+        for (String term : text.trim().split("\\s+")) {
+            if (term.length() > 1 && term.startsWith(TAG_PREFIX)) {
+                return true;
+            }
+            int colon = term.indexOf(':');
+            if (colon > 0 && FIELDS.contains(term.substring(0, colon))) {
+                return true;
+            }
+            if (term.length() > 1 && term.startsWith("/")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Parses a query
+     *
+     * @param text The text after the command word
+     * @return The parsed query
+     * @throws SnowyException if a term is malformed
+     */
+    public static Query parse(String text) throws SnowyException {
+        List<Filter> filters = new ArrayList<>();
+        String remaining = text.trim();
+
+        while (!remaining.isEmpty()) {
+            if (remaining.startsWith("/")) {
+                // Regular expressions may contain spaces, so they run up to the closing slash
+                int end = remaining.indexOf('/', 1);
+                if (end == -1) {
+                    throw new InvalidInputException("Woof! Please close the regular expression with a '/'!");
+                }
+                filters.add(parseRegex(remaining.substring(1, end)));
+                remaining = remaining.substring(end + 1).trim();
+                continue;
+            }
+
+            int space = remaining.indexOf(' ');
+            String term = space == -1 ? remaining : remaining.substring(0, space);
+            remaining = space == -1 ? "" : remaining.substring(space + 1).trim();
+            filters.add(parseTerm(term));
+        }
+
+        if (filters.isEmpty()) {
+            throw new InvalidInputException("Woof! Please specify what to search for!");
+        }
+        return new Query(filters);
+    }
+
+    private static Filter parseTerm(String term) throws SnowyException {
+        if (term.length() > 1 && term.startsWith(TAG_PREFIX)) {
+            return Filter.ofTag(Parser.parseTag(term));
+        }
+        int colon = term.indexOf(':');
+        if (colon <= 0 || !FIELDS.contains(term.substring(0, colon))) {
+            return Filter.ofKeyword(term);
+        }
+
+        String field = term.substring(0, colon);
+        String value = term.substring(colon + 1);
+        switch (field) {
+        case "type":
+            String typeCode = value.toUpperCase();
+            if (!Set.of("T", "D", "E").contains(typeCode)) {
+                throw new InvalidInputException("Woof! The type must be T, D or E!");
+            }
+            return Filter.ofType(typeCode);
+        case "done":
+            if (!value.equals("0") && !value.equals("1")) {
+                throw new InvalidInputException("Woof! Use done:0 for pending tasks or done:1 for completed tasks!");
+            }
+            return Filter.ofDone(value.equals("1"));
+        case "priority":
+            return Filter.ofPriority(Priority.fromString(value));
+        case "tag":
+            return Filter.ofTag(Parser.parseTag(value));
+        default:
+            LocalDate date = parseQueryDate(value);
+            if (field.equals("before")) {
+                return Filter.ofDateRange(term, Filter.EARLIEST_DATE, date.minusDays(1));
+            }
+            if (field.equals("after")) {
+                return Filter.ofDateRange(term, date.plusDays(1), Filter.LATEST_DATE);
+            }
+            assert field.equals("on") : "Unknown query field: " + field;
+            return Filter.ofDateRange(term, date, date);
+        }
+    }
+
+    private static LocalDate parseQueryDate(String value) throws SnowyException {
+        try {
+            return Parser.parseDate(value);
+        } catch (DateTimeParseException e) {
+            throw new InvalidInputException("Woof! Please write query dates as yyyy-MM-dd!");
+        }
+    }
+
+    private static Filter parseRegex(String regex) throws SnowyException {
+        if (regex.isEmpty()) {
+            throw new InvalidInputException("Woof! The regular expression cannot be empty!");
+        }
+        try {
+            return Filter.ofRegex(Pattern.compile(regex, Pattern.CASE_INSENSITIVE));
+        } catch (PatternSyntaxException e) {
+            throw new InvalidInputException("Woof! That regular expression is invalid: " + e.getDescription());
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package snowy.reminder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import snowy.task.Deadline;
+import snowy.task.Event;
+import snowy.task.Recurring;
+import snowy.task.Task;
+
+/**
+ * Proactively reminds the user of upcoming deadlines and events.
+ * Pending reminders are kept in a priority queue ordered by the time at which
+ * they should fire, together with a lookup from task to reminder, so adding,
+ * removing or updating the reminder of one task costs O(log n). A single
+ * daemon thread sleeps until the earliest reminder is due; it is only
+ * re-armed when the head of the queue changes.
+ *
+ * <p>Reminders are handed to a sink supplied in {@link #start(Consumer)},
+ * which is called from the scheduler thread.</p>
+ */
+public class ReminderScheduler {
+    private static final Duration DEFAULT_LEAD_TIME = Duration.ofMinutes(30);
+
+    private final TreeSet<Reminder> queue = new TreeSet<>();
+    private final Map<Task, Reminder> remindersByTask = new IdentityHashMap<>();
+    private final Duration leadTime;
+    private final Clock clock;
+    private long nextSequence;
+    private ScheduledExecutorService executor;
+    private ScheduledFuture<?> wakeUp;
+    private Consumer<String> sink;
+
+    /**
+     * Creates a scheduler that reminds the user 30 minutes before a task is due.
+     */
+    public ReminderScheduler() {
+        this(DEFAULT_LEAD_TIME, Clock.systemDefaultZone());
+    }
+
+    /**
+     * Creates a scheduler with the given lead time and clock.
+     *
+     * @param leadTime How long before a task is due its reminder fires.
+     * @param clock    The clock used to tell the current time.
+     */
+    public ReminderScheduler(Duration leadTime, Clock clock) {
+        this.leadTime = leadTime;
+        this.clock = clock;
+    }
+
+    /**
+     * Starts delivering reminders to the given sink.
+     *
+     * @param sink Receives the text of each reminder as it fires.
+     */
+    public synchronized void start(Consumer<String> sink) {
+        assert executor == null : "Reminder scheduler should only be started once";
+        this.sink = sink;
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "snowy-reminders");
+            thread.setDaemon(true);
+            return thread;
+        });
+        rearm();
+    }
+
+    /**
+     * Stops delivering reminders. Pending reminders are kept.
+     */
+    public synchronized void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+            wakeUp = null;
+        }
+    }
+
+    /**
+     * Replaces all pending reminders with those of the given tasks.
+     *
+     * @param tasks The tasks to remind the user of.
+     */
+    public synchronized void rebuild(List<Task> tasks) {
+        queue.clear();
+        remindersByTask.clear();
+        LocalDateTime now = LocalDateTime.now(clock);
+        for (Task task : tasks) {
+            enqueue(task, now);
+        }
+        rearm();
+    }
+
+    /**
+     * Schedules or reschedules the reminder of a task after it was added or changed.
+     * Tasks that are done, have no date, or are already past get no reminder.
+     *
+     * @param task The task to remind the user of.
+     */
+    public synchronized void schedule(Task task) {
+        Reminder head = queue.isEmpty() ? null : queue.first();
+        dequeue(task);
+        enqueue(task, LocalDateTime.now(clock));
+        rearmIfHeadChanged(head);
+    }
+
+    /**
+     * Cancels the reminder of a task, if any.
+     *
+     * @param task The task that no longer needs a reminder.
+     */
+    public synchronized void cancel(Task task) {
+        Reminder head = queue.isEmpty() ? null : queue.first();
+        dequeue(task);
+        rearmIfHeadChanged(head);
+    }
+
+    /**
+     * Returns the number of reminders waiting to fire.
+     *
+     * @return Number of pending reminders.
+     */
+    public synchronized int getPendingCount() {
+        return queue.size();
+    }
+
+    private void enqueue(Task task, LocalDateTime after) {
+        LocalDateTime dueAt = getNextDueTime(task, after);
+        if (dueAt == null) {
+            return;
+        }
+        Reminder reminder = new Reminder(task, dueAt, dueAt.minus(leadTime), nextSequence++);
+        queue.add(reminder);
+        remindersByTask.put(task, reminder);
+    }
+
+    private void dequeue(Task task) {
+        Reminder reminder = remindersByTask.remove(task);
+        if (reminder != null) {
+            queue.remove(reminder);
+        }
+    }
+
+    private void rearmIfHeadChanged(Reminder previousHead) {
+        Reminder head = queue.isEmpty() ? null : queue.first();
+        if (head != previousHead) {
+            rearm();
+        }
+    }
+
+    private void rearm() {
+        if (executor == null) {
+            return;
+        }
+        if (wakeUp != null) {
+            wakeUp.cancel(false);
+            wakeUp = null;
+        }
+        if (queue.isEmpty()) {
+            return;
+        }
+        long delay = Math.max(0, Duration.between(LocalDateTime.now(clock), queue.first().remindAt).toMillis());
+        wakeUp = executor.schedule(this::fireDueReminders, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized void fireDueReminders() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        while (!queue.isEmpty() && !queue.first().remindAt.isAfter(now)) {
+            Reminder reminder = queue.pollFirst();
+            remindersByTask.remove(reminder.task);
+            sink.accept(format(reminder));
+            if (reminder.task instanceof Recurring) {
+                // Move on to the occurrence after the one just reminded of
+                enqueue(reminder.task, reminder.dueAt.plusNanos(1));
+            }
+        }
+        wakeUp = null;
+        rearm();
+    }
+
+    private static LocalDateTime getNextDueTime(Task task, LocalDateTime after) {
+        if (task.isDone() || task.getDate() == null) {
+            return null;
+        }
+        if (task instanceof Recurring recurring) {
+            return recurring.getRecurrence().nextOccurrence(task.getDate(), Duration.ZERO, after);
+        }
+        return task.getDate().isBefore(after) ? null : task.getDate();
+    }
+
+    private static String format(Reminder reminder) {
+        Task task = reminder.task instanceof Recurring recurring
+                ? recurring.occurrenceAt(reminder.dueAt)
+                : reminder.task;
+        if (task instanceof Event) {
+            return "Woof! Reminder, this event is starting soon:\n" + task.printDetailed();
+        }
+        assert task instanceof Deadline : "Only deadlines and events have reminders";
+        return "Woof! Reminder, this deadline is coming up:\n" + task.printDetailed();
+    }
+
+    /**
+     * A pending reminder, ordered by the time it fires and then by the order it was scheduled.
+     */
+    private static class Reminder implements Comparable<Reminder> {
+        private final Task task;
+        private final LocalDateTime dueAt;
+        private final LocalDateTime remindAt;
+        private final long sequence;
+
+        private Reminder(Task task, LocalDateTime dueAt, LocalDateTime remindAt, long sequence) {
+            this.task = task;
+            this.dueAt = dueAt;
+            this.remindAt = remindAt;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(Reminder other) {
+            int byTime = remindAt.compareTo(other.remindAt);
+            return byTime != 0 ? byTime : Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package snowy.storage;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import snowy.exception.SnowyException;
+
+/**
+ * Watches the directory holding the task files and reports files that were
+ * created or modified, from a single background thread.
+ * Editors and sync tools often write a file in several steps, so the watcher
+ * waits briefly after the first event and reports each changed file once.
+ */
+public class FileWatcher {
+    private static final long SETTLE_MILLIS = 100;
+
+    private final Path directory;
+    private final Consumer<Path> onChange;
+    private WatchService watchService;
+    private Thread thread;
+
+    /**
+     * Creates a watcher for the given directory.
+     *
+     * @param directory Directory to watch.
+     * @param onChange  Receives the path of each changed file, on the watcher thread.
+     */
+    public FileWatcher(Path directory, Consumer<Path> onChange) {
+        this.directory = directory;
+        this.onChange = onChange;
+    }
+
+    /**
+     * Starts watching the directory. Does nothing if the watcher is already running.
+     *
+     * @throws SnowyException If the directory cannot be watched.
+     */
+    public synchronized void start() throws SnowyException {
+        if (thread != null) {
+            return;
+        }
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            directory.register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            throw new SnowyException("Error watching " + directory + ": " + e.getMessage());
+        }
+        thread = new Thread(this::run, "snowy-file-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops watching the directory.
+     */
+    public synchronized void stop() {
+        if (thread == null) {
+            return;
+        }
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            // Nothing more can be reported from the watcher once it is closing
+        }
+        thread.interrupt();
+        thread = null;
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                Thread.sleep(SETTLE_MILLIS);
+
+                Set<Path> changed = new LinkedHashSet<>();
+                while (key != null) {
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.context() instanceof Path fileName) {
+                            changed.add(directory.resolve(fileName));
+                        }
+                    }
+                    key.reset();
+                    key = watchService.poll();
+                }
+                changed.forEach(onChange);
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // The watcher was stopped
+        }
+    }
+}
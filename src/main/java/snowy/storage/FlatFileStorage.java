@@ -0,0 +1,658 @@
+package snowy.storage;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Scanner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import snowy.exception.SnowyException;
+import snowy.exception.WriteConflictException;
+import snowy.task.Deadline;
+import snowy.task.DescriptionPool;
+import snowy.task.Event;
+import snowy.task.Priority;
+import snowy.task.Recurrence;
+import snowy.task.Recurring;
+import snowy.task.RecurringDeadline;
+import snowy.task.RecurringEvent;
+import snowy.task.Task;
+import snowy.task.ToDo;
+
+
+/**
+ * Stores tasks in a plain text file, one task per line.
+ * This class manages loading tasks from a file and saving tasks to a file,
+ * including parsing task data from the storage format and converting task
+ * objects into a saveable string format. It abstracts all file I/O operations
+ * from the business logic of the chatbot.
+ * Several Snowy instances, in this or other processes, can share one task file.
+ * Every read and write holds a lock on a lock file next to the task file, and a
+ * write first merges in whatever other writers saved since this instance last
+ * read the file, so no instance overwrites another's changes. A line-based file
+ * cannot be patched in place, so saving a single added, removed or changed task,
+ * including an undo or redo, also writes the whole file.
+ */
+public class FlatFileStorage implements Storage {
+    private static final String RECURRENCE_PREFIX = "R:";
+    private static final String PRIORITY_PREFIX = "P:";
+    private static final String TAGS_PREFIX = "G:";
+    private static final String TAG_SEPARATOR = ",";
+    private static final int FIRST_OPTIONAL_FIELD = 3;
+    private static final String ARCHIVE_SUFFIX = ".archive";
+    private static final String LOCK_SUFFIX = ".lock";
+    private static final String SNAPSHOT_SUFFIX = ".snapshot";
+    private static final String CORRUPT_SUFFIX = ".corrupt";
+    private static final String TEMP_SUFFIX = ".tmp";
+    // Decoding replaces bytes that are not valid UTF-8 with this character
+    private static final char REPLACEMENT_CHARACTER = '\uFFFD';
+
+    // File locks are held per process, so instances in the same process also take a lock per file
+    private static final ConcurrentHashMap<Path, Object> IN_PROCESS_LOCKS = new ConcurrentHashMap<>();
+
+    private final String filePath;
+    private final String archiveFilePath;
+    private final Path lockFilePath;
+    private final Path snapshotBasePath;
+    private final int snapshotCount;
+    private final DescriptionPool descriptionPool;
+
+    // What the task file held when it was last loaded or saved, one task per line
+    private List<String> syncedLines = new ArrayList<>();
+    private long syncedModifiedTime;
+    private long syncedLength = -1;
+    // Stamp every writer bumps in the lock file, so writes by other instances are noticed cheaply
+    private long syncedVersion;
+    private String loadReport;
+
+    /**
+     * Creates a FlatFileStorage object with the specified file path.
+     * Descriptions loaded from the file are not deduplicated.
+     *
+     * @param filePath Path to the data file
+     */
+    public FlatFileStorage(String filePath) {
+        this(filePath, new DescriptionPool(0));
+    }
+
+    /**
+     * Creates a FlatFileStorage object with the specified file path that deduplicates
+     * loaded descriptions through the given pool
+     *
+     * @param filePath        Path to the data file
+     * @param descriptionPool Pool used to share repeated descriptions
+     */
+    public FlatFileStorage(String filePath, DescriptionPool descriptionPool) {
+        this(filePath, descriptionPool, 0);
+    }
+
+    /**
+     * Creates a FlatFileStorage object with the specified file path that deduplicates
+     * loaded descriptions and keeps compressed snapshots of the file. Each save writes
+     * a new snapshot, and if the file turns out to be damaged when it is loaded, the
+     * tasks are restored from the newest snapshot that is intact.
+     *
+     * @param filePath        Path to the data file
+     * @param descriptionPool Pool used to share repeated descriptions
+     * @param snapshotCount   Number of snapshots to keep, or 0 to keep none
+     */
+    public FlatFileStorage(String filePath, DescriptionPool descriptionPool, int snapshotCount) {
+        assert descriptionPool != null : "Description pool should not be null";
+        assert snapshotCount >= 0 : "Snapshot count must not be negative";
+        this.filePath = filePath;
+        this.archiveFilePath = siblingPath(filePath, ARCHIVE_SUFFIX);
+        this.lockFilePath = Paths.get(filePath + LOCK_SUFFIX);
+        this.snapshotBasePath = Paths.get(filePath.endsWith(".txt")
+                ? filePath.substring(0, filePath.length() - ".txt".length()) + SNAPSHOT_SUFFIX
+                : filePath + SNAPSHOT_SUFFIX);
+        this.snapshotCount = snapshotCount;
+        this.descriptionPool = descriptionPool;
+    }
+
+    private static String siblingPath(String filePath, String suffix) {
+        return filePath.endsWith(".txt")
+                ? filePath.substring(0, filePath.length() - ".txt".length()) + suffix + ".txt"
+                : filePath + suffix;
+    }
+
+    /**
+     * Returns the path of the task file
+     *
+     * @return Absolute path of the task file
+     */
+    public Path getPath() {
+        return Paths.get(filePath).toAbsolutePath().normalize();
+    }
+
+    /**
+     * Initializes the file, and the directory containing it, if they don't already exist
+     *
+     * @throws SnowyException if there's an error creating the file
+     */
+    @Override
+    public void initialize() throws SnowyException {
+        try {
+            File file = new File(filePath);
+            File directory = file.getAbsoluteFile().getParentFile();
+            if (directory != null && !directory.exists()) {
+                directory.mkdirs();
+            }
+
+            if (!file.exists()) {
+                file.createNewFile();
+            }
+        } catch (IOException e) {
+            throw new SnowyException("Error initializing file: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Loads all tasks from the file
+     * Lines that cannot be read are reported through {@link #getLoadReport()}. If snapshots
+     * are kept, the damaged file is set aside and the tasks are restored from the newest
+     * intact snapshot instead.
+     *
+     * @return ArrayList of tasks
+     * @throws SnowyException if there's an error loading tasks
+     */
+    @Override
+    public synchronized ArrayList<Task> load() throws SnowyException {
+        return withFileLock(true, lockChannel -> {
+            loadReport = null;
+            String fileName = getPath().getFileName().toString();
+            ArrayList<Task> tasks = new ArrayList<>();
+            List<Integer> badLineNumbers = new ArrayList<>();
+            try {
+                List<String> lines = readFileLines();
+                for (int i = 0; i < lines.size(); i++) {
+                    Task task = lines.get(i).isBlank() ? null : parseTask(lines.get(i));
+                    if (task != null) {
+                        tasks.add(task);
+                    } else if (!lines.get(i).isBlank()) {
+                        badLineNumbers.add(i + 1);
+                    }
+                }
+            } catch (IOException e) {
+                if (snapshotCount == 0) {
+                    throw e;
+                }
+                loadReport = "Woof! I couldn't read " + fileName + ": " + e.getMessage() + ".";
+                tasks = null;
+            }
+
+            if (!badLineNumbers.isEmpty()) {
+                loadReport = "Woof! " + badLineNumbers.size() + " line(s) of " + fileName
+                        + " could not be read: line(s) " + badLineNumbers.stream()
+                                .map(String::valueOf)
+                                .collect(Collectors.joining(", ")) + ".";
+            }
+            if (loadReport != null && snapshotCount > 0) {
+                tasks = restoreFromSnapshot(tasks);
+            } else if (loadReport != null) {
+                loadReport += " Those lines were skipped.";
+            }
+
+            markSynced(toLines(tasks));
+            syncedVersion = readVersion(lockChannel);
+            return tasks;
+        });
+    }
+
+    /**
+     * Restores the tasks from the newest snapshot that is intact, setting the damaged
+     * task file aside. Damaged snapshots are reported and skipped.
+     *
+     * @param readableTasks Tasks that could be read from the damaged file, or null if it could not be read at all
+     * @return The restored tasks, or the readable tasks if no snapshot is intact
+     * @throws IOException if the damaged file cannot be set aside
+     */
+    private ArrayList<Task> restoreFromSnapshot(ArrayList<Task> readableTasks) throws IOException {
+        StringBuilder report = new StringBuilder(loadReport);
+        for (int number = 1; number <= snapshotCount; number++) {
+            Path snapshot = SnapshotFile.numbered(snapshotBasePath, number);
+            if (!Files.exists(snapshot)) {
+                continue;
+            }
+            try {
+                ArrayList<Task> tasks = new ArrayList<>(parseLines(SnapshotFile.read(snapshot)));
+                Path corruptCopy = Paths.get(siblingPath(filePath, CORRUPT_SUFFIX));
+                if (Files.exists(getPath())) {
+                    Files.copy(getPath(), corruptCopy, StandardCopyOption.REPLACE_EXISTING);
+                }
+                loadReport = report.append(" I've kept the damaged file as ").append(corruptCopy.getFileName())
+                        .append(" and restored your tasks from ").append(snapshot.getFileName()).append(".")
+                        .toString();
+                return tasks;
+            } catch (SnowyException e) {
+                report.append(" ").append(e.getMessage());
+            }
+        }
+
+        if (readableTasks == null) {
+            throw new IOException(report.append(" No intact snapshot was found.").toString());
+        }
+        loadReport = report.append(" No intact snapshot was found, so those lines were skipped.").toString();
+        return readableTasks;
+    }
+
+    @Override
+    public synchronized String getLoadReport() {
+        return loadReport;
+    }
+
+    /**
+     * Loads all archived tasks from the archive file next to the task file
+     * The archive is only read when asked for, never as part of {@link #load()}.
+     *
+     * @return ArrayList of archived tasks, oldest first
+     * @throws SnowyException if there's an error loading the archive
+     */
+    @Override
+    public ArrayList<Task> loadArchive() throws SnowyException {
+        return loadFrom(archiveFilePath);
+    }
+
+    /**
+     * Appends tasks to the archive file, creating it if it doesn't exist
+     * Existing archived tasks are never rewritten.
+     *
+     * @param tasks Tasks to archive
+     * @throws SnowyException if there's an error writing the archive
+     */
+    @Override
+    public void appendToArchive(List<Task> tasks) throws SnowyException {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        try (FileWriter writer = new FileWriter(archiveFilePath, true)) {
+            for (Task task : tasks) {
+                writer.write(taskToString(task));
+                writer.write("\n");
+            }
+        } catch (IOException e) {
+            throw new SnowyException("Error archiving tasks: " + e.getMessage());
+        }
+    }
+
+    private ArrayList<Task> loadFrom(String path) throws SnowyException {
+        ArrayList<Task> tasks = new ArrayList<>();
+
+        try {
+            File file = new File(path);
+            Scanner fileScanner = new Scanner(file);
+
+            while (fileScanner.hasNextLine()) {
+                String line = fileScanner.nextLine();
+                Task task = parseTask(line);
+                if (task != null) {
+                    tasks.add(task);
+                }
+            }
+            fileScanner.close();
+
+        } catch (FileNotFoundException e) {
+            // File doesn't exist yet, return empty list
+        }
+
+        return tasks;
+    }
+
+    /**
+     * Saves all tasks to the file
+     * If another writer changed the file since it was last loaded or saved here,
+     * its changes are merged with these tasks first. Changes to different tasks,
+     * and tasks added at the same place by both, are all kept.
+     *
+     * @param tasks ArrayList of tasks to save
+     * @return The changes merged in from other writers, relative to the given tasks; empty if there were none
+     * @throws WriteConflictException if another writer changed the same tasks, in which case nothing is saved
+     * @throws SnowyException if there's an error saving tasks
+     */
+    @Override
+    public synchronized TaskChanges save(ArrayList<Task> tasks) throws SnowyException {
+        assert tasks != null : "Task list to save should not be null";
+        List<String> ourLines = toLines(tasks);
+        return withFileLock(false, lockChannel -> {
+            long version = readVersion(lockChannel);
+            boolean isChangedByOthers = syncedLength >= 0 && (version != syncedVersion || isModifiedExternally());
+            List<String> theirLines = isChangedByOthers ? readLinesLocked() : syncedLines;
+            List<String> mergedLines = LineDiff.merge(syncedLines, ourLines, theirLines);
+            if (mergedLines == null) {
+                TaskChanges changesToFile = syncChanges(ourLines, theirLines);
+                syncedVersion = version;
+                throw new WriteConflictException("Woof! Another Snowy changed the same tasks just now, "
+                        + "so I couldn't save that. I've reloaded the list, please try again!", changesToFile);
+            }
+
+            writeAtomically(mergedLines);
+            writeVersion(lockChannel, version + 1);
+            syncedVersion = version + 1;
+            if (snapshotCount > 0) {
+                SnapshotFile.rotate(snapshotBasePath, mergedLines, snapshotCount);
+            }
+            return syncChanges(ourLines, mergedLines);
+        });
+    }
+
+    /**
+     * Replaces the task file with the given lines by writing them to a temporary file
+     * next to it and moving that over the task file, so a crash part way through
+     * leaves the old file whole rather than a truncated one
+     *
+     * @param lines Lines to write
+     * @throws IOException if the file cannot be written
+     */
+    private void writeAtomically(List<String> lines) throws IOException {
+        Path tempPath = Paths.get(filePath + TEMP_SUFFIX);
+        try (BufferedWriter writer = Files.newBufferedWriter(tempPath, StandardCharsets.UTF_8)) {
+            writer.write(String.join("\n", lines));
+        }
+        Files.move(tempPath, Paths.get(filePath), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads the changes made to the task file by others, such as edits by hand or by
+     * a sync tool, since it was last loaded or saved here. Only the changed lines are
+     * parsed. If the given tasks have changes that were not saved yet, they are saved,
+     * merging in the changes made by others.
+     *
+     * @param tasks ArrayList of tasks as the caller holds them
+     * @return The changes made by others, relative to the given tasks
+     * @throws WriteConflictException if unsaved changes conflict with the changes made by others
+     * @throws SnowyException if there's an error reading the file
+     */
+    public synchronized TaskChanges reload(ArrayList<Task> tasks) throws SnowyException {
+        List<String> ourLines = toLines(tasks);
+        if (!ourLines.equals(syncedLines)) {
+            return save(tasks);
+        }
+        List<String> theirLines = readLines();
+        return syncChanges(ourLines, theirLines);
+    }
+
+    /**
+     * Works out how the caller's tasks must change to match the file, parsing only the
+     * changed lines, and records the result as the last synced state of the file.
+     *
+     * @param ourLines  Lines of the caller's tasks
+     * @param fileLines Lines now in the file
+     * @return The changes to apply to the caller's tasks
+     */
+    private TaskChanges syncChanges(List<String> ourLines, List<String> fileLines) {
+        LineDiff diff = LineDiff.between(ourLines, fileLines);
+        if (diff.isEmpty()) {
+            markSynced(fileLines);
+            return TaskChanges.NONE;
+        }
+        List<Task> added = parseLines(diff.getAddedLines());
+
+        // Remember the tasks rather than the raw lines, so lines that could not be read stay out of step
+        List<String> syncedAfterChanges = new ArrayList<>(ourLines.subList(0, diff.getStart()));
+        syncedAfterChanges.addAll(toLines(added));
+        syncedAfterChanges.addAll(ourLines.subList(diff.getOldEnd(), ourLines.size()));
+        markSynced(syncedAfterChanges);
+
+        return new TaskChanges(diff.getStart(), diff.getRemovedLines().size(), added,
+                diff.getAddedLines().size() - added.size());
+    }
+
+    /**
+     * Reads the task file as it is now, skipping blank lines
+     *
+     * @return Lines of the task file
+     * @throws SnowyException if there's an error reading the file
+     */
+    private List<String> readLines() throws SnowyException {
+        return withFileLock(true, lockChannel -> readLinesLocked());
+    }
+
+    private List<String> readLinesLocked() throws IOException {
+        return readFileLines().stream()
+                .filter(line -> !line.isBlank())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Reads every line of the task file. Bytes that are not valid UTF-8 are decoded as
+     * replacement characters rather than failing the whole read, and such lines are
+     * treated as unreadable when they are parsed.
+     *
+     * @return Lines of the task file, or an empty list if it doesn't exist
+     * @throws IOException if the file cannot be read
+     */
+    private List<String> readFileLines() throws IOException {
+        try {
+            String content = new String(Files.readAllBytes(getPath()), StandardCharsets.UTF_8);
+            return content.isEmpty() ? new ArrayList<>() : new ArrayList<>(Arrays.asList(content.split("\\R")));
+        } catch (NoSuchFileException e) {
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Runs an action while holding the lock on the task file
+     *
+     * @param isShared Whether other readers may hold the lock at the same time
+     * @param action   Action to run, given the channel of the lock file
+     * @return The result of the action
+     * @throws SnowyException if the lock cannot be taken or the action fails
+     */
+    private <T> T withFileLock(boolean isShared, LockedAction<T> action) throws SnowyException {
+        synchronized (IN_PROCESS_LOCKS.computeIfAbsent(getPath(), path -> new Object())) {
+            try (FileChannel lockChannel = FileChannel.open(lockFilePath,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                // Closing the channel releases the lock
+                lockChannel.lock(0, Long.MAX_VALUE, isShared);
+                return action.run(lockChannel);
+            } catch (IOException e) {
+                throw new SnowyException("Error accessing tasks: " + e.getMessage());
+            }
+        }
+    }
+
+    private static long readVersion(FileChannel lockChannel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES);
+        return lockChannel.read(buffer, 0) == Long.BYTES ? buffer.flip().getLong() : 0;
+    }
+
+    private static void writeVersion(FileChannel lockChannel, long version) throws IOException {
+        lockChannel.write(ByteBuffer.allocate(Long.BYTES).putLong(version).flip(), 0);
+    }
+
+    private interface LockedAction<T> {
+        T run(FileChannel lockChannel) throws IOException;
+    }
+
+    /**
+     * Records that the task file now holds the given lines, so that later
+     * changes are compared against them
+     *
+     * @param lines Lines the task file holds
+     */
+    private void markSynced(List<String> lines) {
+        syncedLines = new ArrayList<>(lines);
+        File file = new File(filePath);
+        syncedModifiedTime = file.lastModified();
+        syncedLength = file.length();
+    }
+
+    // Catches edits by hand or by sync tools, which do not bump the version stamp
+    private boolean isModifiedExternally() {
+        File file = new File(filePath);
+        return file.lastModified() != syncedModifiedTime || file.length() != syncedLength;
+    }
+
+    /**
+     * Converts tasks into the lines that represent them in the task file
+     *
+     * @param tasks Tasks to convert
+     * @return One line per task
+     */
+    List<String> toLines(List<Task> tasks) {
+        return tasks.stream()
+                .map(this::taskToString)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Parses lines of the task file into tasks, skipping lines that cannot be read
+     *
+     * @param lines Lines to parse
+     * @return Tasks for the lines that could be read, in order
+     */
+    List<Task> parseLines(List<String> lines) {
+        return lines.stream()
+                .map(this::parseTask)
+                .filter(task -> task != null)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Parses a line from the file into a Task object
+     * Format: TaskType | isDone | description | [additional fields] | [R:recurrence] | [P:priority] | [G:tags]
+     *
+     * @param line Line from file
+     * @return Task object or null if parse fails
+     */
+    private Task parseTask(String line) {
+        if (line.indexOf(REPLACEMENT_CHARACTER) >= 0) {
+            return null;
+        }
+        try {
+            String[] parts = line.split(" \\| ");
+
+            if (parts.length < 3) {
+                return null;
+            }
+
+            String taskType = parts[0];
+            boolean isDone = parts[1].equals("1");
+            String description = descriptionPool.intern(parts[2]);
+
+            Task task = null;
+
+            switch (taskType) {
+            case "T":
+                task = new ToDo(description);
+                break;
+            case "D":
+                if (parts.length >= 4) {
+                    LocalDateTime by = LocalDateTime.parse(parts[3]);
+                    Recurrence recurrence = parseRecurrence(parts, 4);
+                    task = recurrence == null
+                            ? new Deadline(description, by)
+                            : new RecurringDeadline(description, by, recurrence);
+                }
+                break;
+            case "E":
+                if (parts.length >= 5) {
+                    LocalDateTime from = LocalDateTime.parse(parts[3]);
+                    LocalDateTime to = LocalDateTime.parse(parts[4]);
+                    Recurrence recurrence = parseRecurrence(parts, 5);
+                    task = recurrence == null
+                            ? new Event(description, from, to)
+                            : new RecurringEvent(description, from, to, recurrence);
+                }
+                break;
+            default:
+                // Unknown task type in file — corrupted or unsupported data, skip this entry
+                return null;
+            }
+
+            if (task != null && isDone) {
+                task.markAsDone();
+                assert task.isDone() : "Task should be marked done after markAsDone()";
+            }
+            if (task != null) {
+                parseLabels(task, parts);
+            }
+
+            return task;
+
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Parses the optional recurrence field that follows the fixed fields of a task
+     *
+     * @param parts      Fields of the line
+     * @param fieldIndex Index at which the recurrence field would appear
+     * @return The recurrence, or null if the task does not repeat
+     */
+    private Recurrence parseRecurrence(String[] parts, int fieldIndex) {
+        if (parts.length <= fieldIndex || !parts[fieldIndex].startsWith(RECURRENCE_PREFIX)) {
+            return null;
+        }
+        return Recurrence.valueOf(parts[fieldIndex].substring(RECURRENCE_PREFIX.length()));
+    }
+
+    /**
+     * Reads the optional priority and tag fields that follow the fixed fields of
+     * a task. Tasks saved without them keep the default priority and no tags.
+     *
+     * @param task  Task to give the labels to
+     * @param parts Fields of the line
+     */
+    private void parseLabels(Task task, String[] parts) {
+        for (int i = FIRST_OPTIONAL_FIELD; i < parts.length; i++) {
+            if (parts[i].startsWith(PRIORITY_PREFIX)) {
+                task.setPriority(Priority.valueOf(parts[i].substring(PRIORITY_PREFIX.length())));
+            } else if (parts[i].startsWith(TAGS_PREFIX)) {
+                task.setTags(Arrays.asList(parts[i].substring(TAGS_PREFIX.length()).split(TAG_SEPARATOR)));
+            }
+        }
+    }
+
+    /**
+     * Converts a Task object into a saveable string
+     * Format: TaskType | isDone | description | [additional fields] | [R:recurrence] | [P:priority] | [G:tags]
+     * The priority is only written if it is not the default, and tags only if there are any.
+     *
+     * @param task Task to convert
+     * @return String representation for file
+     */
+    private String taskToString(Task task) {
+        assert task != null : "Cannot convert null task to string";
+        String isDone = task.isDone() ? "1" : "0";
+        String recurrence = task instanceof Recurring recurring
+                ? " | " + RECURRENCE_PREFIX + recurring.getRecurrence().name()
+                : "";
+        String priority = task.getPriority() == Priority.MEDIUM
+                ? ""
+                : " | " + PRIORITY_PREFIX + task.getPriority().name();
+        String tags = task.getTags().isEmpty()
+                ? ""
+                : " | " + TAGS_PREFIX + String.join(TAG_SEPARATOR, task.getTags());
+        String labels = priority + tags;
+
+        if (task instanceof ToDo) {
+            return "T | " + isDone + " | " + task.getDescription() + labels;
+        } else if (task instanceof Deadline deadline) {
+            return "D | " + isDone + " | " + task.getDescription() + " | " + deadline.getBy().toString()
+                    + recurrence + labels;
+        } else if (task instanceof Event event) {
+            return "E | " + isDone + " | " + task.getDescription() + " | " + event.getStart().toString() + " | "
+                    + event.getEnd().toString() + recurrence + labels;
+        }
+        return "";
+    }
+}
@@ -0,0 +1,382 @@
+package snowy.storage;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import snowy.exception.SnowyException;
+import snowy.task.Deadline;
+import snowy.task.DescriptionPool;
+import snowy.task.Event;
+import snowy.task.Priority;
+import snowy.task.Recurrence;
+import snowy.task.Recurring;
+import snowy.task.RecurringDeadline;
+import snowy.task.RecurringEvent;
+import snowy.task.Task;
+import snowy.task.ToDo;
+
+/**
+ * Stores tasks in an embedded H2 database, one row per task, so that adding,
+ * removing or changing a task writes only that task's row.
+ * Rows are kept in list order by a fractional position, so a task can be put
+ * back between two others without renumbering the rest. Keyword searches of the
+ * archive run inside the database rather than loading the archive into memory.
+ * The database file is opened by one Snowy process at a time.
+ */
+public class H2Storage implements Storage {
+    private static final String TAG_SEPARATOR = ",";
+    private static final String TASK_COLUMNS = "type, done, description, start_at, end_at, recurrence, priority, tags";
+
+    private final Path databasePath;
+    private final DescriptionPool descriptionPool;
+    private Connection connection;
+
+    // Row ids and positions of the stored tasks, in list order
+    private final List<Long> rowIds = new ArrayList<>();
+    private final List<Double> positions = new ArrayList<>();
+
+    /**
+     * Creates an H2Storage object for the database at the given path.
+     * H2 adds its own extension to the path.
+     *
+     * @param databasePath    Path of the database, without extension
+     * @param descriptionPool Pool used to share repeated descriptions
+     */
+    public H2Storage(Path databasePath, DescriptionPool descriptionPool) {
+        assert descriptionPool != null : "Description pool should not be null";
+        this.databasePath = databasePath.toAbsolutePath();
+        this.descriptionPool = descriptionPool;
+    }
+
+    @Override
+    public synchronized void initialize() throws SnowyException {
+        File directory = databasePath.getParent().toFile();
+        if (!directory.exists()) {
+            directory.mkdirs();
+        }
+        try (Statement statement = getConnection().createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS tasks (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                    + "position DOUBLE NOT NULL, type CHAR(1) NOT NULL, done BOOLEAN NOT NULL, "
+                    + "description VARCHAR NOT NULL, start_at TIMESTAMP, end_at TIMESTAMP, recurrence VARCHAR(16))");
+            statement.execute("CREATE INDEX IF NOT EXISTS tasks_position ON tasks(position)");
+            statement.execute("CREATE TABLE IF NOT EXISTS archived_tasks (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                    + "type CHAR(1) NOT NULL, done BOOLEAN NOT NULL, description VARCHAR NOT NULL, "
+                    + "start_at TIMESTAMP, end_at TIMESTAMP, recurrence VARCHAR(16))");
+            // Added after the tables were first created, so older databases get them here
+            for (String table : List.of("tasks", "archived_tasks")) {
+                statement.execute("ALTER TABLE " + table + " ADD COLUMN IF NOT EXISTS priority VARCHAR(8)");
+                statement.execute("ALTER TABLE " + table + " ADD COLUMN IF NOT EXISTS tags VARCHAR");
+            }
+        } catch (SQLException e) {
+            throw new SnowyException("Error initializing database: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized ArrayList<Task> load() throws SnowyException {
+        ArrayList<Task> tasks = new ArrayList<>();
+        rowIds.clear();
+        positions.clear();
+        try (Statement statement = getConnection().createStatement();
+                ResultSet rows = statement.executeQuery(
+                        "SELECT id, position, " + TASK_COLUMNS + " FROM tasks ORDER BY position")) {
+            while (rows.next()) {
+                Task task = readTask(rows);
+                if (task != null) {
+                    tasks.add(task);
+                    rowIds.add(rows.getLong("id"));
+                    positions.add(rows.getDouble("position"));
+                }
+            }
+        } catch (SQLException e) {
+            throw new SnowyException("Error loading tasks: " + e.getMessage());
+        }
+        return tasks;
+    }
+
+    @Override
+    public synchronized TaskChanges save(ArrayList<Task> tasks) throws SnowyException {
+        assert tasks != null : "Task list to save should not be null";
+        Connection db = getConnection();
+        try {
+            db.setAutoCommit(false);
+            try (Statement statement = db.createStatement()) {
+                statement.execute("DELETE FROM tasks");
+            }
+            rowIds.clear();
+            positions.clear();
+            try (PreparedStatement insert = db.prepareStatement(
+                    "INSERT INTO tasks (position, " + TASK_COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                    Statement.RETURN_GENERATED_KEYS)) {
+                for (int i = 0; i < tasks.size(); i++) {
+                    insert.setDouble(1, i + 1);
+                    bindTask(insert, 2, tasks.get(i));
+                    insert.addBatch();
+                    positions.add((double) (i + 1));
+                }
+                insert.executeBatch();
+                try (ResultSet keys = insert.getGeneratedKeys()) {
+                    while (keys.next()) {
+                        rowIds.add(keys.getLong(1));
+                    }
+                }
+            }
+            db.commit();
+        } catch (SQLException e) {
+            rollback(db);
+            throw new SnowyException("Error saving tasks: " + e.getMessage());
+        } finally {
+            setAutoCommit(db);
+        }
+        return TaskChanges.NONE;
+    }
+
+    @Override
+    public synchronized TaskChanges saveAdded(ArrayList<Task> tasks, int index) throws SnowyException {
+        if (rowIds.size() != tasks.size() - 1) {
+            return save(tasks);
+        }
+        double position;
+        if (index == rowIds.size()) {
+            position = index == 0 ? 1 : positions.get(index - 1) + 1;
+        } else {
+            double after = positions.get(index);
+            double before = index == 0 ? after - 2 : positions.get(index - 1);
+            position = (before + after) / 2;
+            if (position <= before || position >= after) {
+                // No room left between the neighbours; renumber everything
+                return save(tasks);
+            }
+        }
+
+        try (PreparedStatement insert = getConnection().prepareStatement(
+                "INSERT INTO tasks (position, " + TASK_COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                Statement.RETURN_GENERATED_KEYS)) {
+            insert.setDouble(1, position);
+            bindTask(insert, 2, tasks.get(index));
+            insert.executeUpdate();
+            try (ResultSet keys = insert.getGeneratedKeys()) {
+                keys.next();
+                rowIds.add(index, keys.getLong(1));
+                positions.add(index, position);
+            }
+        } catch (SQLException e) {
+            throw new SnowyException("Error saving tasks: " + e.getMessage());
+        }
+        return TaskChanges.NONE;
+    }
+
+    @Override
+    public synchronized TaskChanges saveRemoved(ArrayList<Task> tasks, int index) throws SnowyException {
+        if (rowIds.size() != tasks.size() + 1) {
+            return save(tasks);
+        }
+        try (PreparedStatement delete = getConnection().prepareStatement("DELETE FROM tasks WHERE id = ?")) {
+            delete.setLong(1, rowIds.get(index));
+            delete.executeUpdate();
+            rowIds.remove(index);
+            positions.remove(index);
+        } catch (SQLException e) {
+            throw new SnowyException("Error saving tasks: " + e.getMessage());
+        }
+        return TaskChanges.NONE;
+    }
+
+    @Override
+    public synchronized TaskChanges saveUpdated(ArrayList<Task> tasks, int index) throws SnowyException {
+        if (rowIds.size() != tasks.size()) {
+            return save(tasks);
+        }
+        try (PreparedStatement update = getConnection().prepareStatement("UPDATE tasks SET type = ?, done = ?, "
+                + "description = ?, start_at = ?, end_at = ?, recurrence = ?, priority = ?, tags = ? WHERE id = ?")) {
+            bindTask(update, 1, tasks.get(index));
+            update.setLong(9, rowIds.get(index));
+            update.executeUpdate();
+        } catch (SQLException e) {
+            throw new SnowyException("Error saving tasks: " + e.getMessage());
+        }
+        return TaskChanges.NONE;
+    }
+
+    @Override
+    public synchronized ArrayList<Task> loadArchive() throws SnowyException {
+        try (Statement statement = getConnection().createStatement();
+                ResultSet rows = statement.executeQuery(
+                        "SELECT " + TASK_COLUMNS + " FROM archived_tasks ORDER BY id")) {
+            return readTasks(rows);
+        } catch (SQLException e) {
+            throw new SnowyException("Error loading archive: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void appendToArchive(List<Task> tasks) throws SnowyException {
+        try (PreparedStatement insert = getConnection().prepareStatement(
+                "INSERT INTO archived_tasks (" + TASK_COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (Task task : tasks) {
+                bindTask(insert, 1, task);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        } catch (SQLException e) {
+            throw new SnowyException("Error archiving tasks: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized List<Task> searchArchive(String keyword) throws SnowyException {
+        try (PreparedStatement search = getConnection().prepareStatement("SELECT " + TASK_COLUMNS
+                + " FROM archived_tasks WHERE LOCATE(?, LOWER(description)) > 0 ORDER BY id")) {
+            search.setString(1, keyword.toLowerCase());
+            try (ResultSet rows = search.executeQuery()) {
+                return readTasks(rows);
+            }
+        } catch (SQLException e) {
+            throw new SnowyException("Error searching archive: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Closes the connection to the database, so that the database file is released.
+     * The connection is opened again if the storage is used after this.
+     *
+     * @throws SnowyException If the connection cannot be closed.
+     */
+    @Override
+    public synchronized void close() throws SnowyException {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+            connection = null;
+        } catch (SQLException e) {
+            throw new SnowyException("Error closing database: " + e.getMessage());
+        }
+    }
+
+    private Connection getConnection() throws SnowyException {
+        try {
+            if (connection == null || connection.isClosed()) {
+                connection = DriverManager.getConnection("jdbc:h2:file:" + databasePath);
+            }
+            return connection;
+        } catch (SQLException e) {
+            throw new SnowyException("Error opening database: " + e.getMessage());
+        }
+    }
+
+    private static void rollback(Connection db) {
+        try {
+            db.rollback();
+        } catch (SQLException e) {
+            // The original error is reported instead
+        }
+    }
+
+    private static void setAutoCommit(Connection db) {
+        try {
+            db.setAutoCommit(true);
+        } catch (SQLException e) {
+            // The connection is unusable and will be reopened on next use
+        }
+    }
+
+    /**
+     * Sets the task columns of a statement, in the order of {@link #TASK_COLUMNS}
+     *
+     * @param statement  Statement to fill in
+     * @param firstIndex Index of the first task column parameter
+     * @param task       Task to store
+     */
+    private static void bindTask(PreparedStatement statement, int firstIndex, Task task) throws SQLException {
+        LocalDateTime start = null;
+        LocalDateTime end = null;
+        String type = "T";
+        if (task instanceof Deadline deadline) {
+            type = "D";
+            start = deadline.getBy();
+        } else if (task instanceof Event event) {
+            type = "E";
+            start = event.getStart();
+            end = event.getEnd();
+        }
+        statement.setString(firstIndex, type);
+        statement.setBoolean(firstIndex + 1, task.isDone());
+        statement.setString(firstIndex + 2, task.getDescription());
+        statement.setObject(firstIndex + 3, start);
+        statement.setObject(firstIndex + 4, end);
+        statement.setString(firstIndex + 5,
+                task instanceof Recurring recurring ? recurring.getRecurrence().name() : null);
+        statement.setString(firstIndex + 6, task.getPriority() == Priority.MEDIUM ? null : task.getPriority().name());
+        statement.setString(firstIndex + 7,
+                task.getTags().isEmpty() ? null : String.join(TAG_SEPARATOR, task.getTags()));
+    }
+
+    private ArrayList<Task> readTasks(ResultSet rows) throws SQLException {
+        ArrayList<Task> tasks = new ArrayList<>();
+        while (rows.next()) {
+            Task task = readTask(rows);
+            if (task != null) {
+                tasks.add(task);
+            }
+        }
+        return tasks;
+    }
+
+    /**
+     * Reads the task in the current row
+     *
+     * @param rows Result set positioned on a row with the task columns
+     * @return Task object or null if the row holds an unknown task type
+     */
+    private Task readTask(ResultSet rows) throws SQLException {
+        String description = descriptionPool.intern(rows.getString("description"));
+        LocalDateTime start = rows.getObject("start_at", LocalDateTime.class);
+        LocalDateTime end = rows.getObject("end_at", LocalDateTime.class);
+        String recurrenceName = rows.getString("recurrence");
+        Recurrence recurrence = recurrenceName == null ? null : Recurrence.valueOf(recurrenceName);
+
+        Task task;
+        switch (rows.getString("type")) {
+        case "T":
+            task = new ToDo(description);
+            break;
+        case "D":
+            task = recurrence == null
+                    ? new Deadline(description, start)
+                    : new RecurringDeadline(description, start, recurrence);
+            break;
+        case "E":
+            task = recurrence == null
+                    ? new Event(description, start, end)
+                    : new RecurringEvent(description, start, end, recurrence);
+            break;
+        default:
+            return null;
+        }
+
+        if (rows.getBoolean("done")) {
+            task.markAsDone();
+        }
+        String priorityName = rows.getString("priority");
+        if (priorityName != null) {
+            task.setPriority(Priority.valueOf(priorityName));
+        }
+        String tags = rows.getString("tags");
+        if (tags != null) {
+            task.setTags(Arrays.asList(tags.split(TAG_SEPARATOR)));
+        }
+        return task;
+    }
+}
@@ -0,0 +1,148 @@
+package snowy.storage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Describes how one version of a task file differs from another as a single
+ * changed region: a run of lines starting at the same position in both versions
+ * was replaced by another run of lines. The lines before and after the region are
+ * the longest common prefix and suffix of the two versions, so an edit to one
+ * task, an appended task or a deleted task touches only the lines involved.
+ */
+public class LineDiff {
+    private final int start;
+    private final List<String> removedLines;
+    private final List<String> addedLines;
+
+    private LineDiff(int start, List<String> removedLines, List<String> addedLines) {
+        this.start = start;
+        this.removedLines = removedLines;
+        this.addedLines = addedLines;
+    }
+
+    /**
+     * Computes the changed region between two versions of a file.
+     *
+     * @param oldLines The lines of the older version.
+     * @param newLines The lines of the newer version.
+     * @return The diff, which is empty if the versions are equal.
+     */
+    public static LineDiff between(List<String> oldLines, List<String> newLines) {
+        int maxCommon = Math.min(oldLines.size(), newLines.size());
+        int prefix = 0;
+        while (prefix < maxCommon && oldLines.get(prefix).equals(newLines.get(prefix))) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < maxCommon - prefix
+                && oldLines.get(oldLines.size() - 1 - suffix).equals(newLines.get(newLines.size() - 1 - suffix))) {
+            suffix++;
+        }
+        return new LineDiff(prefix,
+                List.copyOf(oldLines.subList(prefix, oldLines.size() - suffix)),
+                List.copyOf(newLines.subList(prefix, newLines.size() - suffix)));
+    }
+
+    /**
+     * Merges two versions of a file that were both derived from the same older version.
+     * Changes to different parts of the file are both kept, even when they are on
+     * neighbouring lines, as are lines that both versions inserted at the same place,
+     * with the other version's lines first.
+     *
+     * @param baseLines  The lines of the common older version.
+     * @param ourLines   The lines of our version.
+     * @param theirLines The lines of their version.
+     * @return The merged lines, or null if both versions changed the same lines differently.
+     */
+    public static List<String> merge(List<String> baseLines, List<String> ourLines, List<String> theirLines) {
+        LineDiff ours = between(baseLines, ourLines);
+        LineDiff theirs = between(baseLines, theirLines);
+        if (theirs.isEmpty() || ours.equals(theirs)) {
+            return ourLines;
+        }
+        if (ours.isEmpty()) {
+            return theirLines;
+        }
+
+        if (ours.overlaps(theirs)) {
+            return null;
+        }
+
+        // An insertion just before a changed line comes first, so the regions stay in order
+        boolean isTheirsFirst = theirs.start < ours.start
+                || theirs.start == ours.start && theirs.getOldEnd() <= ours.getOldEnd();
+        LineDiff first = isTheirsFirst ? theirs : ours;
+        LineDiff second = first == theirs ? ours : theirs;
+        List<String> merged = new ArrayList<>(baseLines.subList(0, first.start));
+        merged.addAll(first.addedLines);
+        merged.addAll(baseLines.subList(first.getOldEnd(), second.start));
+        merged.addAll(second.addedLines);
+        merged.addAll(baseLines.subList(second.getOldEnd(), baseLines.size()));
+        return merged;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof LineDiff diff && start == diff.start
+                && removedLines.equals(diff.removedLines) && addedLines.equals(diff.addedLines);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(start, removedLines, addedLines);
+    }
+
+    public boolean isEmpty() {
+        return removedLines.isEmpty() && addedLines.isEmpty();
+    }
+
+    /**
+     * Returns the position of the first changed line.
+     *
+     * @return Zero-based line number where the changed region starts.
+     */
+    public int getStart() {
+        return start;
+    }
+
+    /**
+     * Returns the position just past the changed region in the older version.
+     *
+     * @return Zero-based line number of the first unchanged line after the region.
+     */
+    public int getOldEnd() {
+        return start + removedLines.size();
+    }
+
+    public List<String> getRemovedLines() {
+        return removedLines;
+    }
+
+    public List<String> getAddedLines() {
+        return addedLines;
+    }
+
+    /**
+     * Returns how many lines the file grew by, or a negative number if it shrank.
+     *
+     * @return Number of added lines minus number of removed lines.
+     */
+    public int getSizeChange() {
+        return addedLines.size() - removedLines.size();
+    }
+
+    /**
+     * Checks whether this diff and another diff of the same older version change
+     * any of the same lines, or one inserts lines in the middle of the other's
+     * changed region. Diffs on neighbouring lines, and insertions at the same
+     * place, can both be applied without a conflict.
+     *
+     * @param other Another diff against the same older version.
+     * @return True if the two changed regions overlap.
+     */
+    public boolean overlaps(LineDiff other) {
+        return start < other.getOldEnd() && other.start < getOldEnd();
+    }
+}
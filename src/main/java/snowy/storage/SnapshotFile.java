@@ -0,0 +1,215 @@
+package snowy.storage;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32C;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import snowy.exception.CorruptSnapshotException;
+import snowy.exception.SnowyException;
+
+/**
+ * Reads and writes compressed snapshots of a task file.
+ * A snapshot starts with a magic number, followed by blocks of whole lines. Each block
+ * is deflated on its own and stored as its raw length, its compressed length, the
+ * CRC32C checksum of the compressed bytes and the compressed bytes. Lines are streamed
+ * into blocks as they are written, and a damaged block is reported with its position
+ * in the file instead of being read as garbage.
+ */
+public class SnapshotFile {
+    private static final int MAGIC = 0x534E5931; // "SNY1"
+    private static final int BLOCK_SIZE = 64 * 1024;
+    private static final int BLOCK_HEADER_BYTES = 3 * Integer.BYTES;
+
+    private SnapshotFile() {
+    }
+
+    /**
+     * Writes the lines to a snapshot, replacing the file only once the snapshot is complete.
+     *
+     * @param path  Path of the snapshot.
+     * @param lines Lines to store.
+     * @throws SnowyException If the snapshot cannot be written.
+     */
+    public static void write(Path path, List<String> lines) throws SnowyException {
+        Path tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempPath)))) {
+            out.writeInt(MAGIC);
+            ByteArrayOutputStream block = new ByteArrayOutputStream(BLOCK_SIZE);
+            for (String line : lines) {
+                block.write(line.getBytes(StandardCharsets.UTF_8));
+                block.write('\n');
+                if (block.size() >= BLOCK_SIZE) {
+                    writeBlock(out, block.toByteArray(), deflater);
+                    block.reset();
+                }
+            }
+            if (block.size() > 0) {
+                writeBlock(out, block.toByteArray(), deflater);
+            }
+        } catch (IOException e) {
+            throw new SnowyException("Error writing snapshot: " + e.getMessage());
+        } finally {
+            deflater.end();
+        }
+
+        try {
+            Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new SnowyException("Error writing snapshot: " + e.getMessage());
+        }
+    }
+
+    private static void writeBlock(DataOutputStream out, byte[] raw, Deflater deflater) throws IOException {
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(raw.length / 2);
+        byte[] buffer = new byte[8192];
+        while (!deflater.finished()) {
+            compressed.write(buffer, 0, deflater.deflate(buffer));
+        }
+
+        byte[] bytes = compressed.toByteArray();
+        CRC32C checksum = new CRC32C();
+        checksum.update(bytes);
+        out.writeInt(raw.length);
+        out.writeInt(bytes.length);
+        out.writeInt((int) checksum.getValue());
+        out.write(bytes);
+    }
+
+    /**
+     * Reads the lines stored in a snapshot, checking every block.
+     *
+     * @param path Path of the snapshot.
+     * @return The stored lines.
+     * @throws CorruptSnapshotException If a block fails its checksum, cannot be decompressed or is cut short.
+     * @throws SnowyException If the snapshot cannot be read.
+     */
+    public static List<String> read(Path path) throws SnowyException {
+        List<String> lines = new ArrayList<>();
+        Inflater inflater = new Inflater();
+        try (InputStream file = Files.newInputStream(path);
+                DataInputStream in = new DataInputStream(new BufferedInputStream(file))) {
+            if (in.readInt() != MAGIC) {
+                throw new CorruptSnapshotException("Woof! " + path.getFileName() + " is not a snapshot.", 0, 0);
+            }
+
+            long offset = Integer.BYTES;
+            for (int blockIndex = 0; ; blockIndex++) {
+                int rawLength;
+                try {
+                    rawLength = in.readInt();
+                } catch (EOFException e) {
+                    return lines;
+                }
+                try {
+                    int compressedLength = in.readInt();
+                    int expectedChecksum = in.readInt();
+                    if (rawLength < 0 || compressedLength < 0 || compressedLength > 2 * BLOCK_SIZE + 1024) {
+                        throw corrupt(path, blockIndex, offset, "has an invalid header");
+                    }
+                    byte[] compressed = in.readNBytes(compressedLength);
+                    if (compressed.length < compressedLength) {
+                        throw corrupt(path, blockIndex, offset, "is cut short");
+                    }
+
+                    CRC32C checksum = new CRC32C();
+                    checksum.update(compressed);
+                    if ((int) checksum.getValue() != expectedChecksum) {
+                        throw corrupt(path, blockIndex, offset, "fails its checksum");
+                    }
+                    lines.addAll(inflateLines(inflater, compressed, rawLength));
+                    offset += BLOCK_HEADER_BYTES + compressedLength;
+                } catch (EOFException e) {
+                    throw corrupt(path, blockIndex, offset, "is cut short");
+                } catch (DataFormatException e) {
+                    throw corrupt(path, blockIndex, offset, "cannot be decompressed");
+                }
+            }
+        } catch (EOFException e) {
+            throw new CorruptSnapshotException("Woof! " + path.getFileName() + " is empty.", 0, 0);
+        } catch (IOException e) {
+            throw new SnowyException("Error reading snapshot: " + e.getMessage());
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static List<String> inflateLines(Inflater inflater, byte[] compressed, int rawLength)
+            throws DataFormatException {
+        inflater.reset();
+        inflater.setInput(compressed);
+        byte[] raw = new byte[rawLength];
+        int length = 0;
+        while (length < rawLength && !inflater.finished()) {
+            int inflated = inflater.inflate(raw, length, rawLength - length);
+            if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                break;
+            }
+            length += inflated;
+        }
+        if (length != rawLength || !inflater.finished()) {
+            throw new DataFormatException("Block length does not match");
+        }
+        String text = new String(raw, StandardCharsets.UTF_8);
+        return Arrays.asList(text.substring(0, text.length() - 1).split("\n", -1));
+    }
+
+    private static CorruptSnapshotException corrupt(Path path, int blockIndex, long offset, String problem) {
+        return new CorruptSnapshotException("Woof! Block " + blockIndex + " of " + path.getFileName()
+                + " (at byte " + offset + ") " + problem + ".", blockIndex, offset);
+    }
+
+    /**
+     * Writes a new snapshot and keeps the given number of older ones, numbered from
+     * newest ({@code .1}) to oldest.
+     *
+     * @param basePath Path of the newest snapshot without its number.
+     * @param lines    Lines to store.
+     * @param count    Number of snapshots to keep.
+     * @throws SnowyException If the snapshots cannot be written or rotated.
+     */
+    public static void rotate(Path basePath, List<String> lines, int count) throws SnowyException {
+        try {
+            Files.deleteIfExists(numbered(basePath, count));
+            for (int i = count - 1; i >= 1; i--) {
+                Path older = numbered(basePath, i);
+                if (Files.exists(older)) {
+                    Files.move(older, numbered(basePath, i + 1), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+        } catch (IOException e) {
+            throw new SnowyException("Error rotating snapshots: " + e.getMessage());
+        }
+        write(numbered(basePath, 1), lines);
+    }
+
+    /**
+     * Returns the path of a numbered snapshot.
+     *
+     * @param basePath Path of the snapshots without their number.
+     * @param number   Number of the snapshot, 1 being the newest.
+     * @return The path of the snapshot.
+     */
+    public static Path numbered(Path basePath, int number) {
+        return basePath.resolveSibling(basePath.getFileName() + "." + number);
+    }
+}
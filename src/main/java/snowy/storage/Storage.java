@@ -1,184 +1,167 @@
 package snowy.storage;
 
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileWriter;
-import java.io.IOException;
-import java.time.LocalDateTime;
+import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.Scanner;
+import java.util.List;
 import java.util.stream.Collectors;
 
 import snowy.exception.SnowyException;
-import snowy.task.Deadline;
-import snowy.task.Event;
+import snowy.exception.WriteConflictException;
+import snowy.task.DescriptionPool;
 import snowy.task.Task;
-import snowy.task.ToDo;
-
 
 /**
- * Handles data maintenance and manipulation for the Snowy chatbot.
- * This class manages loading tasks from a file and saving tasks to a file,
- * including parsing task data from the storage format and converting task
- * objects into a saveable string format. It abstracts all file I/O operations
- * from the business logic of the chatbot.
+ * Persists the tasks of one task list, along with the archive of tasks moved out of it.
+ * {@link #save(ArrayList)} writes the whole list; the incremental methods let a backend
+ * that stores tasks individually write only the task that changed, and fall back to a
+ * full save otherwise. A storage that holds resources open between calls, such as a
+ * database connection, releases them when closed, and opens them again if used after that.
  */
-public class Storage {
-    private final String filePath;
+public interface Storage extends AutoCloseable {
+    /** System property that picks the storage backend: "file" (the default) or "h2". */
+    String BACKEND_PROPERTY = "snowy.storage";
+    /** System property with the number of compressed snapshots the file backend keeps; none by default. */
+    String SNAPSHOTS_PROPERTY = "snowy.snapshots";
 
     /**
-     * Creates a Storage object with the specified file path
+     * Creates the storage for the task list with the given name in the given directory,
+     * using the backend picked by the {@value #BACKEND_PROPERTY} system property.
      *
-     * @param filePath Path to the data file
+     * @param directory       Directory holding the task lists.
+     * @param name            Name of the task list.
+     * @param descriptionPool Pool used to share repeated descriptions.
+     * @return The storage for the task list.
      */
-    public Storage(String filePath) {
-        this.filePath = filePath;
+    static Storage create(Path directory, String name, DescriptionPool descriptionPool) {
+        return create(directory.resolve(name + ".txt"), descriptionPool);
     }
 
     /**
-     * Initializes the data directory and file if they don't already exist
+     * Creates the storage for the task list kept in the given file, using the backend
+     * picked by the {@value #BACKEND_PROPERTY} system property. The H2 backend keeps
+     * the list in a database next to the file, named after it without its .txt extension.
      *
-     * @throws SnowyException if there's an error creating the file
+     * @param file            The task file.
+     * @param descriptionPool Pool used to share repeated descriptions.
+     * @return The storage for the task list.
      */
-    public void initializeFile() throws SnowyException {
-        try {
-            File directory = new File("data");
-            if (!directory.exists()) {
-                directory.mkdir();
-            }
-
-            File file = new File(filePath);
-            if (!file.exists()) {
-                file.createNewFile();
-            }
-        } catch (IOException e) {
-            throw new SnowyException("Error initializing file: " + e.getMessage());
+    static Storage create(Path file, DescriptionPool descriptionPool) {
+        if ("h2".equalsIgnoreCase(System.getProperty(BACKEND_PROPERTY))) {
+            String fileName = file.getFileName().toString();
+            return new H2Storage(file.resolveSibling(fileName.endsWith(".txt")
+                    ? fileName.substring(0, fileName.length() - ".txt".length())
+                    : fileName), descriptionPool);
         }
+        return new FlatFileStorage(file.toString(), descriptionPool, Integer.getInteger(SNAPSHOTS_PROPERTY, 0));
     }
 
     /**
-     * Loads all tasks from the file
+     * Creates the store, and the directory containing it, if they don't already exist.
      *
-     * @return ArrayList of tasks
-     * @throws SnowyException if there's an error loading tasks
+     * @throws SnowyException If the store cannot be created.
      */
-    public ArrayList<Task> load() throws SnowyException {
-        ArrayList<Task> tasks = new ArrayList<>();
-
-        try {
-            File file = new File(filePath);
-            Scanner fileScanner = new Scanner(file);
-
-            while (fileScanner.hasNextLine()) {
-                String line = fileScanner.nextLine();
-                Task task = parseTask(line);
-                if (task != null) {
-                    tasks.add(task);
-                }
-            }
-            fileScanner.close();
-
-        } catch (FileNotFoundException e) {
-            // File doesn't exist yet, return empty list
-        }
+    void initialize() throws SnowyException;
 
-        return tasks;
+    /**
+     * Loads all tasks, in list order.
+     *
+     * @return ArrayList of tasks.
+     * @throws SnowyException If the tasks cannot be loaded.
+     */
+    ArrayList<Task> load() throws SnowyException;
+
+    /**
+     * Saves all tasks, replacing what is stored.
+     *
+     * @param tasks ArrayList of tasks to save.
+     * @return Changes other writers made in the meantime that were merged in, relative to the given tasks.
+     * @throws WriteConflictException If another writer changed the same tasks, in which case nothing is saved.
+     * @throws SnowyException If the tasks cannot be saved.
+     */
+    TaskChanges save(ArrayList<Task> tasks) throws SnowyException;
+
+    /**
+     * Saves a task that was just added to the list.
+     *
+     * @param tasks The whole list, including the new task.
+     * @param index Position of the new task.
+     * @return Changes other writers made in the meantime that were merged in, relative to the given tasks.
+     * @throws SnowyException If the task cannot be saved.
+     */
+    default TaskChanges saveAdded(ArrayList<Task> tasks, int index) throws SnowyException {
+        return save(tasks);
     }
 
     /**
-     * Saves all tasks to the file
+     * Saves the removal of a task from the list.
      *
-     * @param tasks ArrayList of tasks to save
-     * @throws SnowyException if there's an error saving tasks
+     * @param tasks The whole list, without the removed task.
+     * @param index Position the task was removed from.
+     * @return Changes other writers made in the meantime that were merged in, relative to the given tasks.
+     * @throws SnowyException If the removal cannot be saved.
      */
-    public void save(ArrayList<Task> tasks) throws SnowyException {
-        assert tasks != null : "Task list to save should not be null";
-        try {
-            String content = tasks.stream()
-                    .map(this::taskToString)
-                    .collect(Collectors.joining("\n"));
-            FileWriter writer = new FileWriter(filePath);
-            writer.write(content);
-            writer.close();
-        } catch (IOException e) {
-            throw new SnowyException("Error saving tasks: " + e.getMessage());
-        }
+    default TaskChanges saveRemoved(ArrayList<Task> tasks, int index) throws SnowyException {
+        return save(tasks);
     }
 
     /**
-     * Parses a line from the file into a Task object
-     * Format: TaskType | isDone | description | [additional fields]
+     * Saves a task that was changed in place, such as being marked as done.
      *
-     * @param line Line from file
-     * @return Task object or null if parse fails
+     * @param tasks The whole list.
+     * @param index Position of the changed task.
+     * @return Changes other writers made in the meantime that were merged in, relative to the given tasks.
+     * @throws SnowyException If the task cannot be saved.
      */
-    private Task parseTask(String line) {
-        try {
-            String[] parts = line.split(" \\| ");
-
-            if (parts.length < 3) {
-                return null;
-            }
-
-            String taskType = parts[0];
-            boolean isDone = parts[1].equals("1");
-            String description = parts[2];
-
-            Task task = null;
-
-            switch (taskType) {
-            case "T":
-                task = new ToDo(description);
-                break;
-            case "D":
-                if (parts.length >= 4) {
-                    LocalDateTime by = LocalDateTime.parse(parts[3]);
-                    task = new Deadline(description, by);
-                }
-                break;
-            case "E":
-                if (parts.length >= 5) {
-                    LocalDateTime from = LocalDateTime.parse(parts[3]);
-                    LocalDateTime to = LocalDateTime.parse(parts[4]);
-                    task = new Event(description, from, to);
-                }
-                break;
-            default:
-                // Unknown task type in file — corrupted or unsupported data, skip this entry
-                return null;
-            }
-
-            if (task != null && isDone) {
-                task.markAsDone();
-                assert task.isDone() : "Task should be marked done after markAsDone()";
-            }
-
-            return task;
-
-        } catch (Exception e) {
-            return null;
-        }
+    default TaskChanges saveUpdated(ArrayList<Task> tasks, int index) throws SnowyException {
+        return save(tasks);
     }
 
     /**
-     * Converts a Task object into a saveable string
-     * Format: TaskType | isDone | description | [additional fields]
+     * Returns a description of problems found by the last {@link #load()}, such as damaged
+     * entries that were skipped or restored from a backup.
      *
-     * @param task Task to convert
-     * @return String representation for file
+     * @return The description, or null if the last load found no problems.
      */
-    private String taskToString(Task task) {
-        assert task != null : "Cannot convert null task to string";
-        String isDone = task.isDone() ? "1" : "0";
-
-        if (task instanceof ToDo) {
-            return "T | " + isDone + " | " + task.getDescription();
-        } else if (task instanceof Deadline deadline) {
-            return "D | " + isDone + " | " + task.getDescription() + " | " + deadline.getBy().toString();
-        } else if (task instanceof Event event) {
-            return "E | " + isDone + " | " + task.getDescription() + " | " + event.getStart().toString() + " | "
-                    + event.getEnd().toString();
-        }
-        return "";
+    default String getLoadReport() {
+        return null;
+    }
+
+    /**
+     * Loads all archived tasks, oldest first. The archive is only read when asked for.
+     *
+     * @return ArrayList of archived tasks.
+     * @throws SnowyException If the archive cannot be loaded.
+     */
+    ArrayList<Task> loadArchive() throws SnowyException;
+
+    /**
+     * Appends tasks to the archive. Archived tasks are never rewritten.
+     *
+     * @param tasks Tasks to archive.
+     * @throws SnowyException If the tasks cannot be archived.
+     */
+    void appendToArchive(List<Task> tasks) throws SnowyException;
+
+    /**
+     * Finds archived tasks whose descriptions contain the keyword, ignoring case.
+     *
+     * @param keyword The keyword to search for.
+     * @return Matching archived tasks, oldest first.
+     * @throws SnowyException If the archive cannot be searched.
+     */
+    default List<Task> searchArchive(String keyword) throws SnowyException {
+        String lowerCaseKeyword = keyword.toLowerCase();
+        return loadArchive().stream()
+                .filter(task -> task.getDescription().toLowerCase().contains(lowerCaseKeyword))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Releases any resources held open between calls. Does nothing by default.
+     *
+     * @throws SnowyException If the resources cannot be released.
+     */
+    @Override
+    default void close() throws SnowyException {
     }
 }
@@ -0,0 +1,54 @@
+package snowy.storage;
+
+import java.util.List;
+
+import snowy.task.Task;
+
+/**
+ * Describes changes that another writer made to the stored tasks, as a run of
+ * consecutive tasks in the caller's list that is to be replaced by other tasks.
+ */
+public class TaskChanges {
+    /** No changes. */
+    public static final TaskChanges NONE = new TaskChanges(0, 0, List.of(), 0);
+
+    private final int start;
+    private final int removedCount;
+    private final List<Task> addedTasks;
+    private final int skippedCount;
+
+    /**
+     * Creates a description of changed tasks.
+     *
+     * @param start        Position of the first changed task in the caller's list.
+     * @param removedCount Number of tasks in the caller's list that were changed or removed.
+     * @param addedTasks   Tasks that take their place, in order.
+     * @param skippedCount Number of stored entries in the changed run that could not be read.
+     */
+    public TaskChanges(int start, int removedCount, List<Task> addedTasks, int skippedCount) {
+        this.start = start;
+        this.removedCount = removedCount;
+        this.addedTasks = addedTasks;
+        this.skippedCount = skippedCount;
+    }
+
+    public boolean isEmpty() {
+        return removedCount == 0 && addedTasks.isEmpty();
+    }
+
+    public int getStart() {
+        return start;
+    }
+
+    public int getRemovedCount() {
+        return removedCount;
+    }
+
+    public List<Task> getAddedTasks() {
+        return addedTasks;
+    }
+
+    public int getSkippedCount() {
+        return skippedCount;
+    }
+}
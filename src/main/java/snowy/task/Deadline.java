@@ -7,6 +7,7 @@ import java.time.format.DateTimeFormatter;
  * Represents a task with a specific deadline date and time.
  */
 public class Deadline extends Task {
+    private static final DateTimeFormatter BY_FORMAT = DateTimeFormatter.ofPattern("MMM  d yyyy HH:mm");
     protected LocalDateTime by;
 
     /**
@@ -26,8 +27,8 @@ public class Deadline extends Task {
     }
 
     @Override
-    public String printDetailed() {
-        return this + " (by: " + by.format(DateTimeFormatter.ofPattern("MMM  d yyyy HH:mm")) + ")";
+    protected String renderDetailed() {
+        return this + " (by: " + by.format(BY_FORMAT) + ")";
     }
 
     @Override
@@ -0,0 +1,94 @@
+package snowy.task;
+
+import java.lang.ref.WeakReference;
+import java.util.WeakHashMap;
+
+/**
+ * Deduplicates task descriptions so that recurring descriptions such as
+ * "standup" or "pset2" share a single String instance in memory.
+ * The pool holds its entries through weak references, so a description is
+ * dropped from the pool once no task refers to it any more. The pool is
+ * bounded; once it is full, new descriptions are returned as they are.
+ * A pool created with a maximum size of 0 is disabled and never deduplicates.
+ * The pool counts its hits and misses; the heap it saves on a given task file
+ * is measured by loading the file with and without it, in DescriptionPoolBenchmark.
+ */
+public class DescriptionPool {
+    /** Default number of distinct descriptions kept in the pool. */
+    public static final int DEFAULT_MAX_SIZE = 4096;
+
+    private final WeakHashMap<String, WeakReference<String>> pool = new WeakHashMap<>();
+    private final int maxSize;
+    private long hitCount;
+    private long missCount;
+
+    /**
+     * Creates a pool holding up to {@link #DEFAULT_MAX_SIZE} distinct descriptions.
+     */
+    public DescriptionPool() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Creates a pool holding up to the given number of distinct descriptions.
+     *
+     * @param maxSize Maximum number of pooled descriptions, or 0 to disable pooling.
+     */
+    public DescriptionPool(int maxSize) {
+        assert maxSize >= 0 : "Pool size must not be negative";
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns the pooled instance equal to the given description, adding it to
+     * the pool if it is not present yet and the pool still has room.
+     *
+     * @param description The description to deduplicate.
+     * @return A String equal to the description, shared with earlier equal descriptions if possible.
+     */
+    public synchronized String intern(String description) {
+        if (maxSize == 0 || description == null) {
+            return description;
+        }
+
+        WeakReference<String> ref = pool.get(description);
+        String pooled = ref == null ? null : ref.get();
+        if (pooled != null) {
+            hitCount++;
+            return pooled;
+        }
+
+        missCount++;
+        if (pool.size() < maxSize) {
+            pool.put(description, new WeakReference<>(description));
+        }
+        return description;
+    }
+
+    /**
+     * Returns the number of descriptions currently held by the pool.
+     *
+     * @return Number of live pooled descriptions.
+     */
+    public synchronized int size() {
+        return pool.size();
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Returns the fraction of lookups that were served from the pool.
+     *
+     * @return Hit rate between 0 and 1, or 0 if nothing has been interned yet.
+     */
+    public synchronized double getHitRate() {
+        long total = hitCount + missCount;
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+}
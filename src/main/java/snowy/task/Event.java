@@ -7,6 +7,7 @@ import java.time.format.DateTimeFormatter;
  * Represents a task that occurs over a specific time period.
  */
 public class Event extends Task {
+    private static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("MMM d yyyy HH:mm");
     protected LocalDateTime start;
     protected LocalDateTime end;
 
@@ -29,9 +30,9 @@ public class Event extends Task {
     }
 
     @Override
-    public String printDetailed() {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMM d yyyy HH:mm");
-        return this + " (from: " + this.start.format(formatter) + " to: " + this.end.format(formatter) + ")";
+    protected String renderDetailed() {
+        return this + " (from: " + this.start.format(DATE_TIME_FORMAT) + " to: " + this.end.format(DATE_TIME_FORMAT)
+                + ")";
     }
 
     @Override
@@ -0,0 +1,40 @@
+package snowy.task;
+
+import snowy.exception.InvalidInputException;
+import snowy.exception.SnowyException;
+
+/**
+ * Represents how important a task is. Tasks are of medium priority unless set otherwise.
+ */
+public enum Priority {
+    LOW,
+    MEDIUM,
+    HIGH;
+
+    /**
+     * Parses a priority from user input such as "high", "med" or "LOW".
+     *
+     * @param text The priority text.
+     * @return The matching priority.
+     * @throws SnowyException If the text does not name a priority.
+     */
+    public static Priority fromString(String text) throws SnowyException {
+        String normalized = text.trim().toUpperCase();
+        for (Priority priority : values()) {
+            boolean isAbbreviation = normalized.length() >= 3 && priority.name().startsWith(normalized);
+            if (normalized.equals(priority.name()) || isAbbreviation) {
+                return priority;
+            }
+        }
+        throw new InvalidInputException("Woof! The priority must be high, medium or low!");
+    }
+
+    /**
+     * Returns the priority as written by the user, in lower case.
+     *
+     * @return The lower-case name.
+     */
+    public String getLabel() {
+        return name().toLowerCase();
+    }
+}
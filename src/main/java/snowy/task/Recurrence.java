@@ -0,0 +1,108 @@
+package snowy.task;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import snowy.exception.InvalidInputException;
+import snowy.exception.SnowyException;
+
+/**
+ * Represents how often a recurring task repeats.
+ * Occurrences are always computed from the first occurrence of the series,
+ * so monthly tasks anchored on the 31st fall on the last day of shorter
+ * months without drifting for the rest of the series.
+ */
+public enum Recurrence {
+    WEEKLY("week", ChronoUnit.WEEKS),
+    MONTHLY("month", ChronoUnit.MONTHS);
+
+    private final String label;
+    private final ChronoUnit unit;
+
+    Recurrence(String label, ChronoUnit unit) {
+        this.label = label;
+        this.unit = unit;
+    }
+
+    /**
+     * Parses a recurrence from user input such as "week", "weekly", "month" or "monthly".
+     *
+     * @param text The recurrence text.
+     * @return The matching recurrence.
+     * @throws SnowyException If the text does not name a supported recurrence.
+     */
+    public static Recurrence fromString(String text) throws SnowyException {
+        String normalized = text.trim().toLowerCase();
+        for (Recurrence recurrence : values()) {
+            if (normalized.equals(recurrence.label) || normalized.equals(recurrence.name().toLowerCase())) {
+                return recurrence;
+            }
+        }
+        throw new InvalidInputException("Woof! Tasks can only repeat every week or every month!");
+    }
+
+    /**
+     * Returns the start of the n-th occurrence of a series.
+     *
+     * @param first The start of the first occurrence.
+     * @param n     The zero-based occurrence number.
+     * @return The start of the n-th occurrence.
+     */
+    public LocalDateTime occurrence(LocalDateTime first, long n) {
+        return first.plus(n, unit);
+    }
+
+    /**
+     * Returns the starts of all occurrences that touch the given date range.
+     * An occurrence touches the range if any part of it, from its start to
+     * its start plus the given length, falls on a date within the range.
+     *
+     * @param first  The start of the first occurrence.
+     * @param length The length of each occurrence, zero for deadlines.
+     * @param from   The first date of the range (inclusive).
+     * @param to     The last date of the range (inclusive).
+     * @return Occurrence starts in chronological order.
+     */
+    public List<LocalDateTime> occurrencesBetween(LocalDateTime first, Duration length,
+            LocalDate from, LocalDate to) {
+        List<LocalDateTime> occurrences = new ArrayList<>();
+        // Jump straight to the first period that can reach the range instead of walking the whole series
+        long n = Math.max(0, unit.between(first, from.atStartOfDay().minus(length)) - 1);
+        LocalDateTime start = occurrence(first, n);
+        while (!start.toLocalDate().isAfter(to)) {
+            if (!start.plus(length).toLocalDate().isBefore(from)) {
+                occurrences.add(start);
+            }
+            n++;
+            start = occurrence(first, n);
+        }
+        return occurrences;
+    }
+
+    /**
+     * Returns the start of the first occurrence that has not ended before the given time.
+     *
+     * @param first  The start of the first occurrence.
+     * @param length The length of each occurrence, zero for deadlines.
+     * @param after  The time to search from.
+     * @return The start of the next occurrence.
+     */
+    public LocalDateTime nextOccurrence(LocalDateTime first, Duration length, LocalDateTime after) {
+        long n = Math.max(0, unit.between(first, after.minus(length)));
+        LocalDateTime start = occurrence(first, n);
+        while (start.plus(length).isBefore(after)) {
+            n++;
+            start = occurrence(first, n);
+        }
+        return start;
+    }
+
+    @Override
+    public String toString() {
+        return "every " + label;
+    }
+}
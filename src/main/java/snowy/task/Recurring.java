@@ -0,0 +1,42 @@
+package snowy.task;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Represents a task that repeats according to a {@link Recurrence}.
+ * Only the first occurrence of a recurring task is stored. Later occurrences
+ * are generated on demand when a query asks for a particular date range.
+ */
+public interface Recurring {
+
+    Recurrence getRecurrence();
+
+    /**
+     * Returns the starts of all occurrences of this task that fall within the given dates.
+     *
+     * @param from The first date of the range (inclusive).
+     * @param to   The last date of the range (inclusive).
+     * @return Occurrence starts in chronological order.
+     */
+    List<LocalDateTime> getOccurrencesBetween(LocalDate from, LocalDate to);
+
+    /**
+     * Returns the start of the first occurrence of this task that has not ended before the given time.
+     *
+     * @param after The time to search from.
+     * @return The start of the next occurrence.
+     */
+    LocalDateTime getNextOccurrence(LocalDateTime after);
+
+    /**
+     * Returns a transient view of this task anchored at one of its occurrences.
+     * The view shares the description and completion status of this task but is
+     * not part of any task list.
+     *
+     * @param start The start of the occurrence.
+     * @return A task representing the occurrence.
+     */
+    Task occurrenceAt(LocalDateTime start);
+}
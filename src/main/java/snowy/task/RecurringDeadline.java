@@ -0,0 +1,57 @@
+package snowy.task;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Represents a deadline that repeats every week or every month.
+ * The stored due date is the first occurrence of the series.
+ */
+public class RecurringDeadline extends Deadline implements Recurring {
+    private final Recurrence recurrence;
+
+    /**
+     * Creates a new recurring deadline.
+     *
+     * @param description The description of the deadline task.
+     * @param by          The due date and time of the first occurrence.
+     * @param recurrence  How often the deadline repeats.
+     */
+    public RecurringDeadline(String description, LocalDateTime by, Recurrence recurrence) {
+        super(description, by);
+        assert recurrence != null : "Recurrence of a recurring deadline must not be null";
+        this.recurrence = recurrence;
+    }
+
+    @Override
+    protected String renderDetailed() {
+        return super.renderDetailed() + " (" + recurrence + ")";
+    }
+
+    @Override
+    public Recurrence getRecurrence() {
+        return recurrence;
+    }
+
+    @Override
+    public List<LocalDateTime> getOccurrencesBetween(LocalDate from, LocalDate to) {
+        return recurrence.occurrencesBetween(by, Duration.ZERO, from, to);
+    }
+
+    @Override
+    public LocalDateTime getNextOccurrence(LocalDateTime after) {
+        return recurrence.nextOccurrence(by, Duration.ZERO, after);
+    }
+
+    @Override
+    public Task occurrenceAt(LocalDateTime start) {
+        RecurringDeadline occurrence = new RecurringDeadline(getDescription(), start, recurrence);
+        if (isDone()) {
+            occurrence.markAsDone();
+        }
+        copyLabelsTo(occurrence);
+        return occurrence;
+    }
+}
@@ -0,0 +1,64 @@
+package snowy.task;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Represents an event that repeats every week or every month.
+ * The stored start and end times are those of the first occurrence; every
+ * later occurrence has the same length.
+ */
+public class RecurringEvent extends Event implements Recurring {
+    private final Recurrence recurrence;
+
+    /**
+     * Creates a new recurring event.
+     *
+     * @param description The description of the event.
+     * @param start       The start of the first occurrence.
+     * @param end         The end of the first occurrence.
+     * @param recurrence  How often the event repeats.
+     */
+    public RecurringEvent(String description, LocalDateTime start, LocalDateTime end, Recurrence recurrence) {
+        super(description, start, end);
+        assert recurrence != null : "Recurrence of a recurring event must not be null";
+        this.recurrence = recurrence;
+    }
+
+    @Override
+    protected String renderDetailed() {
+        return super.renderDetailed() + " (" + recurrence + ")";
+    }
+
+    @Override
+    public Recurrence getRecurrence() {
+        return recurrence;
+    }
+
+    @Override
+    public List<LocalDateTime> getOccurrencesBetween(LocalDate from, LocalDate to) {
+        return recurrence.occurrencesBetween(start, getLength(), from, to);
+    }
+
+    @Override
+    public LocalDateTime getNextOccurrence(LocalDateTime after) {
+        return recurrence.nextOccurrence(start, getLength(), after);
+    }
+
+    @Override
+    public Task occurrenceAt(LocalDateTime occurrenceStart) {
+        RecurringEvent occurrence = new RecurringEvent(getDescription(), occurrenceStart,
+                occurrenceStart.plus(getLength()), recurrence);
+        if (isDone()) {
+            occurrence.markAsDone();
+        }
+        copyLabelsTo(occurrence);
+        return occurrence;
+    }
+
+    private Duration getLength() {
+        return Duration.between(start, end);
+    }
+}
@@ -2,14 +2,20 @@ package snowy.task;
 
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
 
 /**
- * Represents a task with a description and completion status.
+ * Represents a task with a description, completion status, priority and tags.
  * This is the base class for all task types in the Snowy chatbot.
  */
 public class Task {
     private final String description;
     private boolean isDone;
+    private Priority priority = Priority.MEDIUM;
+    private List<String> tags = List.of();
+    private String detailedText;
 
     /**
      * Creates a new Task with the given description.
@@ -37,33 +43,85 @@ public class Task {
 
     public void markAsDone() {
         this.isDone = true;
+        invalidateRendering();
     }
 
     public void markAsNotDone() {
         this.isDone = false;
+        invalidateRendering();
     }
 
     public LocalDateTime getDate() {
         return null;
     }
 
+    /**
+     * Sets how important the task is.
+     *
+     * @param priority The new priority.
+     */
+    public void setPriority(Priority priority) {
+        assert priority != null : "Priority must not be null";
+        this.priority = priority;
+        invalidateRendering();
+    }
+
+    /**
+     * Replaces the task's tags. Tags are kept in alphabetical order without duplicates.
+     *
+     * @param tags The new tags, already normalised by the parser.
+     */
+    public void setTags(Collection<String> tags) {
+        this.tags = List.copyOf(new TreeSet<>(tags));
+        invalidateRendering();
+    }
+
     @Override
     public String toString() {
-        return "[" + getStatusIcon() + "]  " + description;
+        StringBuilder result = new StringBuilder("[").append(getStatusIcon()).append("]  ").append(description);
+        if (priority != Priority.MEDIUM) {
+            result.append(" !").append(priority.getLabel());
+        }
+        for (String tag : tags) {
+            result.append(" #").append(tag);
+        }
+        return result.toString();
     }
 
 
     /**
      * Returns a detailed string representation of the task.
+     * The text is rendered once and reused until the task changes, so listing
+     * unchanged tasks does not format them again.
+     *
+     * @return A detailed string representation of the task.
+     */
+    public final String printDetailed() {
+        if (detailedText == null) {
+            detailedText = renderDetailed();
+        }
+        return detailedText;
+    }
+
+    /**
+     * Renders the detailed string representation returned by {@link #printDetailed()}.
      * For the base Task class, this is the same as toString().
      * Subclasses may override this to include additional details like dates.
      *
      * @return A detailed string representation of the task.
      */
-    public String printDetailed() {
+    protected String renderDetailed() {
         return this.toString();
     }
 
+    /**
+     * Discards the cached detailed representation. Must be called whenever
+     * anything shown by {@link #renderDetailed()} changes.
+     */
+    protected void invalidateRendering() {
+        detailedText = null;
+    }
+
     public String getDescription() {
         return description;
     }
@@ -71,4 +129,23 @@ public class Task {
     public boolean isDone() {
         return isDone;
     }
+
+    public Priority getPriority() {
+        return priority;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    /**
+     * Gives another task the same priority and tags as this one, such as an
+     * occurrence of a recurring task.
+     *
+     * @param other The task to copy the labels to.
+     */
+    protected void copyLabelsTo(Task other) {
+        other.priority = priority;
+        other.tags = tags;
+    }
 }
@@ -19,9 +19,4 @@ public class ToDo extends Task {
     public String toString() {
         return "[T]" + super.toString();
     }
-
-    @Override
-    public String printDetailed() {
-        return this.toString();
-    }
 }
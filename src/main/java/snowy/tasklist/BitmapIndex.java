@@ -0,0 +1,148 @@
+package snowy.tasklist;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import snowy.task.Priority;
+import snowy.task.Task;
+
+/**
+ * Bitmap index of the task attributes that queries filter on exactly: type,
+ * completion status, priority and tags. Every task is given a slot number that
+ * stays the same while it is in the list, and every attribute value has a bit
+ * set with one bit per slot, set for the tasks that have that value. A query
+ * combining several of these filters is then answered by intersecting their
+ * bit sets, 64 tasks per machine word, instead of testing task objects.
+ * Slots of removed tasks are reused, so the bit sets stay as small as the list.
+ */
+class BitmapIndex {
+    private static final BitSet EMPTY = new BitSet();
+
+    private final Map<Task, Integer> slots = new IdentityHashMap<>();
+    private final List<Task> tasksBySlot = new ArrayList<>();
+    private final BitSet freeSlots = new BitSet();
+    private final Map<String, BitSet> bitsByKey = new HashMap<>();
+
+    /**
+     * Adds a task to the index, as it is now.
+     *
+     * @param task The task to index.
+     */
+    void add(Task task) {
+        int slot = freeSlots.nextSetBit(0);
+        if (slot == -1) {
+            slot = tasksBySlot.size();
+            tasksBySlot.add(task);
+        } else {
+            freeSlots.clear(slot);
+            tasksBySlot.set(slot, task);
+        }
+        slots.put(task, slot);
+        for (String key : getKeys(task)) {
+            bitsByKey.computeIfAbsent(key, k -> new BitSet()).set(slot);
+        }
+    }
+
+    /**
+     * Removes a task from the index. The task must not have changed since it was added.
+     *
+     * @param task The task to remove.
+     */
+    void remove(Task task) {
+        Integer slot = slots.remove(task);
+        if (slot == null) {
+            return;
+        }
+        for (String key : getKeys(task)) {
+            BitSet bits = bitsByKey.get(key);
+            bits.clear(slot);
+            if (bits.isEmpty()) {
+                bitsByKey.remove(key);
+            }
+        }
+        tasksBySlot.set(slot, null);
+        freeSlots.set(slot);
+    }
+
+    /**
+     * Counts the tasks that have an attribute value.
+     *
+     * @param key An attribute value, as returned by {@link #typeKey} and the like.
+     * @return The number of matching tasks.
+     */
+    int count(String key) {
+        return get(key).cardinality();
+    }
+
+    /**
+     * Counts the tasks that have every one of the given attribute values.
+     *
+     * @param keys Attribute values, as returned by {@link #typeKey} and the like.
+     * @return The number of matching tasks.
+     */
+    int count(List<String> keys) {
+        return keys.size() == 1 ? get(keys.get(0)).cardinality() : intersect(keys).cardinality();
+    }
+
+    /**
+     * Returns the tasks that have every one of the given attribute values.
+     *
+     * @param keys Attribute values, as returned by {@link #typeKey} and the like.
+     * @return Matching tasks, in no particular order.
+     */
+    List<Task> find(List<String> keys) {
+        BitSet bits = keys.size() == 1 ? get(keys.get(0)) : intersect(keys);
+        List<Task> result = new ArrayList<>(bits.cardinality());
+        for (int slot = bits.nextSetBit(0); slot >= 0; slot = bits.nextSetBit(slot + 1)) {
+            result.add(tasksBySlot.get(slot));
+        }
+        return result;
+    }
+
+    private BitSet intersect(List<String> keys) {
+        assert !keys.isEmpty() : "Need at least one attribute to intersect";
+        // Start from the smallest set, so the result never grows beyond it
+        BitSet smallest = keys.stream().map(this::get).min(Comparator.comparingInt(BitSet::cardinality)).get();
+        BitSet result = (BitSet) smallest.clone();
+        for (String key : keys) {
+            result.and(get(key));
+        }
+        return result;
+    }
+
+    private BitSet get(String key) {
+        return bitsByKey.getOrDefault(key, EMPTY);
+    }
+
+    private static List<String> getKeys(Task task) {
+        List<String> keys = new ArrayList<>(3 + task.getTags().size());
+        keys.add(typeKey(TaskList.getTypeCode(task)));
+        keys.add(doneKey(task.isDone()));
+        keys.add(priorityKey(task.getPriority()));
+        for (String tag : task.getTags()) {
+            keys.add(tagKey(tag));
+        }
+        return keys;
+    }
+
+    static String typeKey(String typeCode) {
+        return "type:" + typeCode;
+    }
+
+    static String doneKey(boolean isDone) {
+        return isDone ? "done:1" : "done:0";
+    }
+
+    static String priorityKey(Priority priority) {
+        return "priority:" + priority.getLabel();
+    }
+
+    static String tagKey(String tag) {
+        return "tag:" + tag;
+    }
+}
@@ -0,0 +1,208 @@
+package snowy.tasklist;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import snowy.task.Deadline;
+import snowy.task.Event;
+import snowy.task.Recurring;
+import snowy.task.Task;
+
+/**
+ * Ordered index of dated tasks, keyed by the date on which each task starts.
+ * Deadlines are keyed by their due date. One-off events can run for many days,
+ * so they are looked up in the {@link EventIndex} instead, which finds the events
+ * overlapping a range without widening the lookup by the longest event. Recurring
+ * tasks are kept aside and expanded only for the range being queried, so their
+ * occurrences are never stored.
+ */
+class DateIndex {
+    private static final Comparator<Task> BY_START_DATE = Comparator.comparing(task -> task.getDate().toLocalDate());
+
+    private final TreeMap<LocalDate, List<Task>> tasksByStartDate = new TreeMap<>();
+    private final List<Recurring> recurringTasks = new ArrayList<>();
+    private final EventIndex eventIndex;
+
+    /**
+     * Creates a date index that looks up one-off events in the given event index.
+     * The event index is kept up to date by its owner, not by this index.
+     *
+     * @param eventIndex Index of the same task list's events.
+     */
+    DateIndex(EventIndex eventIndex) {
+        this.eventIndex = eventIndex;
+    }
+
+    /**
+     * Adds a task to the index. Tasks without a date and one-off events are ignored.
+     *
+     * @param task The task to index.
+     */
+    void add(Task task) {
+        if (task instanceof Recurring recurring) {
+            recurringTasks.add(recurring);
+            return;
+        }
+        if (task.getDate() == null || task instanceof Event) {
+            return;
+        }
+        tasksByStartDate.computeIfAbsent(task.getDate().toLocalDate(), date -> new ArrayList<>()).add(task);
+    }
+
+    /**
+     * Removes a task from the index.
+     *
+     * @param task The task to remove.
+     */
+    void remove(Task task) {
+        if (task instanceof Recurring recurring) {
+            recurringTasks.remove(recurring);
+            return;
+        }
+        if (task.getDate() == null || task instanceof Event) {
+            return;
+        }
+        LocalDate startDate = task.getDate().toLocalDate();
+        List<Task> bucket = tasksByStartDate.get(startDate);
+        if (bucket != null && bucket.remove(task) && bucket.isEmpty()) {
+            tasksByStartDate.remove(startDate);
+        }
+    }
+
+    /**
+     * Returns the stored one-off tasks that occur on at least one date within the range,
+     * ordered by start date.
+     */
+    private List<Task> getOneOffTasksBetween(LocalDate from, LocalDate to) {
+        List<Task> result = new ArrayList<>();
+        for (List<Task> bucket : tasksByStartDate.subMap(from, true, to, true).values()) {
+            result.addAll(bucket);
+        }
+        for (Event event : getEventsBetween(from, to)) {
+            if (!getEndDate(event).isBefore(from)) {
+                result.add(event);
+            }
+        }
+        result.sort(BY_START_DATE);
+        return result;
+    }
+
+    private List<Event> getEventsBetween(LocalDate from, LocalDate to) {
+        // Widen the start by an instant so that events ending at midnight still count for that day
+        return eventIndex.getStoredOverlapping(from.atStartOfDay().minusNanos(1), to.plusDays(1).atStartOfDay());
+    }
+
+    /**
+     * Returns every task that falls on a date within the given range, grouped by day.
+     * An event spanning several days is listed under each of those days.
+     * Recurring tasks contribute one entry per occurrence in the range.
+     *
+     * @param from The first date of the range (inclusive).
+     * @param to   The last date of the range (inclusive).
+     * @return Tasks grouped by date, in date order.
+     */
+    NavigableMap<LocalDate, List<Task>> getTasksBetween(LocalDate from, LocalDate to) {
+        TreeMap<LocalDate, List<Task>> result = new TreeMap<>();
+        if (from.isAfter(to)) {
+            return result;
+        }
+
+        for (Task task : getOneOffTasksBetween(from, to)) {
+            addToDays(result, task, task.getDate().toLocalDate(), getEndDate(task), from, to);
+        }
+
+        for (Recurring recurring : recurringTasks) {
+            for (LocalDateTime start : recurring.getOccurrencesBetween(from, to)) {
+                Task occurrence = recurring.occurrenceAt(start);
+                addToDays(result, occurrence, start.toLocalDate(), getEndDate(occurrence), from, to);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the stored tasks that occur on at least one date within the given range.
+     * Unlike {@link #getTasksBetween}, recurring tasks are returned as themselves
+     * rather than expanded into occurrences.
+     *
+     * @param from The first date of the range (inclusive).
+     * @param to   The last date of the range (inclusive).
+     * @return Matching stored tasks, in date order.
+     */
+    List<Task> getStoredTasksBetween(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            return new ArrayList<>();
+        }
+        List<Task> result = getOneOffTasksBetween(from, to);
+        for (Recurring recurring : recurringTasks) {
+            if (occursBetween((Task) recurring, from, to)) {
+                result.add((Task) recurring);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Counts the stored tasks that may occur within the given range.
+     * This is an upper bound on the size of {@link #getStoredTasksBetween} that
+     * counts every recurring task and only looks at the index buckets, not the
+     * tasks in them, apart from the events that overlap the range.
+     *
+     * @param from The first date of the range (inclusive).
+     * @param to   The last date of the range (inclusive).
+     * @return Estimated number of matching stored tasks.
+     */
+    int estimateStoredTasksBetween(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            return 0;
+        }
+        int count = recurringTasks.size() + getEventsBetween(from, to).size();
+        for (List<Task> bucket : tasksByStartDate.subMap(from, true, to, true).values()) {
+            count += bucket.size();
+        }
+        return count;
+    }
+
+    /**
+     * Returns whether a task occurs on at least one date within the given range.
+     * Tasks without a date never match.
+     *
+     * @param task The task to check.
+     * @param from The first date of the range (inclusive).
+     * @param to   The last date of the range (inclusive).
+     * @return true if the task, or one of its occurrences, falls within the range.
+     */
+    static boolean occursBetween(Task task, LocalDate from, LocalDate to) {
+        if (task.getDate() == null) {
+            return false;
+        }
+        if (task instanceof Recurring recurring) {
+            return !recurring.getNextOccurrence(from.atStartOfDay()).toLocalDate().isAfter(to);
+        }
+        return !task.getDate().toLocalDate().isAfter(to) && !getEndDate(task).isBefore(from);
+    }
+
+    private static void addToDays(TreeMap<LocalDate, List<Task>> result, Task task,
+            LocalDate startDate, LocalDate endDate, LocalDate from, LocalDate to) {
+        LocalDate first = startDate.isBefore(from) ? from : startDate;
+        LocalDate last = endDate.isAfter(to) ? to : endDate;
+        for (LocalDate date = first; !date.isAfter(last); date = date.plusDays(1)) {
+            result.computeIfAbsent(date, d -> new ArrayList<>()).add(task);
+        }
+    }
+
+    private static LocalDate getEndDate(Task task) {
+        if (task instanceof Event event) {
+            return event.getEnd().toLocalDate();
+        }
+        if (task instanceof Deadline deadline) {
+            return deadline.getBy().toLocalDate();
+        }
+        return task.getDate().toLocalDate();
+    }
+}
@@ -0,0 +1,99 @@
+package snowy.tasklist;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import snowy.task.Deadline;
+import snowy.task.Recurring;
+import snowy.task.Task;
+
+/**
+ * Min-heap of pending deadlines ordered by when they are due, for finding the
+ * ones that are overdue without looking at any that are not.
+ * Deadlines that are marked done or deleted are not taken out of the heap
+ * straight away, which would mean searching it; they are only forgotten, and
+ * their entries are thrown away when they reach the top. The heap is rebuilt
+ * if forgotten entries come to outnumber the live ones.
+ * Recurring deadlines always have another occurrence coming up and are left out.
+ */
+class DeadlineQueue {
+    private static final int MIN_REBUILD_SIZE = 64;
+
+    private final PriorityQueue<Entry> heap = new PriorityQueue<>();
+    private final Map<Deadline, Entry> liveEntries = new IdentityHashMap<>();
+
+    /**
+     * A deadline as it was when added. An entry is stale once its deadline has
+     * been forgotten, even if the deadline was added again under a new entry.
+     */
+    private static class Entry implements Comparable<Entry> {
+        private final Deadline deadline;
+        private final LocalDateTime due;
+
+        private Entry(Deadline deadline) {
+            this.deadline = deadline;
+            this.due = deadline.getBy();
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            return due.compareTo(other.due);
+        }
+    }
+
+    /**
+     * Adds a task to the queue if it is a pending deadline.
+     *
+     * @param task The task to add.
+     */
+    void add(Task task) {
+        if (!(task instanceof Deadline deadline) || task instanceof Recurring || task.isDone()) {
+            return;
+        }
+        Entry entry = new Entry(deadline);
+        liveEntries.put(deadline, entry);
+        heap.add(entry);
+    }
+
+    /**
+     * Forgets a task, leaving its entry in the heap to be dropped later.
+     *
+     * @param task The task to forget.
+     */
+    void remove(Task task) {
+        if (task instanceof Deadline deadline && liveEntries.remove(deadline) != null
+                && heap.size() > MIN_REBUILD_SIZE && heap.size() > 2 * liveEntries.size()) {
+            heap.clear();
+            heap.addAll(liveEntries.values());
+        }
+    }
+
+    /**
+     * Returns the pending deadlines that were due before the given time, by
+     * taking entries off the top of the heap until one is not yet due, then
+     * putting back the live ones. This takes O(k log n) time for k entries taken.
+     *
+     * @param now The current time.
+     * @return Overdue deadlines, the longest overdue first.
+     */
+    List<Deadline> getOverdue(LocalDateTime now) {
+        List<Entry> overdue = new ArrayList<>();
+        while (!heap.isEmpty() && heap.peek().due.isBefore(now)) {
+            Entry entry = heap.poll();
+            if (liveEntries.get(entry.deadline) == entry) {
+                overdue.add(entry);
+            }
+        }
+        heap.addAll(overdue);
+
+        List<Deadline> deadlines = new ArrayList<>(overdue.size());
+        for (Entry entry : overdue) {
+            deadlines.add(entry.deadline);
+        }
+        return deadlines;
+    }
+}
@@ -0,0 +1,30 @@
+package snowy.tasklist;
+
+import snowy.task.Event;
+
+/**
+ * Represents two events whose times overlap.
+ */
+public class EventConflict {
+    private final Event first;
+    private final Event second;
+
+    /**
+     * Creates an EventConflict.
+     *
+     * @param first  The event that starts first.
+     * @param second The event that starts at the same time or later.
+     */
+    public EventConflict(Event first, Event second) {
+        this.first = first;
+        this.second = second;
+    }
+
+    public Event getFirst() {
+        return first;
+    }
+
+    public Event getSecond() {
+        return second;
+    }
+}
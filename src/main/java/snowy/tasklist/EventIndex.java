@@ -0,0 +1,326 @@
+package snowy.tasklist;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+import snowy.task.Event;
+import snowy.task.Recurring;
+import snowy.task.Task;
+
+/**
+ * Interval index of events, for finding the events that overlap a span of time.
+ * One-off events are kept in a treap ordered by start time, where every node
+ * also remembers the latest end time in its subtree. A lookup can then skip any
+ * subtree that ends before the span or starts after it, so it only walks the
+ * O(log n) paths leading to the events it finds instead of scanning every event.
+ * Like {@link DateIndex}, recurring events are kept aside and expanded only for
+ * the span being looked up.
+ * Events are treated as half-open spans, so one that ends at 11:00 does not
+ * overlap one that starts at 11:00. An event that starts and ends at the same
+ * time is treated as lasting an instant.
+ */
+class EventIndex {
+    private static final Comparator<Event> BY_START_THEN_END = Comparator.comparing(Event::getStart)
+            .thenComparing(Event::getEnd);
+
+    private final Map<Event, Node> nodes = new IdentityHashMap<>();
+    private final List<Event> recurringEvents = new ArrayList<>();
+    private Node root;
+    private long nextSequence;
+
+    /**
+     * A treap node. Nodes are ordered by start time, and by insertion order among
+     * events that start at the same time, and heap-ordered by a random priority.
+     */
+    private static class Node {
+        private final Event event;
+        private final long sequence;
+        private final int priority = ThreadLocalRandom.current().nextInt();
+        private Node left;
+        private Node right;
+        private LocalDateTime maxEnd;
+
+        private Node(Event event, long sequence) {
+            this.event = event;
+            this.sequence = sequence;
+            this.maxEnd = getEnd(event);
+        }
+
+        private int compareTo(Node other) {
+            int byStart = event.getStart().compareTo(other.event.getStart());
+            return byStart != 0 ? byStart : Long.compare(sequence, other.sequence);
+        }
+
+        private void update() {
+            maxEnd = getEnd(event);
+            if (left != null && left.maxEnd.isAfter(maxEnd)) {
+                maxEnd = left.maxEnd;
+            }
+            if (right != null && right.maxEnd.isAfter(maxEnd)) {
+                maxEnd = right.maxEnd;
+            }
+        }
+    }
+
+    /**
+     * Adds a task to the index. Tasks other than events are ignored.
+     *
+     * @param task The task to index.
+     */
+    void add(Task task) {
+        if (!(task instanceof Event event)) {
+            return;
+        }
+        if (task instanceof Recurring) {
+            recurringEvents.add(event);
+            return;
+        }
+        Node node = new Node(event, nextSequence++);
+        nodes.put(event, node);
+        root = insert(root, node);
+    }
+
+    /**
+     * Removes a task from the index.
+     *
+     * @param task The task to remove.
+     */
+    void remove(Task task) {
+        if (!(task instanceof Event event)) {
+            return;
+        }
+        if (task instanceof Recurring) {
+            recurringEvents.remove(event);
+            return;
+        }
+        Node node = nodes.remove(event);
+        if (node != null) {
+            root = delete(root, node);
+        }
+    }
+
+    /**
+     * Returns the one-off events that overlap the given span of time, leaving out
+     * recurring events.
+     *
+     * @param from Start of the span.
+     * @param to   End of the span.
+     * @return Overlapping one-off events, ordered by start time.
+     */
+    List<Event> getStoredOverlapping(LocalDateTime from, LocalDateTime to) {
+        List<Event> result = new ArrayList<>();
+        collectOverlapping(root, from, to, null, result);
+        return result;
+    }
+
+    /**
+     * Returns the events that overlap the given span of time, including
+     * occurrences of recurring events.
+     *
+     * @param from    Start of the span.
+     * @param to      End of the span.
+     * @param exclude A stored task to leave out of the result, or null.
+     * @return Overlapping events, ordered by start time.
+     */
+    List<Event> getOverlapping(LocalDateTime from, LocalDateTime to, Task exclude) {
+        List<Event> result = new ArrayList<>();
+        collectOverlapping(root, from, to, exclude, result);
+
+        boolean hasOccurrences = false;
+        for (Event recurring : recurringEvents) {
+            if (recurring == exclude) {
+                continue;
+            }
+            for (LocalDateTime start : ((Recurring) recurring).getOccurrencesBetween(from.toLocalDate(),
+                    to.toLocalDate())) {
+                Event occurrence = (Event) ((Recurring) recurring).occurrenceAt(start);
+                if (overlaps(occurrence, from, to)) {
+                    result.add(occurrence);
+                    hasOccurrences = true;
+                }
+            }
+        }
+        if (hasOccurrences) {
+            result.sort(BY_START_THEN_END);
+        }
+        return result;
+    }
+
+    /**
+     * Finds every pair of one-off events that overlap, by sweeping through the
+     * events in start order while keeping the events still running in a heap
+     * ordered by end time. This takes O(n log n + k) time for k pairs.
+     *
+     * @return Overlapping pairs, each with the earlier-starting event first, ordered by start time.
+     */
+    List<EventConflict> findConflicts() {
+        List<Event> events = new ArrayList<>(nodes.size());
+        collectInOrder(root, events);
+
+        List<EventConflict> conflicts = new ArrayList<>();
+        PriorityQueue<Event> running = new PriorityQueue<>(Comparator.comparing(EventIndex::getEnd));
+        for (Event event : events) {
+            while (!running.isEmpty() && !getEnd(running.peek()).isAfter(event.getStart())) {
+                running.poll();
+            }
+            for (Event earlier : running) {
+                conflicts.add(new EventConflict(earlier, event));
+            }
+            running.add(event);
+        }
+        // The heap hands out running events in no particular order
+        conflicts.sort(Comparator.comparing(EventConflict::getSecond, BY_START_THEN_END)
+                .thenComparing(EventConflict::getFirst, BY_START_THEN_END));
+        return conflicts;
+    }
+
+    /**
+     * Returns the gaps between events within a span of time, by merging the busy
+     * times of the events that overlap the span as they come out of the index in
+     * start order. Events that start and end at the same time take up no time.
+     *
+     * @param from      Start of the span.
+     * @param to        End of the span.
+     * @param minLength The shortest gap to return.
+     * @return Gaps at least minLength long, in time order.
+     */
+    List<TimeSlot> getFreeSlots(LocalDateTime from, LocalDateTime to, Duration minLength) {
+        List<TimeSlot> slots = new ArrayList<>();
+        LocalDateTime freeFrom = from;
+        for (Event event : getOverlapping(from, to, null)) {
+            if (!event.getEnd().isAfter(event.getStart())) {
+                continue;
+            }
+            addSlot(slots, freeFrom, event.getStart(), minLength);
+            if (event.getEnd().isAfter(freeFrom)) {
+                freeFrom = event.getEnd();
+            }
+        }
+        addSlot(slots, freeFrom, to, minLength);
+        return slots;
+    }
+
+    private static void addSlot(List<TimeSlot> slots, LocalDateTime start, LocalDateTime end, Duration minLength) {
+        if (start.isBefore(end) && Duration.between(start, end).compareTo(minLength) >= 0) {
+            slots.add(new TimeSlot(start, end));
+        }
+    }
+
+    /**
+     * Returns whether an event overlaps the given span of time.
+     *
+     * @param event The event to check.
+     * @param from  Start of the span.
+     * @param to    End of the span, or the same as the start for an instant.
+     * @return true if the event and the span share some time.
+     */
+    static boolean overlaps(Event event, LocalDateTime from, LocalDateTime to) {
+        return event.getStart().isBefore(getEnd(from, to)) && getEnd(event).isAfter(from);
+    }
+
+    private static LocalDateTime getEnd(Event event) {
+        return getEnd(event.getStart(), event.getEnd());
+    }
+
+    private static LocalDateTime getEnd(LocalDateTime start, LocalDateTime end) {
+        // Give instants a length so that they overlap whatever is running at that moment
+        return end.isAfter(start) ? end : start.plusNanos(1);
+    }
+
+    private static void collectOverlapping(Node node, LocalDateTime from, LocalDateTime to, Task exclude,
+            List<Event> result) {
+        if (node == null || !node.maxEnd.isAfter(from)) {
+            return;
+        }
+        collectOverlapping(node.left, from, to, exclude, result);
+        if (!node.event.getStart().isBefore(getEnd(from, to))) {
+            // Everything to the right starts later still
+            return;
+        }
+        if (node.event != exclude && overlaps(node.event, from, to)) {
+            result.add(node.event);
+        }
+        collectOverlapping(node.right, from, to, exclude, result);
+    }
+
+    private static void collectInOrder(Node node, List<Event> result) {
+        if (node == null) {
+            return;
+        }
+        collectInOrder(node.left, result);
+        result.add(node.event);
+        collectInOrder(node.right, result);
+    }
+
+    private static Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (added.compareTo(node) < 0) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        node.update();
+        return node;
+    }
+
+    private static Node delete(Node node, Node removed) {
+        if (node == null) {
+            return null;
+        }
+        if (node == removed) {
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            // Rotate the higher-priority child up and keep pushing the node down
+            if (node.left.priority > node.right.priority) {
+                node = rotateRight(node);
+                node.right = delete(node.right, removed);
+            } else {
+                node = rotateLeft(node);
+                node.left = delete(node.left, removed);
+            }
+        } else if (removed.compareTo(node) < 0) {
+            node.left = delete(node.left, removed);
+        } else {
+            node.right = delete(node.right, removed);
+        }
+        node.update();
+        return node;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        node.update();
+        pivot.update();
+        return pivot;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        node.update();
+        pivot.update();
+        return pivot;
+    }
+}
@@ -0,0 +1,322 @@
+package snowy.tasklist;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import snowy.task.Priority;
+import snowy.task.Task;
+
+/**
+ * Represents one condition of a task query, such as "is a deadline" or "is not done".
+ * Filters that one of the task list's indexes can answer directly also implement
+ * {@link IndexedFilter}. The query planner uses this to start from the most selective
+ * index and only test the remaining filters against the tasks that index returns. Filters on exact
+ * attributes also name their bit set in the bitmap index, so that several of them
+ * can be combined by intersecting bit sets.
+ */
+public abstract class Filter {
+    /** Earliest date used for open-ended date ranges. */
+    public static final LocalDate EARLIEST_DATE = LocalDate.of(1, 1, 1);
+    /** Latest date used for open-ended date ranges. */
+    public static final LocalDate LATEST_DATE = LocalDate.of(9999, 12, 31);
+
+    /**
+     * Returns whether a task satisfies this filter.
+     *
+     * @param task The task to test.
+     * @return true if the task matches.
+     */
+    public abstract boolean test(Task task);
+
+    /**
+     * Returns this filter in query syntax, for explaining query plans.
+     *
+     * @return Description of the filter.
+     */
+    public abstract String describe();
+
+    /**
+     * Returns the relative cost of testing one task, used to order the filters that run as predicates.
+     *
+     * @return Lower values are cheaper.
+     */
+    abstract int cost();
+
+    /**
+     * Returns the key of this filter's bit set in the task list's bitmap index.
+     *
+     * @return The key, or null if the filter is not on an attribute in the bitmap index.
+     */
+    String getBitmapKey() {
+        return null;
+    }
+
+    /**
+     * Creates a filter matching tasks of a type.
+     *
+     * @param typeCode "T" for todos, "D" for deadlines or "E" for events.
+     * @return The filter.
+     */
+    public static Filter ofType(String typeCode) {
+        return new TypeFilter(typeCode);
+    }
+
+    /**
+     * Creates a filter matching tasks by completion status.
+     *
+     * @param isDone Whether matching tasks are done.
+     * @return The filter.
+     */
+    public static Filter ofDone(boolean isDone) {
+        return new DoneFilter(isDone);
+    }
+
+    /**
+     * Creates a filter matching tasks by priority.
+     *
+     * @param priority The priority of matching tasks.
+     * @return The filter.
+     */
+    public static Filter ofPriority(Priority priority) {
+        return new PriorityFilter(priority);
+    }
+
+    /**
+     * Creates a filter matching tasks that have a tag.
+     *
+     * @param tag The tag, in lower case and without the leading '#'.
+     * @return The filter.
+     */
+    public static Filter ofTag(String tag) {
+        return new TagFilter(tag);
+    }
+
+    /**
+     * Creates a filter matching tasks that occur on at least one date within a range.
+     *
+     * @param label How the range was written, for example "before:2026-03-01".
+     * @param from  The first date of the range (inclusive).
+     * @param to    The last date of the range (inclusive).
+     * @return The filter.
+     */
+    public static Filter ofDateRange(String label, LocalDate from, LocalDate to) {
+        return new DateRangeFilter(label, from, to);
+    }
+
+    /**
+     * Creates a filter matching tasks whose descriptions contain a keyword, ignoring case.
+     *
+     * @param keyword The keyword.
+     * @return The filter.
+     */
+    public static Filter ofKeyword(String keyword) {
+        return new KeywordFilter(keyword);
+    }
+
+    /**
+     * Creates a filter matching tasks whose descriptions contain a match of a regular expression.
+     *
+     * @param pattern The compiled pattern.
+     * @return The filter.
+     */
+    public static Filter ofRegex(Pattern pattern) {
+        return new RegexFilter(pattern);
+    }
+
+    private static class TypeFilter extends BitmapFilter {
+        private final String typeCode;
+
+        private TypeFilter(String typeCode) {
+            this.typeCode = typeCode;
+        }
+
+        @Override
+        public boolean test(Task task) {
+            return TaskList.getTypeCode(task).equals(typeCode);
+        }
+
+        @Override
+        String getBitmapKey() {
+            return BitmapIndex.typeKey(typeCode);
+        }
+    }
+
+    private static class DoneFilter extends BitmapFilter {
+        private final boolean isDone;
+
+        private DoneFilter(boolean isDone) {
+            this.isDone = isDone;
+        }
+
+        @Override
+        public boolean test(Task task) {
+            return task.isDone() == isDone;
+        }
+
+        @Override
+        String getBitmapKey() {
+            return BitmapIndex.doneKey(isDone);
+        }
+    }
+
+    /**
+     * Base for filters on attributes in the bitmap index, which serves them on
+     * their own or intersected with one another.
+     */
+    private abstract static class BitmapFilter extends Filter implements IndexedFilter {
+        @Override
+        public String describe() {
+            return getBitmapKey();
+        }
+
+        @Override
+        public int estimate(TaskList tasks) {
+            return tasks.getBitmapIndex().count(getBitmapKey());
+        }
+
+        @Override
+        public Collection<Task> candidates(TaskList tasks) {
+            return tasks.getBitmapIndex().find(List.of(getBitmapKey()));
+        }
+
+        @Override
+        int cost() {
+            return 0;
+        }
+    }
+
+    private static class PriorityFilter extends BitmapFilter {
+        private final Priority priority;
+
+        private PriorityFilter(Priority priority) {
+            this.priority = priority;
+        }
+
+        @Override
+        public boolean test(Task task) {
+            return task.getPriority() == priority;
+        }
+
+        @Override
+        String getBitmapKey() {
+            return BitmapIndex.priorityKey(priority);
+        }
+    }
+
+    private static class TagFilter extends BitmapFilter {
+        private final String tag;
+
+        private TagFilter(String tag) {
+            this.tag = tag;
+        }
+
+        @Override
+        public boolean test(Task task) {
+            return task.getTags().contains(tag);
+        }
+
+        @Override
+        String getBitmapKey() {
+            return BitmapIndex.tagKey(tag);
+        }
+    }
+
+    private static class DateRangeFilter extends Filter implements IndexedFilter {
+        private final String label;
+        private final LocalDate from;
+        private final LocalDate to;
+
+        private DateRangeFilter(String label, LocalDate from, LocalDate to) {
+            this.label = label;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public boolean test(Task task) {
+            return DateIndex.occursBetween(task, from, to);
+        }
+
+        @Override
+        public String describe() {
+            return label;
+        }
+
+        @Override
+        public int estimate(TaskList tasks) {
+            return tasks.getDateIndex().estimateStoredTasksBetween(from, to);
+        }
+
+        @Override
+        public Collection<Task> candidates(TaskList tasks) {
+            return tasks.getDateIndex().getStoredTasksBetween(from, to);
+        }
+
+        @Override
+        int cost() {
+            return 1;
+        }
+    }
+
+    private static class KeywordFilter extends Filter implements IndexedFilter {
+        private final String keyword;
+        private final String lowerCaseKeyword;
+
+        private KeywordFilter(String keyword) {
+            this.keyword = keyword;
+            this.lowerCaseKeyword = keyword.toLowerCase();
+        }
+
+        @Override
+        public boolean test(Task task) {
+            return task.getDescription().toLowerCase().contains(lowerCaseKeyword);
+        }
+
+        @Override
+        public String describe() {
+            return keyword;
+        }
+
+        @Override
+        public int estimate(TaskList tasks) {
+            return TrigramIndex.canSearch(keyword)
+                    ? tasks.getTrigramIndex().estimateContaining(keyword)
+                    : NOT_INDEXED;
+        }
+
+        @Override
+        public Collection<Task> candidates(TaskList tasks) {
+            return tasks.getTrigramIndex().findContaining(keyword);
+        }
+
+        @Override
+        int cost() {
+            return 2;
+        }
+    }
+
+    private static class RegexFilter extends Filter {
+        private final Pattern pattern;
+
+        private RegexFilter(Pattern pattern) {
+            this.pattern = pattern;
+        }
+
+        @Override
+        public boolean test(Task task) {
+            return pattern.matcher(task.getDescription()).find();
+        }
+
+        @Override
+        public String describe() {
+            return "/" + pattern.pattern() + "/";
+        }
+
+        @Override
+        int cost() {
+            return 3;
+        }
+    }
+}
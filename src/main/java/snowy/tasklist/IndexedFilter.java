@@ -0,0 +1,37 @@
+package snowy.tasklist;
+
+import java.util.Collection;
+
+import snowy.task.Task;
+
+/**
+ * A query filter that one of the task list's indexes can answer directly,
+ * producing the tasks that may match it without testing every task.
+ */
+interface IndexedFilter {
+    int NOT_INDEXED = -1;
+
+    /**
+     * Returns this filter in query syntax, for explaining query plans.
+     *
+     * @return Description of the filter.
+     */
+    String describe();
+
+    /**
+     * Returns roughly how many tasks the matching index would return for this filter.
+     *
+     * @param tasks The task list whose indexes to consult.
+     * @return Estimated number of candidates, or {@link #NOT_INDEXED} if no index can serve this filter.
+     */
+    int estimate(TaskList tasks);
+
+    /**
+     * Returns the candidate tasks for this filter from the matching index.
+     * Only called when {@link #estimate} did not return {@link #NOT_INDEXED}.
+     *
+     * @param tasks The task list whose indexes to consult.
+     * @return Tasks that may match this filter; every task that matches is included.
+     */
+    Collection<Task> candidates(TaskList tasks);
+}
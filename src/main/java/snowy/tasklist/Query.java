@@ -0,0 +1,24 @@
+package snowy.tasklist;
+
+import java.util.List;
+
+/**
+ * Represents a task query: a list of filters that a task must all satisfy.
+ */
+public class Query {
+    private final List<Filter> filters;
+
+    /**
+     * Creates a query matching tasks that satisfy every given filter.
+     *
+     * @param filters The filters to combine.
+     */
+    public Query(List<Filter> filters) {
+        assert !filters.isEmpty() : "A query needs at least one filter";
+        this.filters = List.copyOf(filters);
+    }
+
+    public List<Filter> getFilters() {
+        return filters;
+    }
+}
@@ -0,0 +1,62 @@
+package snowy.tasklist;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Describes how a query will be answered: which filter, if any, is served from an
+ * index to produce the candidate tasks, or which filters have their bit sets
+ * intersected to produce them, and which filters are then tested against each
+ * candidate, cheapest first. Without either every task is a candidate.
+ */
+public class QueryPlan {
+    private final IndexedFilter indexedFilter;
+    private final List<Filter> bitmapFilters;
+    private final int estimatedCandidates;
+    private final List<Filter> predicates;
+
+    QueryPlan(IndexedFilter indexedFilter, List<Filter> bitmapFilters, int estimatedCandidates,
+            List<Filter> predicates) {
+        assert indexedFilter == null || bitmapFilters.isEmpty() : "Candidates should come from one source";
+        this.indexedFilter = indexedFilter;
+        this.bitmapFilters = List.copyOf(bitmapFilters);
+        this.estimatedCandidates = estimatedCandidates;
+        this.predicates = List.copyOf(predicates);
+    }
+
+    IndexedFilter getIndexedFilter() {
+        return indexedFilter;
+    }
+
+    List<Filter> getBitmapFilters() {
+        return bitmapFilters;
+    }
+
+    List<Filter> getPredicates() {
+        return predicates;
+    }
+
+    /**
+     * Returns the steps of this plan, one per line.
+     *
+     * @return Human-readable description of the plan.
+     */
+    public String describe() {
+        StringBuilder result = new StringBuilder();
+        int step = 1;
+        if (!bitmapFilters.isEmpty()) {
+            result.append(step++).append(". bitmap intersection of ")
+                    .append(bitmapFilters.stream().map(Filter::describe).collect(Collectors.joining(" and ")))
+                    .append(" (").append(estimatedCandidates).append(" candidate(s))\n");
+        } else if (indexedFilter == null) {
+            result.append(step++).append(". full scan of ").append(estimatedCandidates).append(" task(s)\n");
+        } else {
+            result.append(step++).append(". index lookup ").append(indexedFilter.describe())
+                    .append(" (~").append(estimatedCandidates).append(" candidate(s))\n");
+        }
+        for (Filter predicate : predicates) {
+            result.append(step++).append(". filter ").append(predicate.describe()).append("\n");
+        }
+        return result.toString().trim();
+    }
+}
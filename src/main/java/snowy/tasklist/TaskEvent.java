@@ -0,0 +1,59 @@
+package snowy.tasklist;
+
+import snowy.task.Task;
+
+/**
+ * Describes a change to one task in a task list, as published to the list's listeners.
+ * The position is relative to the list as the earlier events of the same operation
+ * left it, so applying the events in order to a copy of the list keeps it in step.
+ */
+public class TaskEvent {
+    /**
+     * The kinds of change to a task.
+     */
+    public enum Kind {
+        /** The task was put into the list at the position. */
+        ADDED,
+        /** The task was taken out of the list from the position. */
+        REMOVED,
+        /** The task at the position was changed in place, such as being marked as done. */
+        UPDATED
+    }
+
+    private final Kind kind;
+    private final int index;
+    private final Task task;
+    private final long version;
+
+    /**
+     * Creates a TaskEvent.
+     *
+     * @param kind    What happened to the task.
+     * @param index   Position of the task (0-based).
+     * @param task    The task that changed.
+     * @param version The version of the list after the operation, shared by all of its events.
+     */
+    public TaskEvent(Kind kind, int index, Task task, long version) {
+        assert index >= 0 : "Task position must not be negative";
+        this.kind = kind;
+        this.index = index;
+        this.task = task;
+        this.version = version;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public Task getTask() {
+        return task;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+}
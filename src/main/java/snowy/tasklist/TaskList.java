@@ -1,14 +1,25 @@
 package snowy.tasklist;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 
+import snowy.exception.InvalidInputException;
 import snowy.exception.SnowyException;
 import snowy.task.Deadline;
 import snowy.task.Event;
+import snowy.task.Priority;
+import snowy.task.Recurring;
 import snowy.task.Task;
 import snowy.task.ToDo;
 
@@ -18,10 +29,23 @@ import snowy.task.ToDo;
  * This class encapsulates an ArrayList of tasks and provides operations
  * to add, delete, mark, unmark, and retrieve tasks. It also handles
  * validation of task indices and provides specific queries such as
- * finding tasks occurring on a specific date.
+ * finding tasks occurring on a specific date, which are answered from
+ * an ordered date index kept in step with the list.
+ * Every change is published to the list's listeners as it is made, so that
+ * saving, reminders and anything else that follows the list can react to just
+ * the tasks that changed.
  */
 public class TaskList {
     private final ArrayList<Task> tasks;
+    private final EventIndex eventIndex = new EventIndex();
+    private final DateIndex dateIndex = new DateIndex(eventIndex);
+    private final TrigramIndex trigramIndex = new TrigramIndex();
+    private final WeekIndex weekIndex = new WeekIndex();
+    private final DeadlineQueue deadlineQueue = new DeadlineQueue();
+    private final BitmapIndex bitmapIndex = new BitmapIndex();
+    private final List<TaskListener> listeners = new CopyOnWriteArrayList<>();
+    private final Map<Task, Integer> positions = new IdentityHashMap<>();
+    private long version;
 
     /**
      * Creates an empty TaskList with no tasks.
@@ -37,6 +61,8 @@ public class TaskList {
      */
     public TaskList(ArrayList<Task> tasks) {
         this.tasks = tasks;
+        tasks.forEach(this::indexTask);
+        renumberFrom(0);
     }
 
     /**
@@ -47,6 +73,29 @@ public class TaskList {
     public void addTask(Task task) {
         assert task != null : "Cannot add a null task to the list";
         tasks.add(task);
+        positions.put(task, tasks.size() - 1);
+        indexTask(task);
+        version++;
+        publish(TaskEvent.Kind.ADDED, tasks.size() - 1, task);
+    }
+
+    /**
+     * Inserts a task at the specified index, shifting later tasks back
+     *
+     * @param index Index to insert the task at (0-based), at most the current size
+     * @param task  Task to insert
+     * @throws SnowyException if index is invalid
+     */
+    public void insertTask(int index, Task task) throws SnowyException {
+        assert task != null : "Cannot insert a null task into the list";
+        if (index < 0 || index > tasks.size()) {
+            throw new InvalidInputException("Woof! That task number doesn't exist!");
+        }
+        tasks.add(index, task);
+        renumberFrom(index);
+        indexTask(task);
+        version++;
+        publish(TaskEvent.Kind.ADDED, index, task);
     }
 
     /**
@@ -60,9 +109,95 @@ public class TaskList {
         validateIndex(index);
         Task removed = tasks.remove(index);
         assert removed != null : "Removed task should not be null";
+        positions.remove(removed);
+        renumberFrom(index);
+        unindexTask(removed);
+        version++;
+        publish(TaskEvent.Kind.REMOVED, index, removed);
         return removed;
     }
 
+    /**
+     * Removes every task that is done and, if a cutoff is given, whose last date
+     * is before the cutoff
+     * Tasks without a date are only removed when no cutoff is given.
+     *
+     * @param cutoff Only tasks whose last date is before this date are removed, or null for all done tasks
+     * @return The removed tasks, in list order
+     */
+    public List<Task> removeDoneTasks(LocalDate cutoff) {
+        List<Task> removed = new ArrayList<>();
+        List<Integer> removedPositions = new ArrayList<>();
+        int[] position = {0};
+        tasks.removeIf(task -> {
+            boolean isArchivable = task.isDone() && (cutoff == null || isLastDateBefore(task, cutoff));
+            if (isArchivable) {
+                // Where the task is once the tasks before it have been removed
+                removedPositions.add(position[0] - removed.size());
+                removed.add(task);
+                positions.remove(task);
+                unindexTask(task);
+            }
+            position[0]++;
+            return isArchivable;
+        });
+        if (removed.isEmpty()) {
+            return removed;
+        }
+
+        renumberFrom(removedPositions.get(0));
+        version++;
+        if (!listeners.isEmpty()) {
+            List<TaskEvent> events = new ArrayList<>(removed.size());
+            for (int i = 0; i < removed.size(); i++) {
+                events.add(new TaskEvent(TaskEvent.Kind.REMOVED, removedPositions.get(i), removed.get(i), version));
+            }
+            publish(events);
+        }
+        return removed;
+    }
+
+    /**
+     * Replaces a run of consecutive tasks with other tasks, updating the indexes
+     * for only the tasks involved
+     *
+     * @param start        Position of the first task to replace
+     * @param count        Number of tasks to replace
+     * @param replacements Tasks to put in their place, in order
+     * @return The replaced tasks, in list order
+     * @throws SnowyException If the run does not lie within the list
+     */
+    public List<Task> replaceTasks(int start, int count, List<Task> replacements) throws SnowyException {
+        if (start < 0 || count < 0 || start + count > tasks.size()) {
+            throw new InvalidInputException("Woof! That task number doesn't exist!");
+        }
+        List<Task> run = tasks.subList(start, start + count);
+        List<Task> replaced = new ArrayList<>(run);
+        run.clear();
+        tasks.addAll(start, replacements);
+        replaced.forEach(positions::remove);
+        renumberFrom(start);
+        replaced.forEach(this::unindexTask);
+        replacements.forEach(this::indexTask);
+        version++;
+        if (!listeners.isEmpty() && (count > 0 || !replacements.isEmpty())) {
+            List<TaskEvent> events = new ArrayList<>(count + replacements.size());
+            for (Task task : replaced) {
+                events.add(new TaskEvent(TaskEvent.Kind.REMOVED, start, task, version));
+            }
+            for (int i = 0; i < replacements.size(); i++) {
+                events.add(new TaskEvent(TaskEvent.Kind.ADDED, start + i, replacements.get(i), version));
+            }
+            publish(events);
+        }
+        return replaced;
+    }
+
+    private static boolean isLastDateBefore(Task task, LocalDate cutoff) {
+        LocalDateTime lastDate = task instanceof Event event ? event.getEnd() : task.getDate();
+        return lastDate != null && lastDate.toLocalDate().isBefore(cutoff);
+    }
+
     /**
      * Gets a task at the specified index
      *
@@ -84,7 +219,15 @@ public class TaskList {
      */
     public void markTask(int index) throws SnowyException {
         validateIndex(index);
-        tasks.get(index).markAsDone();
+        Task task = tasks.get(index);
+        weekIndex.remove(task);
+        bitmapIndex.remove(task);
+        task.markAsDone();
+        weekIndex.add(task);
+        bitmapIndex.add(task);
+        deadlineQueue.remove(task);
+        version++;
+        publish(TaskEvent.Kind.UPDATED, index, task);
     }
 
     /**
@@ -95,7 +238,78 @@ public class TaskList {
      */
     public void unmarkTask(int index) throws SnowyException {
         validateIndex(index);
-        tasks.get(index).markAsNotDone();
+        Task task = tasks.get(index);
+        weekIndex.remove(task);
+        bitmapIndex.remove(task);
+        task.markAsNotDone();
+        weekIndex.add(task);
+        bitmapIndex.add(task);
+        deadlineQueue.remove(task);
+        deadlineQueue.add(task);
+        version++;
+        publish(TaskEvent.Kind.UPDATED, index, task);
+    }
+
+    /**
+     * Sets the priority and tags of a task
+     *
+     * @param index    Index of task to relabel (0-based)
+     * @param priority The task's new priority
+     * @param tags     The task's new tags
+     * @throws SnowyException if index is invalid
+     */
+    public void relabelTask(int index, Priority priority, Collection<String> tags) throws SnowyException {
+        validateIndex(index);
+        Task task = tasks.get(index);
+        bitmapIndex.remove(task);
+        task.setPriority(priority);
+        task.setTags(tags);
+        bitmapIndex.add(task);
+        version++;
+        publish(TaskEvent.Kind.UPDATED, index, task);
+    }
+
+    /**
+     * Starts publishing changes to the list to a listener
+     *
+     * @param listener The listener, called after every change on the thread making it
+     */
+    public void addListener(TaskListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Stops publishing changes to the list to a listener
+     *
+     * @param listener The listener to remove
+     */
+    public void removeListener(TaskListener listener) {
+        listeners.remove(listener);
+    }
+
+    private void publish(TaskEvent.Kind kind, int index, Task task) {
+        if (!listeners.isEmpty()) {
+            publish(List.of(new TaskEvent(kind, index, task, version)));
+        }
+    }
+
+    private void publish(List<TaskEvent> events) {
+        // The change has already been made, so every listener still hears about it
+        RuntimeException failure = null;
+        for (TaskListener listener : listeners) {
+            try {
+                listener.tasksChanged(events);
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
     }
 
     /**
@@ -107,6 +321,16 @@ public class TaskList {
         return tasks;
     }
 
+    /**
+     * Gets the version of the list, which changes every time a task is added,
+     * removed, marked or unmarked
+     *
+     * @return The current version
+     */
+    public long getVersion() {
+        return version;
+    }
+
     /**
      * Gets the number of tasks in the list
      *
@@ -116,8 +340,18 @@ public class TaskList {
         return tasks.size();
     }
 
+    /**
+     * Gets all tasks sorted by type and then by date.
+     * Recurring tasks are shown at their next occurrence.
+     *
+     * @return ArrayList of tasks in sorted order
+     */
     public ArrayList<Task> getSortedTasks() {
+        LocalDateTime now = LocalDateTime.now();
         return tasks.stream()
+                .map(task -> task instanceof Recurring recurring
+                        ? recurring.occurrenceAt(recurring.getNextOccurrence(now))
+                        : task)
                 .sorted(Comparator
                         .comparingInt(this::getTaskTypeOrder)
                         .thenComparing(task -> task.getDate() == null
@@ -141,35 +375,27 @@ public class TaskList {
 
     /**
      * Finds tasks occurring on a specific date
+     * Recurring tasks are expanded into the occurrences that fall on that date.
      *
      * @param date The date to search for
      * @return ArrayList of tasks on that date
      */
     public ArrayList<Task> getTasksOnDate(LocalDate date) {
-        return tasks.stream()
-                .filter(task -> isTaskOnDate(task, date))
-                .collect(Collectors.toCollection(ArrayList::new));
+        return new ArrayList<>(dateIndex.getTasksBetween(date, date).getOrDefault(date, List.of()));
     }
 
     /**
-     * Checks whether a task falls on the specified date.
-     * For a Deadline, the task matches if its due date equals the given date.
-     * For an Event, the task matches if the given date falls within its
-     * start and end dates (inclusive). Other task types never match.
+     * Finds tasks occurring between two dates, grouped by day
+     * Uses the date index, so the cost depends on the number of matching tasks
+     * rather than the size of the list. An event spanning several days is listed
+     * under each day it covers, and recurring tasks are expanded into their occurrences.
      *
-     * @param task The task to check.
-     * @param date The date to check against.
-     * @return true if the task occurs on the given date, false otherwise.
+     * @param from The first date of the range (inclusive)
+     * @param to   The last date of the range (inclusive)
+     * @return Tasks grouped by date, in date order
      */
-    private boolean isTaskOnDate(Task task, LocalDate date) {
-        if (task instanceof Deadline deadline) {
-            return deadline.getBy().toLocalDate().equals(date);
-        }
-        if (task instanceof Event event) {
-            return !date.isBefore(event.getStart().toLocalDate())
-                    && !date.isAfter(event.getEnd().toLocalDate());
-        }
-        return false;
+    public NavigableMap<LocalDate, List<Task>> getTasksBetween(LocalDate from, LocalDate to) {
+        return dateIndex.getTasksBetween(from, to);
     }
 
     /**
@@ -184,6 +410,253 @@ public class TaskList {
                 .collect(Collectors.toCollection(ArrayList::new));
     }
 
+    /**
+     * Plans a query by picking the filter whose index yields the fewest candidates
+     * When two or more filters are on attributes in the bitmap index, such as type,
+     * status, priority and tags, their bit sets are intersected instead if that
+     * leaves fewer candidates than any single index.
+     * The remaining filters are tested against those candidates, cheapest first.
+     * If no filter can be served from an index, every task is scanned.
+     *
+     * @param query The query to plan
+     * @return The chosen plan
+     */
+    public QueryPlan planQuery(Query query) {
+        IndexedFilter bestFilter = null;
+        int bestEstimate = tasks.size();
+        for (Filter filter : query.getFilters()) {
+            if (!(filter instanceof IndexedFilter indexed)) {
+                continue;
+            }
+            int estimate = indexed.estimate(this);
+            if (estimate != IndexedFilter.NOT_INDEXED && (bestFilter == null || estimate < bestEstimate)) {
+                bestFilter = indexed;
+                bestEstimate = estimate;
+            }
+        }
+
+        List<Filter> bitmapFilters = query.getFilters().stream()
+                .filter(filter -> filter.getBitmapKey() != null)
+                .collect(Collectors.toList());
+        if (bitmapFilters.size() > 1) {
+            int bitmapEstimate = bitmapIndex.count(getBitmapKeys(bitmapFilters));
+            if (bitmapEstimate <= bestEstimate) {
+                return new QueryPlan(null, bitmapFilters, bitmapEstimate, query.getFilters().stream()
+                        .filter(filter -> filter.getBitmapKey() == null)
+                        .sorted(Comparator.comparingInt(Filter::cost))
+                        .collect(Collectors.toList()));
+            }
+        }
+
+        IndexedFilter indexedFilter = bestFilter;
+        List<Filter> predicates = query.getFilters().stream()
+                .filter(filter -> filter != indexedFilter)
+                .sorted(Comparator.comparingInt(Filter::cost))
+                .collect(Collectors.toList());
+        return new QueryPlan(indexedFilter, List.of(), bestEstimate, predicates);
+    }
+
+    private static List<String> getBitmapKeys(List<Filter> filters) {
+        return filters.stream().map(Filter::getBitmapKey).collect(Collectors.toList());
+    }
+
+    /**
+     * Runs a query and returns the positions of the matching tasks
+     * The positions of candidates from an index are looked up in the position map
+     * and sorted, so the cost depends on the number of candidates rather than the
+     * size of the list.
+     *
+     * @param plan The plan to run, from {@link #planQuery}
+     * @return Indices of matching tasks (0-based), in list order
+     */
+    public List<Integer> runQuery(QueryPlan plan) {
+        List<Integer> matches = new ArrayList<>();
+        if (plan.getBitmapFilters().isEmpty() && plan.getIndexedFilter() == null) {
+            for (int i = 0; i < tasks.size(); i++) {
+                if (matchesAll(plan.getPredicates(), tasks.get(i))) {
+                    matches.add(i);
+                }
+            }
+            return matches;
+        }
+
+        Collection<Task> candidates = plan.getBitmapFilters().isEmpty()
+                ? plan.getIndexedFilter().candidates(this)
+                : bitmapIndex.find(getBitmapKeys(plan.getBitmapFilters()));
+        for (Task candidate : candidates) {
+            if (matchesAll(plan.getPredicates(), candidate)) {
+                matches.add(positions.get(candidate));
+            }
+        }
+        Collections.sort(matches);
+        return matches;
+    }
+
+    private static boolean matchesAll(List<Filter> filters, Task task) {
+        for (Filter filter : filters) {
+            if (!filter.test(task)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    DateIndex getDateIndex() {
+        return dateIndex;
+    }
+
+    TrigramIndex getTrigramIndex() {
+        return trigramIndex;
+    }
+
+    BitmapIndex getBitmapIndex() {
+        return bitmapIndex;
+    }
+
+    /**
+     * Returns the one-letter code of a task's type, as used in queries and the data file.
+     *
+     * @param task The task.
+     * @return "T" for todos, "D" for deadlines, "E" for events.
+     */
+    static String getTypeCode(Task task) {
+        if (task instanceof Deadline) {
+            return "D";
+        }
+        if (task instanceof Event) {
+            return "E";
+        }
+        return "T";
+    }
+
+    private void indexTask(Task task) {
+        dateIndex.add(task);
+        eventIndex.add(task);
+        trigramIndex.add(task);
+        weekIndex.add(task);
+        deadlineQueue.add(task);
+        bitmapIndex.add(task);
+    }
+
+    private void unindexTask(Task task) {
+        dateIndex.remove(task);
+        eventIndex.remove(task);
+        trigramIndex.remove(task);
+        weekIndex.remove(task);
+        deadlineQueue.remove(task);
+        bitmapIndex.remove(task);
+    }
+
+    /**
+     * Searches task descriptions, tolerating typos, and ranks the results
+     * Queries of three or more characters are answered from the trigram index and
+     * match descriptions that share most of the query's letter sequences, so
+     * "homwork" finds "homework". Shorter queries fall back to a case-insensitive
+     * substring scan. Equally good matches are listed in list order.
+     *
+     * @param query The search query
+     * @param limit Maximum number of tasks to return
+     * @return Up to limit matching tasks, best match first
+     */
+    public List<Task> searchTasks(String query, int limit) {
+        assert limit > 0 : "Search limit must be positive";
+        if (TrigramIndex.canSearch(query)) {
+            return trigramIndex.search(query, limit, this::indexOf);
+        }
+
+        String lowerCaseQuery = query.toLowerCase();
+        return tasks.stream()
+                .filter(task -> task.getDescription().toLowerCase().contains(lowerCaseQuery))
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Gets the events whose times overlap a given event, including occurrences of
+     * recurring events. For a recurring event only its first occurrence is checked.
+     *
+     * @param event The event to check, which may already be in the list
+     * @return The other events that overlap it, ordered by start time
+     */
+    public List<Event> getConflictingEvents(Event event) {
+        return eventIndex.getOverlapping(event.getStart(), event.getEnd(), event);
+    }
+
+    /**
+     * Finds every pair of one-off events in the list whose times overlap
+     *
+     * @return Overlapping pairs of events, ordered by when the later event of each pair starts
+     */
+    public List<EventConflict> findConflicts() {
+        return eventIndex.findConflicts();
+    }
+
+    /**
+     * Gets the times within a range of days when no event is on, such as to find
+     * room for a new event. A gap that runs past midnight is returned as one slot.
+     *
+     * @param from      The first day of the range (inclusive)
+     * @param to        The last day of the range (inclusive)
+     * @param minLength The shortest slot to return
+     * @return Free slots at least minLength long, in time order
+     */
+    public List<TimeSlot> getFreeSlots(LocalDate from, LocalDate to, Duration minLength) {
+        return eventIndex.getFreeSlots(from.atStartOfDay(), to.plusDays(1).atStartOfDay(), minLength);
+    }
+
+    /**
+     * Gets counts of the tasks in the list by type and status, along with how
+     * many deadlines are overdue and how many of each recent week's tasks are done
+     * The counts are kept up to date as tasks change, so this does not scan the list.
+     * Overdue deadlines are counted from the same heap as {@link #getOverdueDeadlines}.
+     *
+     * @param now       The current time, for deciding which deadlines are overdue
+     * @param weekCount The number of weeks, up to and including the current one, to give completion counts for
+     * @return The counts
+     */
+    public TaskStats getStats(LocalDateTime now, int weekCount) {
+        return new TaskStats(bitmapIndex.count(BitmapIndex.typeKey("T")), bitmapIndex.count(BitmapIndex.typeKey("D")),
+                bitmapIndex.count(BitmapIndex.typeKey("E")), bitmapIndex.count(BitmapIndex.doneKey(true)),
+                deadlineQueue.getOverdue(now).size(),
+                weekIndex.getWeeks(now.toLocalDate(), weekCount));
+    }
+
+    /**
+     * Gets the deadlines that are not done and were due before the given time
+     * Answered from a heap of pending deadlines, so only the overdue ones are looked at.
+     * Recurring deadlines are not included.
+     *
+     * @param now The current time
+     * @return Overdue deadlines, the longest overdue first
+     */
+    public List<Deadline> getOverdueDeadlines(LocalDateTime now) {
+        return deadlineQueue.getOverdue(now);
+    }
+
+    /**
+     * Gets the position of a task in the list
+     * Positions are kept in a map that is updated along with the list, so this takes constant time.
+     *
+     * @param task The task to look for
+     * @return The index of the task (0-based), or -1 if it is not in the list
+     */
+    public int indexOf(Task task) {
+        return positions.getOrDefault(task, -1);
+    }
+
+    /**
+     * Records the positions of the tasks from the given index to the end of the list
+     * Called after tasks are inserted or removed there, which shifts the tasks after them
+     * just as the list itself does.
+     *
+     * @param start The first position that may have changed
+     */
+    private void renumberFrom(int start) {
+        for (int i = start; i < tasks.size(); i++) {
+            positions.put(tasks.get(i), i);
+        }
+    }
+
     /**
      * Validates whether the specified index exists in tasks
      *
@@ -192,7 +665,7 @@ public class TaskList {
      */
     private void validateIndex(int index) throws SnowyException {
         if (index < 0 || index >= tasks.size()) {
-            throw new SnowyException("Woof! That task number doesn't exist!");
+            throw new InvalidInputException("Woof! That task number doesn't exist!");
         }
     }
 }
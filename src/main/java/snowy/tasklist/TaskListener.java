@@ -0,0 +1,21 @@
+package snowy.tasklist;
+
+import java.util.List;
+
+/**
+ * Receives the changes made to a task list, such as to save them or to keep
+ * something derived from the list up to date without rescanning it.
+ */
+@FunctionalInterface
+public interface TaskListener {
+    /**
+     * Called after an operation changes the list, on the thread that changed it.
+     * Operations that change several tasks at once, such as archiving, deliver
+     * all of their events in one call. An exception thrown here is passed on to
+     * the code that changed the list once the other listeners have been called;
+     * the change itself stays made.
+     *
+     * @param events The changes, in the order they were made; never empty.
+     */
+    void tasksChanged(List<TaskEvent> events);
+}
@@ -0,0 +1,103 @@
+package snowy.tasklist;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * A snapshot of counts over a task list, as shown by the stats command.
+ */
+public class TaskStats {
+    private final int todoCount;
+    private final int deadlineCount;
+    private final int eventCount;
+    private final int doneCount;
+    private final int overdueCount;
+    private final List<Week> weeks;
+
+    /**
+     * Completion counts for the dated tasks that fall in one week.
+     */
+    public static class Week {
+        private final LocalDate start;
+        private final int taskCount;
+        private final int doneCount;
+
+        /**
+         * Creates a Week.
+         *
+         * @param start     The Monday the week starts on.
+         * @param taskCount The number of tasks dated in the week.
+         * @param doneCount The number of those tasks that are done.
+         */
+        public Week(LocalDate start, int taskCount, int doneCount) {
+            assert doneCount <= taskCount : "More tasks done than there are in the week";
+            this.start = start;
+            this.taskCount = taskCount;
+            this.doneCount = doneCount;
+        }
+
+        public LocalDate getStart() {
+            return start;
+        }
+
+        public int getTaskCount() {
+            return taskCount;
+        }
+
+        public int getDoneCount() {
+            return doneCount;
+        }
+    }
+
+    /**
+     * Creates a TaskStats.
+     *
+     * @param todoCount     The number of todos.
+     * @param deadlineCount The number of deadlines.
+     * @param eventCount    The number of events.
+     * @param doneCount     The number of tasks that are done.
+     * @param overdueCount  The number of deadlines that are past due and not done.
+     * @param weeks         Completion counts for recent weeks, earliest first.
+     */
+    public TaskStats(int todoCount, int deadlineCount, int eventCount, int doneCount, int overdueCount,
+            List<Week> weeks) {
+        this.todoCount = todoCount;
+        this.deadlineCount = deadlineCount;
+        this.eventCount = eventCount;
+        this.doneCount = doneCount;
+        this.overdueCount = overdueCount;
+        this.weeks = weeks;
+    }
+
+    public int getTodoCount() {
+        return todoCount;
+    }
+
+    public int getDeadlineCount() {
+        return deadlineCount;
+    }
+
+    public int getEventCount() {
+        return eventCount;
+    }
+
+    public int getTaskCount() {
+        return todoCount + deadlineCount + eventCount;
+    }
+
+    public int getDoneCount() {
+        return doneCount;
+    }
+
+    public int getPendingCount() {
+        return getTaskCount() - doneCount;
+    }
+
+    public int getOverdueCount() {
+        return overdueCount;
+    }
+
+    public List<Week> getWeeks() {
+        return weeks;
+    }
+}
@@ -0,0 +1,36 @@
+package snowy.tasklist;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Represents a span of time with no events in it.
+ */
+public class TimeSlot {
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+
+    /**
+     * Creates a TimeSlot.
+     *
+     * @param start The start of the slot.
+     * @param end   The end of the slot, after its start.
+     */
+    public TimeSlot(LocalDateTime start, LocalDateTime end) {
+        assert start.isBefore(end) : "A time slot must end after it starts";
+        this.start = start;
+        this.end = end;
+    }
+
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    public LocalDateTime getEnd() {
+        return end;
+    }
+
+    public Duration getLength() {
+        return Duration.between(start, end);
+    }
+}
@@ -0,0 +1,175 @@
+package snowy.tasklist;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+
+import snowy.task.Task;
+
+/**
+ * Index of task descriptions by their three-letter fragments (trigrams), used
+ * for typo-tolerant search. A query is broken into trigrams and only tasks that
+ * share at least one of them are considered, so a search never has to look at
+ * tasks that have nothing in common with the query.
+ *
+ * <p>A candidate's score is the fraction of the query's trigrams found in its
+ * description. Any description that contains the query exactly scores 1 and is
+ * ranked above inexact matches with the same score. Candidates with equal
+ * scores are ranked by their position in the list.</p>
+ */
+class TrigramIndex {
+    /** Minimum fraction of query trigrams a description must share to be returned. */
+    static final double MIN_SCORE = 0.5;
+
+    private static final int GRAM_LENGTH = 3;
+    private static final double EXACT_MATCH_BONUS = 0.5;
+
+    private final Map<String, Set<Task>> tasksByGram = new HashMap<>();
+
+    /**
+     * Adds a task's description to the index.
+     *
+     * @param task The task to index.
+     */
+    void add(Task task) {
+        for (String gram : getTrigrams(" " + normalize(task.getDescription()) + " ")) {
+            tasksByGram.computeIfAbsent(gram, g -> Collections.newSetFromMap(new IdentityHashMap<>())).add(task);
+        }
+    }
+
+    /**
+     * Removes a task's description from the index.
+     *
+     * @param task The task to remove.
+     */
+    void remove(Task task) {
+        for (String gram : getTrigrams(" " + normalize(task.getDescription()) + " ")) {
+            Set<Task> postings = tasksByGram.get(gram);
+            if (postings != null) {
+                postings.remove(task);
+                if (postings.isEmpty()) {
+                    tasksByGram.remove(gram);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns whether the query is long enough to be answered from the index.
+     *
+     * @param query The search query.
+     * @return true if the query has at least one trigram.
+     */
+    static boolean canSearch(String query) {
+        return normalize(query).length() >= GRAM_LENGTH;
+    }
+
+    /**
+     * Returns the tasks whose descriptions best match the query, best match first.
+     *
+     * @param query    The search query, at least three characters long.
+     * @param limit    Maximum number of tasks to return.
+     * @param position Gives each task's position in the list, to break ties between equal scores.
+     * @return Up to limit matching tasks, ranked by similarity.
+     */
+    List<Task> search(String query, int limit, ToIntFunction<Task> position) {
+        assert canSearch(query) : "Query is too short for trigram search";
+        String normalizedQuery = normalize(query);
+        Set<String> queryGrams = getTrigrams(normalizedQuery);
+
+        Map<Task, Integer> sharedGrams = new IdentityHashMap<>();
+        for (String gram : queryGrams) {
+            for (Task task : tasksByGram.getOrDefault(gram, Set.of())) {
+                sharedGrams.merge(task, 1, Integer::sum);
+            }
+        }
+
+        // Keep only the best `limit` candidates in a min-heap instead of sorting all of them;
+        // the worst candidate is on top, which among equal scores is the one furthest down the list
+        Comparator<Map.Entry<Task, Double>> worstFirst = Map.Entry.<Task, Double>comparingByValue()
+                .thenComparing(entry -> position.applyAsInt(entry.getKey()), Comparator.reverseOrder());
+        PriorityQueue<Map.Entry<Task, Double>> best = new PriorityQueue<>(worstFirst);
+        for (Map.Entry<Task, Integer> entry : sharedGrams.entrySet()) {
+            double score = (double) entry.getValue() / queryGrams.size();
+            if (score < MIN_SCORE) {
+                continue;
+            }
+            if (normalize(entry.getKey().getDescription()).contains(normalizedQuery)) {
+                score += EXACT_MATCH_BONUS;
+            }
+            best.add(Map.entry(entry.getKey(), score));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+
+        List<Task> results = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            results.add(best.poll().getKey());
+        }
+        Collections.reverse(results);
+        return results;
+    }
+
+    /**
+     * Returns the size of the smallest posting list among the query's trigrams.
+     * Every description containing the query appears in that list, so this is an
+     * upper bound on the number of exact matches.
+     *
+     * @param query The keyword, at least three characters long.
+     * @return Estimated number of descriptions containing the keyword.
+     */
+    int estimateContaining(String query) {
+        return getSmallestPostings(query).size();
+    }
+
+    /**
+     * Returns the tasks whose descriptions contain the query, ignoring case.
+     * Only the smallest posting list among the query's trigrams is checked.
+     *
+     * @param query The keyword, at least three characters long.
+     * @return Tasks whose descriptions contain the keyword.
+     */
+    List<Task> findContaining(String query) {
+        String normalizedQuery = normalize(query);
+        List<Task> result = new ArrayList<>();
+        for (Task task : getSmallestPostings(query)) {
+            if (normalize(task.getDescription()).contains(normalizedQuery)) {
+                result.add(task);
+            }
+        }
+        return result;
+    }
+
+    private Set<Task> getSmallestPostings(String query) {
+        assert canSearch(query) : "Query is too short for trigram search";
+        Set<Task> smallest = null;
+        for (String gram : getTrigrams(normalize(query))) {
+            Set<Task> postings = tasksByGram.getOrDefault(gram, Set.of());
+            if (smallest == null || postings.size() < smallest.size()) {
+                smallest = postings;
+            }
+        }
+        return smallest;
+    }
+
+    private static String normalize(String text) {
+        return text.trim().toLowerCase();
+    }
+
+    private static Set<String> getTrigrams(String text) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+}
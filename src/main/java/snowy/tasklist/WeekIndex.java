@@ -0,0 +1,95 @@
+package snowy.tasklist;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import snowy.task.Recurring;
+import snowy.task.Task;
+
+/**
+ * Running counts of dated tasks, bucketed by the week they fall in, so that
+ * completion rates can be reported without scanning the list. Deadlines fall
+ * in the week they are due and events in the week they start. Overdue
+ * deadlines are found by {@link DeadlineQueue} instead.
+ * Recurring tasks have no single date and are left out.
+ */
+class WeekIndex {
+    private final TreeMap<LocalDate, Bucket> buckets = new TreeMap<>();
+
+    private static class Bucket {
+        private int taskCount;
+        private int doneCount;
+
+        private boolean isEmpty() {
+            return taskCount == 0;
+        }
+    }
+
+    /**
+     * Adds a task to the counts, as it is now. Tasks without a date are ignored.
+     *
+     * @param task The task to count.
+     */
+    void add(Task task) {
+        if (!isCounted(task)) {
+            return;
+        }
+        Bucket bucket = buckets.computeIfAbsent(getWeekStart(task.getDate().toLocalDate()), week -> new Bucket());
+        bucket.taskCount++;
+        if (task.isDone()) {
+            bucket.doneCount++;
+        }
+    }
+
+    /**
+     * Removes a task from the counts. The task must not have changed since it was added.
+     *
+     * @param task The task to stop counting.
+     */
+    void remove(Task task) {
+        if (!isCounted(task)) {
+            return;
+        }
+        LocalDate week = getWeekStart(task.getDate().toLocalDate());
+        Bucket bucket = buckets.get(week);
+        assert bucket != null : "Task should have been counted before being removed";
+        bucket.taskCount--;
+        if (task.isDone()) {
+            bucket.doneCount--;
+        }
+        if (bucket.isEmpty()) {
+            buckets.remove(week);
+        }
+    }
+
+    /**
+     * Returns the completion counts for the weeks with tasks among the given
+     * number of weeks up to and including the one containing the given date.
+     *
+     * @param today     A date in the last week to include.
+     * @param weekCount The number of weeks to look back over, including the last.
+     * @return Counts for each week with tasks, earliest first.
+     */
+    List<TaskStats.Week> getWeeks(LocalDate today, int weekCount) {
+        LocalDate lastWeek = getWeekStart(today);
+        List<TaskStats.Week> weeks = new ArrayList<>();
+        for (Map.Entry<LocalDate, Bucket> entry
+                : buckets.subMap(lastWeek.minusWeeks(weekCount - 1), true, lastWeek, true).entrySet()) {
+            weeks.add(new TaskStats.Week(entry.getKey(), entry.getValue().taskCount, entry.getValue().doneCount));
+        }
+        return weeks;
+    }
+
+    private static boolean isCounted(Task task) {
+        return !(task instanceof Recurring) && task.getDate() != null;
+    }
+
+    private static LocalDate getWeekStart(LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+}
@@ -0,0 +1,63 @@
+package snowy.workspace;
+
+import snowy.exception.SnowyException;
+import snowy.history.History;
+import snowy.storage.Storage;
+import snowy.tasklist.TaskList;
+
+/**
+ * Represents one named task list together with its own storage file,
+ * indexes and undo history.
+ */
+public class Workspace {
+    private final String name;
+    private final Storage storage;
+    private final TaskList tasks;
+    private final History history = new History();
+
+    private Workspace(String name, Storage storage, TaskList tasks) {
+        this.name = name;
+        this.storage = storage;
+        this.tasks = tasks;
+    }
+
+    /**
+     * Loads a workspace from its storage file, creating the file if it does not exist yet.
+     * If the file cannot be read, the storage is closed and the error is passed on, rather
+     * than starting with an empty task list that the next change would save over the file.
+     *
+     * @param name    The name of the workspace.
+     * @param storage The storage holding the workspace's tasks.
+     * @return The loaded workspace.
+     * @throws SnowyException If the tasks cannot be loaded.
+     */
+    public static Workspace load(String name, Storage storage) throws SnowyException {
+        try {
+            storage.initialize();
+            return new Workspace(name, storage, new TaskList(storage.load()));
+        } catch (SnowyException e) {
+            try {
+                storage.close();
+            } catch (SnowyException closeError) {
+                e.addSuppressed(closeError);
+            }
+            throw e;
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Storage getStorage() {
+        return storage;
+    }
+
+    public TaskList getTasks() {
+        return tasks;
+    }
+
+    public History getHistory() {
+        return history;
+    }
+}
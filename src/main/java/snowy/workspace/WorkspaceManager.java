@@ -0,0 +1,153 @@
+package snowy.workspace;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import snowy.exception.InvalidInputException;
+import snowy.exception.SnowyException;
+import snowy.storage.Storage;
+import snowy.task.DescriptionPool;
+
+/**
+ * Keeps track of the named task lists (workspaces) stored in one directory.
+ * Each workspace is stored in its own file, {@code <name>.txt} (or an H2 database
+ * named after it, see {@link Storage#create}), and is only
+ * loaded the first time it is used. To bound memory use, the manager keeps at
+ * most a configurable number of tasks loaded across all workspaces and unloads
+ * the least recently used workspaces beyond that. Every change is saved as it
+ * is made, so an unloaded workspace loses nothing and is simply read again on
+ * its next use; its storage is closed when it is unloaded. Names typed by the
+ * user are limited to letters, digits, '-' and '_'; the file Snowy is started
+ * with may have any name.
+ */
+public class WorkspaceManager {
+    /** Default maximum number of tasks kept loaded across all workspaces. */
+    public static final int DEFAULT_MAX_LOADED_TASKS = 100_000;
+
+    private static final String FILE_EXTENSION = ".txt";
+
+    private final Path directory;
+    private final DescriptionPool descriptionPool;
+    private final int maxLoadedTasks;
+    private final Map<String, Path> openedFiles = new HashMap<>();
+    private final LinkedHashMap<String, Workspace> loaded = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Creates a manager for the workspaces stored in the given directory.
+     *
+     * @param directory       Directory holding the workspace files.
+     * @param descriptionPool Pool used to share repeated descriptions across workspaces.
+     * @param maxLoadedTasks  Maximum number of tasks kept loaded before workspaces are unloaded.
+     */
+    public WorkspaceManager(Path directory, DescriptionPool descriptionPool, int maxLoadedTasks) {
+        assert maxLoadedTasks > 0 : "Memory budget must be positive";
+        this.directory = directory;
+        this.descriptionPool = descriptionPool;
+        this.maxLoadedTasks = maxLoadedTasks;
+    }
+
+    /**
+     * Returns the name of the workspace stored in the given file.
+     *
+     * @param filePath Path to a workspace file.
+     * @return The file name without its extension.
+     */
+    public static String getWorkspaceName(Path filePath) {
+        String fileName = filePath.getFileName().toString();
+        return fileName.endsWith(FILE_EXTENSION)
+                ? fileName.substring(0, fileName.length() - FILE_EXTENSION.length())
+                : fileName;
+    }
+
+    /**
+     * Returns the workspace stored in the given file, loading it if necessary.
+     * The file name is not checked against the rules for list names, and the
+     * workspace keeps using this file if it is unloaded and used again.
+     *
+     * @param file A task file in this manager's directory.
+     * @return The workspace.
+     * @throws SnowyException If the file cannot be loaded.
+     */
+    public Workspace open(Path file) throws SnowyException {
+        String name = getWorkspaceName(file);
+        openedFiles.put(name, file);
+        return get(name);
+    }
+
+    /**
+     * Returns the workspace with the given name, loading it if necessary.
+     * Other workspaces may be unloaded to stay within the memory budget.
+     *
+     * @param name The name of the workspace.
+     * @return The workspace.
+     * @throws SnowyException If the name is not a valid workspace name, or the workspace cannot be loaded.
+     */
+    public Workspace get(String name) throws SnowyException {
+        Path openedFile = openedFiles.get(name);
+        if (openedFile == null && !name.matches("[A-Za-z0-9_-]+")) {
+            throw new InvalidInputException("Woof! List names can only contain letters, digits, '-' and '_'!");
+        }
+
+        Workspace workspace = loaded.get(name);
+        if (workspace == null) {
+            Storage storage = openedFile == null
+                    ? Storage.create(directory, name, descriptionPool)
+                    : Storage.create(openedFile, descriptionPool);
+            workspace = Workspace.load(name, storage);
+            loaded.put(name, workspace);
+        }
+        unloadLeastRecentlyUsed(workspace);
+        return workspace;
+    }
+
+    /**
+     * Unloads the workspace with the given name, if it is loaded, so that it is
+     * read again from its file on its next use.
+     *
+     * @param name The name of the workspace.
+     */
+    public void unload(String name) {
+        Workspace workspace = loaded.remove(name);
+        if (workspace != null) {
+            close(workspace);
+        }
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Returns the names of the workspaces currently loaded, least recently used first.
+     *
+     * @return Names of loaded workspaces.
+     */
+    public Set<String> getLoadedNames() {
+        return loaded.keySet();
+    }
+
+    private void unloadLeastRecentlyUsed(Workspace inUse) {
+        int loadedTasks = loaded.values().stream().mapToInt(workspace -> workspace.getTasks().size()).sum();
+        Iterator<Map.Entry<String, Workspace>> iterator = loaded.entrySet().iterator();
+        while (loadedTasks > maxLoadedTasks && iterator.hasNext()) {
+            Workspace workspace = iterator.next().getValue();
+            if (workspace != inUse) {
+                loadedTasks -= workspace.getTasks().size();
+                iterator.remove();
+                close(workspace);
+            }
+        }
+    }
+
+    private static void close(Workspace workspace) {
+        try {
+            workspace.getStorage().close();
+        } catch (SnowyException e) {
+            // Everything was saved already; the storage is released when the process exits
+        }
+    }
+}
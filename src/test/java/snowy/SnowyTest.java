@@ -0,0 +1,286 @@
+package snowy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * JUnit tests for Snowy class.
+ */
+public class SnowyTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void reloadExternalChanges_lineEditedByHand_onlyThatTaskReplaced() throws IOException {
+        Path file = tempDir.resolve("tasks.txt");
+        Files.write(file, List.of("T | 0 | read book", "T | 0 | return book", "T | 0 | buy milk"));
+        Snowy snowy = new Snowy(file.toString());
+
+        Files.write(file, List.of("T | 0 | read book", "T | 1 | return book", "T | 0 | buy milk", "T | 0 | walk"));
+        String message = snowy.reloadExternalChanges(file);
+
+        assertTrue(message.contains("tasks.txt was changed outside Snowy"));
+        String list = snowy.getResponse("list");
+        assertTrue(list.contains("2. [T][X]  return book"));
+        assertTrue(list.contains("walk"));
+    }
+
+    @Test
+    public void constructor_dottedAndSpacedFileNames_fileUsedAsIs() throws IOException {
+        for (String fileName : List.of("my.tasks.dat", "my tasks.txt")) {
+            Path file = tempDir.resolve(fileName);
+            Files.write(file, List.of("T | 0 | read book"));
+            Snowy snowy = new Snowy(file.toString());
+
+            assertTrue(snowy.getResponse("list").contains("1. [T][ ]  read book"));
+            snowy.getResponse("todo buy milk");
+            assertEquals(List.of("T | 0 | read book", "T | 0 | buy milk"), Files.readAllLines(file));
+        }
+    }
+
+    @Test
+    public void reloadExternalChanges_ownSave_nothingToMerge() {
+        Path file = tempDir.resolve("tasks.txt");
+        Snowy snowy = new Snowy(file.toString());
+        snowy.getResponse("todo read book");
+
+        assertNull(snowy.reloadExternalChanges(file));
+    }
+
+    @Test
+    public void getResponse_changesAndUndo_savedThroughListener() throws IOException {
+        Path file = tempDir.resolve("tasks.txt");
+        Snowy snowy = new Snowy(file.toString());
+        snowy.getResponse("todo read book");
+        snowy.getResponse("todo buy milk");
+        snowy.getResponse("mark 1");
+        snowy.getResponse("delete 2");
+        assertEquals(List.of("T | 1 | read book"), Files.readAllLines(file));
+
+        snowy.getResponse("undo");
+        snowy.getResponse("priority 2 high");
+        assertEquals(List.of("T | 1 | read book", "T | 0 | buy milk | P:HIGH"), Files.readAllLines(file));
+    }
+
+    @Test
+    public void getResponse_findAllAfterArchiveChangedOutside_newArchiveSearched() throws IOException {
+        Snowy snowy = new Snowy(tempDir.resolve("tasks.txt").toString());
+        snowy.getResponse("todo read book");
+        assertFalse(snowy.getResponse("find --all book").contains("return book"));
+
+        Files.write(tempDir.resolve("tasks.archive.txt"), List.of("T | 1 | return book"));
+
+        assertTrue(snowy.getResponse("find --all book").contains("return book"));
+    }
+
+    @Test
+    public void getResponse_relabelsUndoneThenRedone_newLabelsBack() {
+        Snowy snowy = new Snowy(tempDir.resolve("tasks.txt").toString());
+        snowy.getResponse("todo read book");
+        snowy.getResponse("tag 1 work");
+        snowy.getResponse("priority 1 high");
+
+        for (String command : List.of("undo", "undo", "redo", "redo")) {
+            snowy.getResponse(command);
+        }
+
+        String list = snowy.getResponse("list");
+        assertTrue(list.contains("#work"));
+        assertTrue(list.contains("!high"));
+    }
+
+    @Test
+    public void getResponse_saveFails_changeKeptAndUndoable() throws IOException {
+        Path file = tempDir.resolve("tasks.txt");
+        Snowy snowy = new Snowy(file.toString());
+        snowy.getResponse("todo read book");
+        Files.delete(file);
+        Files.createDirectory(file);
+
+        assertTrue(snowy.getResponse("todo buy milk").startsWith("Error accessing tasks"));
+        assertTrue(snowy.getResponse("list").contains("2. [T][ ]  buy milk"));
+
+        snowy.getResponse("undo");
+        assertFalse(snowy.getResponse("list").contains("buy milk"));
+        snowy.getResponse("redo");
+        assertTrue(snowy.getResponse("list").contains("2. [T][ ]  buy milk"));
+    }
+
+    @Test
+    public void save_afterUnmergedOutsideAppend_bothAppendsKept() throws IOException {
+        Path file = tempDir.resolve("tasks.txt");
+        Snowy snowy = new Snowy(file.toString());
+        snowy.getResponse("todo read book");
+
+        Files.write(file, List.of("T | 0 | read book", "T | 0 | added by hand"));
+        snowy.getResponse("todo buy milk");
+
+        assertEquals(List.of("T | 0 | read book", "T | 0 | added by hand", "T | 0 | buy milk"),
+                Files.readAllLines(file));
+        assertTrue(snowy.getResponse("list").contains("3. [T][ ]  buy milk"));
+    }
+
+    @Test
+    public void save_outsideEditToSameTask_rejectedAndListReloaded() throws IOException {
+        Path file = tempDir.resolve("tasks.txt");
+        Snowy snowy = new Snowy(file.toString());
+        snowy.getResponse("todo read book");
+
+        Files.write(file, List.of("T | 1 | read book"));
+        String response = snowy.getResponse("delete 1");
+
+        assertTrue(response.contains("Another Snowy changed the same tasks"));
+        assertEquals(List.of("T | 1 | read book"), Files.readAllLines(file));
+        assertTrue(snowy.getResponse("list").contains("1. [T][X]  read book"));
+    }
+
+    @Test
+    public void runBatch_quiet_onlyFailuresShownAndTasksSaved() throws IOException {
+        Path file = tempDir.resolve("tasks.txt");
+        Path commands = tempDir.resolve("commands.txt");
+        Files.write(commands, List.of("# weekly chores", "todo read book", "todo buy milk", "mark 2", "mark 9"));
+        Snowy snowy = new Snowy(file.toString());
+
+        List<String> output = new ArrayList<>();
+        String summary = snowy.runBatch(commands, true, output::add);
+
+        assertEquals(List.of("Line 5: Woof! That task number doesn't exist!"), output);
+        assertTrue(summary.startsWith("Woof! Ran 4 command(s) from commands.txt"));
+        assertTrue(summary.endsWith("1 failed."));
+        assertEquals(List.of("T | 0 | read book", "T | 1 | buy milk"), Files.readAllLines(file));
+    }
+
+    @Test
+    public void runBatch_unknownAndInvalidCommands_countedAsFailed() throws IOException {
+        Path commands = tempDir.resolve("commands.txt");
+        Files.write(commands, List.of("todo read book", "fetch ball", "todo", "list"));
+        Snowy snowy = new Snowy(tempDir.resolve("tasks.txt").toString());
+
+        List<String> output = new ArrayList<>();
+        String summary = snowy.runBatch(commands, true, output::add);
+
+        assertEquals(List.of("Line 2: Woof! I don't understand that command. :(",
+                "Line 3: Woof woof! The description of a ToDo cannot be empty!"), output);
+        assertTrue(summary.endsWith("2 failed."));
+    }
+
+    @Test
+    public void runBatch_switchesList_changesToFirstListSaved() throws IOException {
+        Path file = tempDir.resolve("tasks.txt");
+        Path commands = tempDir.resolve("commands.txt");
+        Files.write(commands, List.of("todo read book", "use work", "todo write report", "bye", "todo skipped"));
+        Snowy snowy = new Snowy(file.toString());
+
+        List<String> output = new ArrayList<>();
+        snowy.runBatch(commands, false, output::add);
+
+        assertEquals(4, output.size());
+        assertEquals(List.of("T | 0 | read book"), Files.readAllLines(file));
+        assertEquals(List.of("T | 0 | write report"), Files.readAllLines(tempDir.resolve("work.txt")));
+    }
+
+    @Test
+    public void getResponse_runCommandInsideCommandFile_rejected() throws IOException {
+        Path commands = tempDir.resolve("commands.txt");
+        Files.write(commands, List.of("run commands.txt", "todo read book"));
+        Snowy snowy = new Snowy(tempDir.resolve("tasks.txt").toString());
+
+        String response = snowy.getResponse("run " + commands);
+
+        assertTrue(response.contains("Line 1: Woof! A command file can't run another command file."));
+        assertTrue(response.contains("Line 2: Got it. I've added this task:"));
+    }
+
+    @Test
+    public void getResponse_overlappingEvents_clashReportedAndListed() {
+        Snowy snowy = new Snowy(tempDir.resolve("tasks.txt").toString());
+        snowy.getResponse("event standup /from 2026-03-02 0900 /to 2026-03-02 1000");
+
+        String added = snowy.getResponse("event review /from 2026-03-02 0930 /to 2026-03-02 1100");
+        String conflicts = snowy.getResponse("conflicts");
+
+        assertTrue(added.contains("Woof! Heads up, this clashes with:\n- [E][ ]  standup"));
+        assertTrue(conflicts.startsWith("Woof! These events overlap:\n1. [E][ ]  standup"));
+        assertTrue(conflicts.contains("\n   [E][ ]  review"));
+    }
+
+    @Test
+    public void getResponse_free_gapsAroundEventsListed() {
+        Snowy snowy = new Snowy(tempDir.resolve("tasks.txt").toString());
+        snowy.getResponse("event lecture /from 2026-03-02 0900 /to 2026-03-02 1100");
+
+        String response = snowy.getResponse("free 2026-03-02 2h");
+
+        assertEquals("Here are your free slots of 2h or longer:\n"
+                + "1. Mar 02 2026 00:00 to 09:00\n"
+                + "2. Mar 02 2026 11:00 to Mar 03 2026 00:00", response);
+    }
+
+    @Test
+    public void getResponse_stats_countsShown() {
+        Snowy snowy = new Snowy(tempDir.resolve("tasks.txt").toString());
+        assertEquals("Woof! You don't have any tasks to count yet.", snowy.getResponse("stats"));
+        snowy.getResponse("todo read book");
+        snowy.getResponse("todo buy milk");
+        snowy.getResponse("deadline report /by 2020-01-01 1200");
+        snowy.getResponse("mark 1");
+
+        assertEquals("Here are your task stats:\n"
+                + "Tasks: 3 (2 todos, 1 deadlines, 0 events)\n"
+                + "Done: 1, pending: 2 (33% done)\n"
+                + "Overdue deadlines: 1", snowy.getResponse("stats"));
+    }
+
+    @Test
+    public void getResponse_overdue_pastPendingDeadlinesListed() {
+        Snowy snowy = new Snowy(tempDir.resolve("tasks.txt").toString());
+        assertEquals("Woof! Nothing is overdue. Good job!", snowy.getResponse("overdue"));
+        snowy.getResponse("deadline report /by 2020-01-01 1200");
+        snowy.getResponse("deadline essay /by 2019-06-01 1200");
+        snowy.getResponse("deadline taxes /by 2018-04-15 1200");
+        snowy.getResponse("mark 3");
+
+        String response = snowy.getResponse("overdue");
+
+        assertTrue(response.startsWith("These deadlines have passed:\n1. "));
+        assertTrue(response.indexOf("essay") < response.indexOf("report"));
+        assertFalse(response.contains("taxes"));
+        assertTrue(snowy.getWelcome().contains("You have 2 overdue deadline(s)."));
+    }
+
+    @Test
+    public void getResponse_priorityAndTags_findsTaggedTasksAndUndoes() {
+        Snowy snowy = new Snowy(tempDir.resolve("tasks.txt").toString());
+        snowy.getResponse("todo write report");
+        snowy.getResponse("todo buy milk");
+        snowy.getResponse("todo plan offsite");
+
+        assertEquals("Got it. I've tagged this task:\n[T][ ]  write report #client #work",
+                snowy.getResponse("tag 1 work client"));
+        snowy.getResponse("tag 3 work");
+        assertEquals("Got it. I've set the priority of this task to high:\n[T][ ]  write report !high #client #work",
+                snowy.getResponse("priority 1 high"));
+        snowy.getResponse("untag 1 client");
+
+        String response = snowy.getResponse("find priority:high #work done:0");
+        assertTrue(response.contains("1. [T][ ]  write report !high #work"));
+        assertFalse(response.contains("offsite"));
+
+        snowy.getResponse("undo");
+        snowy.getResponse("undo");
+        assertTrue(snowy.getResponse("list").contains("1. [T][ ]  write report #client #work\n"));
+        assertTrue(new Snowy(tempDir.resolve("tasks.txt").toString()).getResponse("list")
+                .contains("1. [T][ ]  write report #client #work\n"));
+    }
+}
@@ -0,0 +1,70 @@
+package snowy.batch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import snowy.exception.SnowyException;
+
+/**
+ * JUnit tests for CommandReader class.
+ */
+public class CommandReaderTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void next_blankAndCommentLines_skippedWithLineNumbersKept() throws IOException {
+        Path file = tempDir.resolve("commands.txt");
+        Files.write(file, List.of("# set up", "todo read book", "", "  mark 1  "));
+
+        try (CommandReader reader = new CommandReader(file)) {
+            reader.start();
+            BatchCommand first = reader.next();
+            assertEquals(2, first.getLineNumber());
+            assertEquals("todo read book", first.getInput());
+            assertEquals("todo", first.getCommand());
+
+            BatchCommand second = reader.next();
+            assertEquals(4, second.getLineNumber());
+            assertEquals("mark 1", second.getInput());
+            assertEquals("mark", second.getCommand());
+
+            assertNull(reader.next());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    public void next_moreCommandsThanQueueHolds_allReturnedInOrder() throws IOException {
+        Path file = tempDir.resolve("commands.txt");
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            lines.add("todo task " + i);
+        }
+        Files.write(file, lines);
+
+        try (CommandReader reader = new CommandReader(file)) {
+            reader.start();
+            for (int i = 0; i < 5000; i++) {
+                assertEquals("todo task " + i, reader.next().getInput());
+            }
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    public void start_missingFile_throwsException() {
+        CommandReader reader = new CommandReader(tempDir.resolve("missing.txt"));
+        assertThrows(SnowyException.class, reader::start);
+    }
+}
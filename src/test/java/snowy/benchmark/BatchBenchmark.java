@@ -0,0 +1,69 @@
+package snowy.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import snowy.Snowy;
+
+/**
+ * Measures command throughput when a generated command file is fed to Snowy
+ * line by line, saving after every change, and when it is run as a batch that
+ * reads ahead and saves only at checkpoints.
+ * Run with {@code ./gradlew benchmark -Pbench=BatchBenchmark}.
+ */
+public class BatchBenchmark {
+    private static final int COMMAND_COUNT = 5_000;
+
+    /**
+     * Runs the benchmark and prints the results.
+     *
+     * @param args Unused.
+     * @throws IOException If the temporary files cannot be created.
+     */
+    public static void main(String[] args) throws IOException {
+        List<String> commands = createCommands();
+        Path commandFile = Files.createTempFile("snowy-commands", ".txt");
+        Files.write(commandFile, commands);
+
+        Snowy lineByLine = new Snowy(Files.createTempDirectory("snowy-lines").resolve("tasks.txt").toString());
+        long lineNanos = time(() -> commands.forEach(lineByLine::getResponse));
+
+        Snowy batch = new Snowy(Files.createTempDirectory("snowy-batch").resolve("tasks.txt").toString());
+        long batchNanos = time(() -> batch.runBatch(commandFile, true, line -> { }));
+
+        System.out.printf("Ran %d commands%n", COMMAND_COUNT);
+        System.out.printf("  line by line: %10.0f commands/s%n", COMMAND_COUNT / (lineNanos / 1e9));
+        System.out.printf("  batch:        %10.0f commands/s%n", COMMAND_COUNT / (batchNanos / 1e9));
+        System.out.printf("  speedup:      %10.1fx%n", (double) lineNanos / batchNanos);
+    }
+
+    private static List<String> createCommands() {
+        List<String> commands = new ArrayList<>(COMMAND_COUNT);
+        for (int i = 0; i < COMMAND_COUNT; i++) {
+            switch (i % 4) {
+            case 0:
+                commands.add("todo read chapter " + i);
+                break;
+            case 1:
+                commands.add("deadline pset " + i + " /by 2026-12-01 2359");
+                break;
+            case 2:
+                commands.add("mark " + (i / 2));
+                break;
+            default:
+                commands.add("find chapter");
+                break;
+            }
+        }
+        return commands;
+    }
+
+    private static long time(Runnable action) {
+        long start = System.nanoTime();
+        action.run();
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,71 @@
+package snowy.benchmark;
+
+import java.lang.ref.Reference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import snowy.storage.FlatFileStorage;
+import snowy.task.DescriptionPool;
+import snowy.task.Task;
+
+/**
+ * Measures how much heap the description pool saves when loading a task file:
+ * the file is loaded once without the pool and once with it, and the heap
+ * retained by each loaded list is compared. Also reports the pool's hit rate.
+ * Pass the path of a real task file to measure it; otherwise a file of
+ * repeated descriptions is generated. The file is copied first, so it is
+ * never changed.
+ * Run with {@code ./gradlew benchmark -Pbench=DescriptionPoolBenchmark --args=data/tasks.txt}.
+ */
+public class DescriptionPoolBenchmark {
+    private static final int TASK_COUNT = 100_000;
+    private static final int DISTINCT_DESCRIPTIONS = 200;
+
+    /**
+     * Runs the benchmark and prints the results.
+     *
+     * @param args The task file to measure, or nothing to generate one.
+     * @throws Exception If the file cannot be read.
+     */
+    public static void main(String[] args) throws Exception {
+        Path directory = Files.createTempDirectory("snowy-pool");
+        Path file = directory.resolve("tasks.txt");
+        if (args.length > 0) {
+            Files.copy(Path.of(args[0]), file);
+        } else {
+            List<String> lines = new ArrayList<>(TASK_COUNT);
+            for (int i = 0; i < TASK_COUNT; i++) {
+                lines.add("T | " + (i % 2) + " | review PRs for pset " + (i % DISTINCT_DESCRIPTIONS));
+            }
+            Files.write(file, lines);
+        }
+
+        long heapBefore = usedHeap();
+        ArrayList<Task> unpooled = new FlatFileStorage(file.toString(), new DescriptionPool(0)).load();
+        long unpooledHeap = usedHeap() - heapBefore;
+        Reference.reachabilityFence(unpooled);
+        unpooled = null;
+
+        DescriptionPool pool = new DescriptionPool();
+        heapBefore = usedHeap();
+        ArrayList<Task> pooled = new FlatFileStorage(file.toString(), pool).load();
+        long pooledHeap = usedHeap() - heapBefore;
+        Reference.reachabilityFence(pooled);
+
+        System.out.printf("Loaded %d tasks from %s%n", pooled.size(), args.length > 0 ? args[0] : "generated file");
+        System.out.printf("  pool hit rate:   %8.1f%% (%d entries)%n", pool.getHitRate() * 100, pool.size());
+        System.out.printf("  heap without:    %8.2f MB%n", unpooledHeap / 1e6);
+        System.out.printf("  heap with pool:  %8.2f MB%n", pooledHeap / 1e6);
+        System.out.printf("  heap saved:      %8.2f MB%n", (unpooledHeap - pooledHeap) / 1e6);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,88 @@
+package snowy.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Function;
+
+import snowy.Snowy;
+import snowy.exception.InvalidInputException;
+import snowy.exception.SnowyException;
+
+/**
+ * Measures how much rejecting bad commands costs, first for a single error
+ * thrown from a call stack about as deep as a command handler's, with and
+ * without a stack trace, and then for a stream of mostly invalid commands run
+ * through Snowy the way a script would.
+ * Run with {@code ./gradlew benchmark -Pbench=ErrorBenchmark}.
+ */
+public class ErrorBenchmark {
+    private static final int THROWS = 1_000_000;
+    private static final int STACK_DEPTH = 25;
+    private static final int COMMANDS = 200_000;
+    private static final String[] ERROR_HEAVY_STREAM = {
+        "mark abc", "delete 999", "todo", "deadline report", "event party /from tomorrow",
+        "agenda 0", "redo", "find", "unmark 5", "list",
+    };
+
+    /**
+     * Runs the benchmark and prints the results.
+     *
+     * @param args Unused.
+     * @throws IOException If the temporary task file cannot be created.
+     */
+    public static void main(String[] args) throws IOException {
+        // Warm up both paths before timing either
+        timeThrows(SnowyException::new);
+        timeThrows(InvalidInputException::new);
+        long fullNanos = timeThrows(SnowyException::new);
+        long stacklessNanos = timeThrows(InvalidInputException::new);
+
+        System.out.printf("Threw %d errors from %d frames deep%n", THROWS, STACK_DEPTH);
+        System.out.printf("  with stack trace:    %8.1f ns per error%n", (double) fullNanos / THROWS);
+        System.out.printf("  without stack trace: %8.1f ns per error%n", (double) stacklessNanos / THROWS);
+        System.out.printf("  speedup:             %8.1fx%n", (double) fullNanos / stacklessNanos);
+
+        Path directory = Files.createTempDirectory("snowy-errors");
+        Snowy snowy = new Snowy(directory.resolve("tasks.txt").toString());
+        snowy.getResponse("todo read book");
+        runCommands(snowy);
+        long start = System.nanoTime();
+        int errors = runCommands(snowy);
+        long commandNanos = System.nanoTime() - start;
+
+        System.out.printf("Ran %d commands, %d of them rejected%n", COMMANDS, errors);
+        System.out.printf("  per command:         %8.2f us%n", commandNanos / 1e3 / COMMANDS);
+    }
+
+    private static long timeThrows(Function<String, SnowyException> factory) {
+        long start = System.nanoTime();
+        int caught = 0;
+        for (int i = 0; i < THROWS; i++) {
+            try {
+                throwFrom(STACK_DEPTH, factory);
+            } catch (SnowyException e) {
+                caught++;
+            }
+        }
+        assert caught == THROWS;
+        return System.nanoTime() - start;
+    }
+
+    private static void throwFrom(int depth, Function<String, SnowyException> factory) {
+        if (depth == 0) {
+            throw factory.apply("Woof! Please provide a valid task number!");
+        }
+        throwFrom(depth - 1, factory);
+    }
+
+    private static int runCommands(Snowy snowy) {
+        int errors = 0;
+        for (int i = 0; i < COMMANDS; i++) {
+            if (snowy.getResponse(ERROR_HEAVY_STREAM[i % ERROR_HEAVY_STREAM.length]).startsWith("Woof")) {
+                errors++;
+            }
+        }
+        return errors;
+    }
+}
@@ -0,0 +1,86 @@
+package snowy.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import snowy.task.Deadline;
+import snowy.task.Event;
+import snowy.task.Task;
+import snowy.task.ToDo;
+
+/**
+ * Measures how long it takes to render a large task list the way the list
+ * command does, on the first render and on later renders that reuse each
+ * task's cached text, and how much heap the cached text retains.
+ * Run with {@code ./gradlew benchmark -Pbench=RenderBenchmark}.
+ */
+public class RenderBenchmark {
+    private static final int TASK_COUNT = 100_000;
+    private static final int WARM_ROUNDS = 20;
+
+    /**
+     * Runs the benchmark and prints the results.
+     *
+     * @param args Unused.
+     */
+    public static void main(String[] args) {
+        ArrayList<Task> tasks = createTasks();
+
+        long heapBefore = usedHeap();
+        long coldNanos = time(() -> render(tasks));
+        long heapAfter = usedHeap();
+
+        long warmNanos = 0;
+        for (int i = 0; i < WARM_ROUNDS; i++) {
+            warmNanos += time(() -> render(tasks));
+        }
+
+        System.out.printf("Rendered %d tasks%n", TASK_COUNT);
+        System.out.printf("  first render:        %8.2f ms%n", coldNanos / 1e6);
+        System.out.printf("  cached render (avg): %8.2f ms%n", warmNanos / 1e6 / WARM_ROUNDS);
+        System.out.printf("  speedup:             %8.1fx%n", (double) coldNanos * WARM_ROUNDS / warmNanos);
+        System.out.printf("  cache heap:          %8.2f MB (%d bytes per task)%n",
+                (heapAfter - heapBefore) / 1e6, (heapAfter - heapBefore) / TASK_COUNT);
+    }
+
+    private static ArrayList<Task> createTasks() {
+        ArrayList<Task> tasks = new ArrayList<>(TASK_COUNT);
+        LocalDateTime start = LocalDateTime.of(2026, 1, 1, 9, 0);
+        for (int i = 0; i < TASK_COUNT; i++) {
+            switch (i % 3) {
+            case 0:
+                tasks.add(new ToDo("read chapter " + i));
+                break;
+            case 1:
+                tasks.add(new Deadline("pset " + i, start.plusHours(i)));
+                break;
+            default:
+                tasks.add(new Event("meeting " + i, start.plusHours(i), start.plusHours(i + 1)));
+                break;
+            }
+        }
+        return tasks;
+    }
+
+    private static String render(ArrayList<Task> tasks) {
+        StringBuilder result = new StringBuilder("Here are the tasks in your list:\n");
+        for (int i = 0; i < tasks.size(); i++) {
+            result.append(i + 1).append(". ").append(tasks.get(i).printDetailed()).append("\n");
+        }
+        return result.toString();
+    }
+
+    private static long time(Runnable action) {
+        long start = System.nanoTime();
+        action.run();
+        return System.nanoTime() - start;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,139 @@
+package snowy.benchmark;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Measures how long the GUI takes to start: until the window is shown, until
+ * its first frame is laid out, and until the tasks are loaded and the chat
+ * accepts input. Each run starts a fresh JVM with a large task file, so the
+ * times include class loading, FXML loading and image decoding.
+ * Needs a display, unless the snowy.bench.headless system property is set, in
+ * which case the text-based interface is timed instead.
+ * Run with {@code ./gradlew benchmark -Pbench=StartupBenchmark}, or with
+ * {@code ./gradlew startupComparison} to compare the shadow JAR with and without
+ * its Class Data Sharing archive, and the trimmed runtime image.
+ */
+public class StartupBenchmark {
+    private static final int RUNS = 5;
+    private static final int TASK_COUNT = 50_000;
+    private static final Pattern STEP_LINE = Pattern.compile("Startup: (.+) after (\\d+) ms");
+    private static final String JAVA = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+
+    /**
+     * Runs the benchmark and prints the results.
+     *
+     * @param args Unused.
+     * @throws Exception If the app cannot be started.
+     */
+    public static void main(String[] args) throws Exception {
+        Path directory = Files.createTempDirectory("snowy-startup");
+        Files.createDirectories(directory.resolve("data"));
+        List<String> lines = new ArrayList<>(TASK_COUNT);
+        for (int i = 0; i < TASK_COUNT; i++) {
+            lines.add("T | " + (i % 2) + " | read chapter " + i);
+        }
+        Files.write(directory.resolve("data").resolve("tasks.txt"), lines);
+
+        boolean isHeadless = Boolean.getBoolean("snowy.bench.headless");
+        System.out.printf("Started %s %d times with %d tasks%n",
+                isHeadless ? "the text-based interface" : "the GUI", RUNS, TASK_COUNT);
+        for (Map.Entry<String, List<String>> configuration : createConfigurations().entrySet()) {
+            List<String> command = new ArrayList<>(configuration.getValue());
+            if (isHeadless) {
+                command.add("--headless");
+            }
+
+            Map<String, List<Long>> times = new LinkedHashMap<>();
+            for (int i = 0; i < RUNS; i++) {
+                runOnce(command, directory).forEach((step, millis) ->
+                        times.computeIfAbsent(step, s -> new ArrayList<>()).add(millis));
+            }
+
+            System.out.println(configuration.getKey() + ":");
+            times.forEach((step, millis) -> {
+                Collections.sort(millis);
+                System.out.printf("  %-13s median %6d ms, best %6d ms%n",
+                        step + ":", millis.get(millis.size() / 2), millis.get(0));
+            });
+        }
+    }
+
+    /**
+     * Returns the ways of starting Snowy to compare, as named command lines.
+     * Without any snowy.bench properties, Snowy is started from the benchmark's own classpath.
+     *
+     * @return Command line for each configuration, in the order to run them.
+     */
+    private static Map<String, List<String>> createConfigurations() {
+        String jar = System.getProperty("snowy.bench.jar");
+        String jarArchive = System.getProperty("snowy.bench.cds");
+        String image = System.getProperty("snowy.bench.image");
+        String imageClasspath = System.getProperty("snowy.bench.imageClasspath");
+        String imageArchive = System.getProperty("snowy.bench.imageCds");
+
+        Map<String, List<String>> configurations = new LinkedHashMap<>();
+        if (jar == null && image == null) {
+            configurations.put("classpath", List.of(JAVA, "-cp", System.getProperty("java.class.path"),
+                    "-Dsnowy.startupTiming=exit", "snowy.Launcher"));
+        }
+        if (jar != null) {
+            configurations.put("shadow JAR", List.of(JAVA, "-Dsnowy.startupTiming=exit", "-jar", jar));
+        }
+        if (jar != null && jarArchive != null) {
+            configurations.put("shadow JAR with CDS", List.of(JAVA, "-XX:SharedArchiveFile=" + jarArchive,
+                    "-Dsnowy.startupTiming=exit", "-jar", jar));
+        }
+        if (image != null) {
+            String imageJava = Path.of(image, "bin", "java").toString();
+            configurations.put("runtime image", List.of(imageJava, "-cp", imageClasspath,
+                    "-Dsnowy.startupTiming=exit", "snowy.Launcher"));
+            if (imageArchive != null) {
+                configurations.put("runtime image with CDS", List.of(imageJava,
+                        "-XX:SharedArchiveFile=" + imageArchive, "-cp", imageClasspath,
+                        "-Dsnowy.startupTiming=exit", "snowy.Launcher"));
+            }
+        }
+        return configurations;
+    }
+
+    /**
+     * Starts Snowy in a new JVM and waits for it to finish starting up and exit.
+     *
+     * @param command   Command line that starts Snowy.
+     * @param directory Working directory holding the task file.
+     * @return Milliseconds from JVM start to each startup step, in the order reached.
+     */
+    private static Map<String, Long> runOnce(List<String> command, Path directory)
+            throws IOException, InterruptedException {
+        ProcessBuilder builder = new ProcessBuilder(command);
+        builder.directory(directory.toFile());
+        builder.redirectErrorStream(true);
+        Process process = builder.start();
+
+        Map<String, Long> steps = new LinkedHashMap<>();
+        try (BufferedReader output = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            String line;
+            while ((line = output.readLine()) != null) {
+                Matcher matcher = STEP_LINE.matcher(line);
+                if (matcher.matches()) {
+                    steps.put(matcher.group(1), Long.parseLong(matcher.group(2)));
+                }
+            }
+        }
+        if (process.waitFor() != 0 || steps.isEmpty()) {
+            throw new IllegalStateException("Snowy did not start with " + command);
+        }
+        return steps;
+    }
+}
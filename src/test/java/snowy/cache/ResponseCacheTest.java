@@ -0,0 +1,61 @@
+package snowy.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit tests for ResponseCache class.
+ */
+public class ResponseCacheTest {
+
+    @Test
+    public void get_sameVersion_cachedResponseReturned() {
+        ResponseCache cache = new ResponseCache();
+        cache.put("list", 3, "Here are the tasks in your list:");
+
+        assertEquals("Here are the tasks in your list:", cache.get("list", 3));
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    public void get_extraWhitespace_sameEntryReturned() {
+        ResponseCache cache = new ResponseCache();
+        cache.put("find  book", 1, "1. [T][ ]  read book");
+
+        assertEquals("1. [T][ ]  read book", cache.get("  find book ", 1));
+    }
+
+    @Test
+    public void get_listChangedSinceCached_missReturned() {
+        ResponseCache cache = new ResponseCache();
+        cache.put("list", 3, "Here are the tasks in your list:");
+
+        assertNull(cache.get("list", 4));
+        assertNull(cache.get("list", 3));
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    public void put_beyondCapacity_leastRecentlyUsedEvicted() {
+        ResponseCache cache = new ResponseCache(2);
+        cache.put("list", 0, "list response");
+        cache.put("sortedlist", 0, "sorted response");
+        cache.get("list", 0);
+        cache.put("on 2026-03-01", 0, "on response");
+
+        assertEquals("list response", cache.get("list", 0));
+        assertNull(cache.get("sortedlist", 0));
+    }
+
+    @Test
+    public void isCacheable_readAndWriteCommands_onlyReadsCacheable() {
+        assertTrue(ResponseCache.isCacheable("list"));
+        assertTrue(ResponseCache.isCacheable("find"));
+        assertFalse(ResponseCache.isCacheable("delete"));
+        assertFalse(ResponseCache.isCacheable("agenda"));
+    }
+}
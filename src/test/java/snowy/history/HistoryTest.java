@@ -0,0 +1,113 @@
+package snowy.history;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import snowy.exception.SnowyException;
+import snowy.task.Priority;
+import snowy.task.Task;
+import snowy.task.ToDo;
+import snowy.tasklist.TaskList;
+
+/**
+ * JUnit tests for History class.
+ */
+public class HistoryTest {
+    private TaskList tasks;
+    private History history;
+
+    @BeforeEach
+    public void setUp() {
+        tasks = new TaskList();
+        tasks.addTask(new ToDo("Task 1"));
+        tasks.addTask(new ToDo("Task 2"));
+        tasks.addTask(new ToDo("Task 3"));
+        history = new History(2);
+    }
+
+    @Test
+    public void undo_delete_taskRestoredAtOriginalPosition() throws SnowyException {
+        Task removed = tasks.deleteTask(1);
+        history.record(new DeleteChange(1, removed));
+
+        history.undo(tasks);
+
+        assertEquals(3, tasks.size());
+        assertSame(removed, tasks.getTask(1));
+    }
+
+    @Test
+    public void redo_undoneAdd_taskAddedAgain() throws SnowyException {
+        Task task = new ToDo("Task 4");
+        tasks.addTask(task);
+        history.record(new AddChange(3, task));
+
+        history.undo(tasks);
+        assertEquals(3, tasks.size());
+
+        history.redo(tasks);
+        assertSame(task, tasks.getTask(3));
+    }
+
+    @Test
+    public void undo_mark_previousStatusRestored() throws SnowyException {
+        tasks.markTask(0);
+        history.record(new MarkChange(0, tasks.getTask(0), false, true));
+
+        history.undo(tasks);
+        assertFalse(tasks.getTask(0).isDone());
+
+        history.redo(tasks);
+        assertTrue(tasks.getTask(0).isDone());
+    }
+
+    @Test
+    public void redo_undoneRelabel_newLabelsPutBack() throws SnowyException {
+        Task task = tasks.getTask(0);
+        tasks.relabelTask(0, Priority.HIGH, List.of("work"));
+        history.record(new LabelChange(0, task, Priority.MEDIUM, List.of(), Priority.HIGH, List.of("work")));
+
+        history.undo(tasks);
+        assertEquals(Priority.MEDIUM, task.getPriority());
+        assertEquals(List.of(), task.getTags());
+
+        history.redo(tasks);
+        assertEquals(Priority.HIGH, task.getPriority());
+        assertEquals(List.of("work"), task.getTags());
+    }
+
+    @Test
+    public void undo_moreChangesThanCapacity_oldestChangeForgotten() throws SnowyException {
+        for (int i = 0; i < 3; i++) {
+            Task removed = tasks.deleteTask(0);
+            history.record(new DeleteChange(0, removed));
+        }
+
+        history.undo(tasks);
+        history.undo(tasks);
+
+        assertEquals(2, tasks.size());
+        assertThrows(SnowyException.class, () -> history.undo(tasks));
+    }
+
+    @Test
+    public void redo_afterNewChange_nothingToRedo() throws SnowyException {
+        Task removed = tasks.deleteTask(0);
+        history.record(new DeleteChange(0, removed));
+        history.undo(tasks);
+
+        Task added = new ToDo("Task 4");
+        tasks.addTask(added);
+        history.record(new AddChange(3, added));
+
+        assertThrows(SnowyException.class, () -> history.redo(tasks));
+    }
+}
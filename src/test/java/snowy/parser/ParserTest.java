@@ -1,14 +1,22 @@
 package snowy.parser;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
+import snowy.exception.InvalidInputException;
 import snowy.exception.SnowyException;
+import snowy.task.Priority;
+import snowy.task.Recurrence;
 
 /**
  * JUnit tests for Parser class.
@@ -129,6 +137,23 @@ public class ParserTest {
         });
     }
 
+    @Test
+    public void parseTaskIndex_invalidIndex_throwsWithoutStackTrace() {
+        InvalidInputException e = assertThrows(InvalidInputException.class, () -> {
+            Parser.parseTaskIndex("mark 1a", 5);
+        });
+        assertEquals("Woof! Please provide a valid task number!", e.getMessage());
+        assertEquals(0, e.getStackTrace().length);
+    }
+
+    @Test
+    public void parseTaskIndex_tooManyDigits_throwsException() {
+        assertThrows(InvalidInputException.class, () -> {
+            Parser.parseTaskIndex("mark 99999999999", 5);
+        });
+        assertEquals(999_999_998, Parser.parseTaskIndex("mark 999999999", 5));
+    }
+
     @Test
     public void parseDateTime_validFormat_returnsLocalDateTime() {
         LocalDateTime expected = LocalDateTime.of(2024, 12, 25, 18, 0);
@@ -156,4 +181,111 @@ public class ParserTest {
             Parser.parseOnDate("on");
         });
     }
+
+    @Test
+    public void parseRecurrence_weeklyDeadline_returnsWeekly() throws SnowyException {
+        assertEquals(Recurrence.WEEKLY,
+                Parser.parseRecurrence("deadline standup /by 2026-03-02 0900 /every week"));
+    }
+
+    @Test
+    public void parseRecurrence_noRecurrence_returnsNull() throws SnowyException {
+        assertNull(Parser.parseRecurrence("deadline standup /by 2026-03-02 0900"));
+    }
+
+    @Test
+    public void parseRecurrence_unsupportedUnit_throwsException() {
+        assertThrows(SnowyException.class, () -> {
+            Parser.parseRecurrence("deadline standup /by 2026-03-02 0900 /every fortnight");
+        });
+    }
+
+    @Test
+    public void parseDeadline_withRecurrence_recurrenceStrippedFromDate() throws SnowyException {
+        String[] result = Parser.parseDeadline("deadline standup /by 2026-03-02 0900 /every month");
+
+        assertEquals("standup", result[0]);
+        assertEquals("2026-03-02 0900", result[1]);
+    }
+
+    @Test
+    public void parseBetweenDates_twoDates_returnsBothDates() throws SnowyException {
+        String[] result = Parser.parseBetweenDates("between 2026-03-01   2026-03-07");
+
+        assertEquals("2026-03-01", result[0]);
+        assertEquals("2026-03-07", result[1]);
+    }
+
+    @Test
+    public void parseAgendaDays_nonPositiveDays_throwsException() {
+        assertThrows(SnowyException.class, () -> {
+            Parser.parseAgendaDays("agenda 0");
+        });
+    }
+
+    @Test
+    public void parseFindKeyword_withLimit_limitStripped() throws SnowyException {
+        assertEquals("homework", Parser.parseFindKeyword("find homework /limit 5"));
+        assertEquals(5, Parser.parseFindLimit("find homework /limit 5", 20));
+        assertEquals(20, Parser.parseFindLimit("find homework", 20));
+    }
+
+    @Test
+    public void parseFindKeyword_onlyLimit_throwsException() {
+        assertThrows(InvalidInputException.class, () -> Parser.parseFindKeyword("find /limit 5"));
+    }
+
+    @Test
+    public void parseFindKeyword_allFlag_flagStripped() throws SnowyException {
+        assertEquals("homework", Parser.parseFindKeyword("find --all homework"));
+        assertTrue(Parser.isFindAll("find --all homework"));
+        assertFalse(Parser.isFindAll("find --allowance"));
+    }
+
+    @Test
+    public void parseArchiveAge_withAndWithoutDays_returnsDays() throws SnowyException {
+        assertEquals(30, Parser.parseArchiveAge("archive 30"));
+        assertEquals(-1, Parser.parseArchiveAge("archive"));
+        assertThrows(SnowyException.class, () -> Parser.parseArchiveAge("archive soon"));
+    }
+
+    @Test
+    public void parseRunFile_quietFlag_flagStripped() throws SnowyException {
+        assertEquals("commands.txt", Parser.parseRunFile("run --quiet commands.txt"));
+        assertEquals("commands.txt", Parser.parseRunFile("run commands.txt"));
+        assertTrue(Parser.isQuietRun("run --quiet commands.txt"));
+        assertFalse(Parser.isQuietRun("run commands.txt"));
+        assertThrows(SnowyException.class, () -> Parser.parseRunFile("run --quiet"));
+    }
+
+    @Test
+    public void parseFree_singleDayOrRange_datesAndDurationReturned() throws SnowyException {
+        String[] day = Parser.parseFree("free 2026-03-02 1h30m");
+        assertEquals("2026-03-02", day[0]);
+        assertEquals("2026-03-02", day[1]);
+        assertEquals("1h30m", day[2]);
+        assertEquals("2026-03-06", Parser.parseFree("free 2026-03-02 2026-03-06 45m")[1]);
+        assertThrows(SnowyException.class, () -> Parser.parseFree("free 2026-03-02"));
+    }
+
+    @Test
+    public void parseDuration_hoursAndMinutes_parsed() throws SnowyException {
+        assertEquals(Duration.ofMinutes(90), Parser.parseDuration("1h30m"));
+        assertEquals(Duration.ofHours(2), Parser.parseDuration("2h"));
+        assertEquals(Duration.ofMinutes(45), Parser.parseDuration("45min"));
+        assertThrows(SnowyException.class, () -> Parser.parseDuration("0m"));
+        assertThrows(SnowyException.class, () -> Parser.parseDuration("soon"));
+        assertThrows(SnowyException.class, () -> Parser.parseDuration(""));
+    }
+
+    @Test
+    public void parseLabels_taskNumberAndValues_parsed() throws SnowyException {
+        assertEquals(1, Parser.parseLabelTaskIndex("tag 2 work"));
+        assertEquals(Priority.HIGH, Parser.parsePriority("priority 2 high"));
+        assertEquals(Priority.MEDIUM, Parser.parsePriority("priority 2 med"));
+        assertEquals(List.of("work", "cs2103"), Parser.parseTags("tag 2 #Work cs2103"));
+        assertThrows(SnowyException.class, () -> Parser.parseTags("tag 2"));
+        assertThrows(SnowyException.class, () -> Parser.parseTags("tag 2 work!"));
+        assertThrows(SnowyException.class, () -> Parser.parsePriority("priority 2 high low"));
+    }
 }
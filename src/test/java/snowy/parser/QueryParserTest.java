@@ -0,0 +1,61 @@
+package snowy.parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import snowy.exception.SnowyException;
+import snowy.tasklist.Filter;
+import snowy.tasklist.Query;
+
+/**
+ * JUnit tests for QueryParser class.
+ */
+public class QueryParserTest {
+
+    @Test
+    public void isQuery_plainKeyword_returnsFalse() {
+        assertFalse(QueryParser.isQuery("homework"));
+        assertFalse(QueryParser.isQuery("meeting at 10:30"));
+    }
+
+    @Test
+    public void isQuery_fieldOrRegex_returnsTrue() {
+        assertTrue(QueryParser.isQuery("type:D"));
+        assertTrue(QueryParser.isQuery("/pset\\d/"));
+    }
+
+    @Test
+    public void parse_allTermKinds_filtersInOrder() throws SnowyException {
+        Query query = QueryParser.parse("type:d done:0 before:2026-03-01 /pset \\d/ review");
+
+        List<String> terms = query.getFilters().stream().map(Filter::describe).collect(Collectors.toList());
+        assertEquals(List.of("type:D", "done:0", "before:2026-03-01", "/pset \\d/", "review"), terms);
+    }
+
+    @Test
+    public void parse_invalidDate_throwsException() {
+        assertThrows(SnowyException.class, () -> QueryParser.parse("before:01-03-2026"));
+    }
+
+    @Test
+    public void parse_unclosedRegex_throwsException() {
+        assertThrows(SnowyException.class, () -> QueryParser.parse("/pset\\d"));
+    }
+
+    @Test
+    public void parse_priorityAndTags_filtersParsed() throws SnowyException {
+        Query query = QueryParser.parse("priority:HIGH #Work tag:home");
+
+        List<String> terms = query.getFilters().stream().map(Filter::describe).collect(Collectors.toList());
+        assertEquals(List.of("priority:high", "tag:work", "tag:home"), terms);
+        assertTrue(QueryParser.isQuery("#work"));
+        assertThrows(SnowyException.class, () -> QueryParser.parse("priority:urgent"));
+    }
+}
@@ -0,0 +1,84 @@
+package snowy.reminder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import snowy.task.Deadline;
+import snowy.task.Event;
+import snowy.task.Recurrence;
+import snowy.task.RecurringDeadline;
+import snowy.task.Task;
+import snowy.task.ToDo;
+
+/**
+ * JUnit tests for ReminderScheduler class.
+ */
+public class ReminderSchedulerTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 2, 10, 0);
+
+    private ReminderScheduler scheduler;
+    private BlockingQueue<String> delivered;
+
+    @BeforeEach
+    public void setUp() {
+        ZoneId zone = ZoneId.systemDefault();
+        Clock clock = Clock.fixed(NOW.atZone(zone).toInstant(), zone);
+        scheduler = new ReminderScheduler(Duration.ofMinutes(30), clock);
+        delivered = new LinkedBlockingQueue<>();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        scheduler.stop();
+    }
+
+    @Test
+    public void schedule_deadlineWithinLeadTime_reminderDelivered() throws InterruptedException {
+        scheduler.start(delivered::add);
+        scheduler.schedule(new Deadline("pset2", NOW.plusMinutes(20)));
+
+        String reminder = delivered.poll(5, TimeUnit.SECONDS);
+        assertTrue(reminder != null && reminder.contains("pset2"));
+        assertEquals(0, scheduler.getPendingCount());
+    }
+
+    @Test
+    public void schedule_doneOrPastOrUndatedTasks_noReminders() {
+        Task done = new Deadline("pset1", NOW.plusDays(1));
+        done.markAsDone();
+        scheduler.rebuild(List.of(done, new Deadline("pset0", NOW.minusDays(1)), new ToDo("read")));
+
+        assertEquals(0, scheduler.getPendingCount());
+    }
+
+    @Test
+    public void cancel_scheduledEvent_reminderRemoved() {
+        Event event = new Event("standup", NOW.plusDays(1), NOW.plusDays(1).plusHours(1));
+        scheduler.schedule(event);
+        scheduler.cancel(event);
+
+        assertEquals(0, scheduler.getPendingCount());
+    }
+
+    @Test
+    public void schedule_recurringDeadlineFires_nextOccurrenceScheduled() throws InterruptedException {
+        scheduler.start(delivered::add);
+        scheduler.schedule(new RecurringDeadline("standup", NOW.minusWeeks(1).plusMinutes(10), Recurrence.WEEKLY));
+
+        assertTrue(delivered.poll(5, TimeUnit.SECONDS) != null);
+        assertEquals(1, scheduler.getPendingCount());
+    }
+}
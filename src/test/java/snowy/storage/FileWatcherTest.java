@@ -0,0 +1,38 @@
+package snowy.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * JUnit tests for FileWatcher class.
+ */
+public class FileWatcherTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void start_fileWrittenTwice_changedFileReported() throws IOException, InterruptedException {
+        BlockingQueue<Path> changes = new LinkedBlockingQueue<>();
+        FileWatcher watcher = new FileWatcher(tempDir, changes::add);
+        watcher.start();
+        try {
+            Path file = tempDir.resolve("tasks.txt");
+            Files.write(file, List.of("T | 0 | read book"));
+            Files.write(file, List.of("T | 0 | read book", "T | 0 | buy milk"));
+
+            assertEquals(file, changes.poll(10, TimeUnit.SECONDS));
+        } finally {
+            watcher.stop();
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package snowy.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import snowy.exception.SnowyException;
+import snowy.task.DescriptionPool;
+import snowy.task.Priority;
+import snowy.task.Recurrence;
+import snowy.task.Recurring;
+import snowy.task.RecurringEvent;
+import snowy.task.Task;
+import snowy.task.ToDo;
+
+/**
+ * JUnit tests for FlatFileStorage class.
+ */
+public class FlatFileStorageTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void load_repeatedDescriptions_descriptionsShared() throws IOException {
+        Path file = tempDir.resolve("tasks.txt");
+        Files.write(file, List.of(
+                "T | 0 | standup",
+                "D | 0 | pset2 | 2026-02-25T23:59",
+                "T | 1 | standup",
+                "D | 1 | pset2 | 2026-03-04T23:59",
+                "T | 0 | standup"));
+        DescriptionPool pool = new DescriptionPool();
+
+        ArrayList<Task> tasks = new FlatFileStorage(file.toString(), pool).load();
+
+        assertEquals(5, tasks.size());
+        assertSame(tasks.get(0).getDescription(), tasks.get(4).getDescription());
+        assertSame(tasks.get(1).getDescription(), tasks.get(3).getDescription());
+        assertEquals(0.6, pool.getHitRate());
+    }
+
+    @Test
+    public void saveAndLoad_recurringEvent_recurrencePreserved() {
+        FlatFileStorage storage = new FlatFileStorage(tempDir.resolve("tasks.txt").toString());
+        LocalDateTime start = LocalDateTime.of(2026, 3, 2, 18, 0);
+        ArrayList<Task> tasks = new ArrayList<>();
+        tasks.add(new RecurringEvent("gym", start, start.plusHours(2), Recurrence.MONTHLY));
+
+        storage.save(tasks);
+        ArrayList<Task> loaded = storage.load();
+
+        assertEquals(1, loaded.size());
+        assertTrue(loaded.get(0) instanceof Recurring);
+        assertEquals(Recurrence.MONTHLY, ((Recurring) loaded.get(0)).getRecurrence());
+        assertEquals(start, loaded.get(0).getDate());
+    }
+
+    @Test
+    public void save_writeFails_oldFileKeptWhole() throws IOException {
+        Path file = tempDir.resolve("tasks.txt");
+        FlatFileStorage storage = new FlatFileStorage(file.toString());
+        ArrayList<Task> tasks = new ArrayList<>(List.of(new ToDo("read book"), new ToDo("buy milk")));
+        storage.save(tasks);
+        // A directory where the temporary file would go makes writing it fail
+        Files.createDirectory(tempDir.resolve("tasks.txt.tmp"));
+
+        tasks.remove(1);
+        assertThrows(SnowyException.class, () -> storage.save(tasks));
+
+        assertEquals(List.of("T | 0 | read book", "T | 0 | buy milk"), Files.readAllLines(file));
+    }
+
+    @Test
+    public void appendToArchive_twoBatches_archiveKeepsBothAndTaskFileUntouched() throws Exception {
+        FlatFileStorage storage = new FlatFileStorage(tempDir.resolve("tasks.txt").toString());
+        Task first = new ToDo("old chores");
+        first.markAsDone();
+        Task second = new ToDo("older chores");
+        second.markAsDone();
+
+        storage.appendToArchive(List.of(first));
+        storage.appendToArchive(List.of(second));
+
+        List<Task> archived = storage.loadArchive();
+        assertEquals(2, archived.size());
+        assertEquals("old chores", archived.get(0).getDescription());
+        assertTrue(archived.get(1).isDone());
+        assertTrue(Files.exists(tempDir.resolve("tasks.archive.txt")));
+        assertTrue(storage.load().isEmpty());
+    }
+
+    @Test
+    public void load_damagedLineWithSnapshot_restoredFromSnapshotAndReported() throws IOException {
+        Path file = tempDir.resolve("tasks.txt");
+        FlatFileStorage storage = new FlatFileStorage(file.toString(), new DescriptionPool(0), 2);
+        storage.load();
+        storage.save(new ArrayList<>(List.of(new ToDo("read book"), new ToDo("buy milk"))));
+        Files.write(file, List.of("T | 0 | read book", "X | ? | garbled"));
+
+        FlatFileStorage reopened = new FlatFileStorage(file.toString(), new DescriptionPool(0), 2);
+        List<Task> tasks = reopened.load();
+
+        assertEquals(2, tasks.size());
+        assertEquals("buy milk", tasks.get(1).getDescription());
+        assertTrue(reopened.getLoadReport().contains("line(s) 2"));
+        assertTrue(Files.exists(tempDir.resolve("tasks.corrupt.txt")));
+    }
+
+    @Test
+    public void load_invalidBytesWithoutSnapshot_lineSkippedAndReported() throws IOException {
+        Path file = tempDir.resolve("tasks.txt");
+        Files.write(file, new byte[] {'T', ' ', '|', ' ', '0', ' ', '|', ' ', 'o', 'k', '\n',
+            'T', ' ', '|', ' ', '0', ' ', '|', ' ', (byte) 0xC3, '\n'});
+        FlatFileStorage storage = new FlatFileStorage(file.toString());
+
+        List<Task> tasks = storage.load();
+
+        assertEquals(1, tasks.size());
+        assertTrue(storage.getLoadReport().contains("line(s) 2"));
+    }
+
+    @Test
+    public void saveAndLoad_priorityAndTags_labelsPreservedAndDefaultsNotWritten() throws IOException {
+        Path file = tempDir.resolve("tasks.txt");
+        FlatFileStorage storage = new FlatFileStorage(file.toString());
+        LocalDateTime start = LocalDateTime.of(2026, 3, 2, 18, 0);
+        ArrayList<Task> tasks = new ArrayList<>();
+        tasks.add(new ToDo("read book"));
+        tasks.add(new RecurringEvent("gym", start, start.plusHours(2), Recurrence.WEEKLY));
+        tasks.get(1).setPriority(Priority.LOW);
+        tasks.get(1).setTags(List.of("health", "routine"));
+
+        storage.save(tasks);
+        ArrayList<Task> loaded = storage.load();
+
+        assertEquals("T | 0 | read book", Files.readAllLines(file).get(0));
+        assertEquals(Priority.MEDIUM, loaded.get(0).getPriority());
+        assertEquals(Priority.LOW, loaded.get(1).getPriority());
+        assertEquals(List.of("health", "routine"), loaded.get(1).getTags());
+        assertEquals(Recurrence.WEEKLY, ((Recurring) loaded.get(1)).getRecurrence());
+    }
+}
@@ -0,0 +1,129 @@
+package snowy.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import snowy.task.Deadline;
+import snowy.task.DescriptionPool;
+import snowy.task.Priority;
+import snowy.task.Recurrence;
+import snowy.task.Recurring;
+import snowy.task.RecurringEvent;
+import snowy.task.Task;
+import snowy.task.ToDo;
+
+/**
+ * JUnit tests for H2Storage class.
+ */
+public class H2StorageTest {
+    @TempDir
+    Path tempDir;
+
+    private H2Storage storage;
+
+    @BeforeEach
+    public void setUp() {
+        storage = new H2Storage(tempDir.resolve("tasks"), new DescriptionPool(0));
+        storage.initialize();
+        storage.load();
+    }
+
+    @Test
+    public void close_afterUse_connectionReleasedAndReopenedOnUse() throws SQLException {
+        try (Connection other = DriverManager.getConnection("jdbc:h2:file:" + tempDir.resolve("tasks"))) {
+            assertEquals(2, countSessions(other));
+            storage.close();
+            assertEquals(1, countSessions(other));
+
+            storage.save(new ArrayList<>(List.of(new ToDo("read book"))));
+            assertEquals(2, countSessions(other));
+        }
+    }
+
+    @Test
+    public void saveAndLoad_mixedTasks_tasksPreserved() {
+        LocalDateTime start = LocalDateTime.of(2026, 3, 2, 18, 0);
+        ArrayList<Task> tasks = new ArrayList<>(List.of(new ToDo("read book"),
+                new Deadline("pset2", LocalDateTime.of(2026, 2, 25, 23, 59)),
+                new RecurringEvent("gym", start, start.plusHours(2), Recurrence.WEEKLY)));
+        tasks.get(1).markAsDone();
+
+        storage.save(tasks);
+        List<Task> loaded = storage.load();
+
+        assertEquals(tasks.stream().map(Task::printDetailed).collect(Collectors.toList()),
+                loaded.stream().map(Task::printDetailed).collect(Collectors.toList()));
+        assertEquals(Recurrence.WEEKLY, ((Recurring) loaded.get(2)).getRecurrence());
+    }
+
+    @Test
+    public void incrementalSaves_insertRemoveUpdate_listOrderPreserved() {
+        ArrayList<Task> tasks = new ArrayList<>();
+        for (String description : List.of("a", "b", "c")) {
+            tasks.add(new ToDo(description));
+            storage.saveAdded(tasks, tasks.size() - 1);
+        }
+        Task removed = tasks.remove(1);
+        storage.saveRemoved(tasks, 1);
+        tasks.add(0, removed);
+        storage.saveAdded(tasks, 0);
+        tasks.get(2).markAsDone();
+        storage.saveUpdated(tasks, 2);
+
+        List<Task> loaded = new H2Storage(tempDir.resolve("tasks"), new DescriptionPool(0)).load();
+
+        assertEquals(List.of("b", "a", "c"),
+                loaded.stream().map(Task::getDescription).collect(Collectors.toList()));
+        assertTrue(loaded.get(2).isDone());
+    }
+
+    @Test
+    public void searchArchive_keyword_onlyMatchingTasksCaseInsensitive() {
+        storage.appendToArchive(List.of(new ToDo("Return BOOK"), new ToDo("buy milk"), new ToDo("book flights")));
+
+        List<Task> matches = storage.searchArchive("book");
+
+        assertEquals(List.of("Return BOOK", "book flights"),
+                matches.stream().map(Task::getDescription).collect(Collectors.toList()));
+        assertEquals(3, storage.loadArchive().size());
+    }
+
+    @Test
+    public void saveAndLoad_priorityAndTags_labelsPreserved() {
+        ArrayList<Task> tasks = new ArrayList<>(List.of(new ToDo("read book"), new ToDo("file taxes")));
+        tasks.get(1).setPriority(Priority.HIGH);
+        tasks.get(1).setTags(List.of("money"));
+        storage.save(tasks);
+        tasks.get(0).setTags(List.of("fun"));
+        storage.saveUpdated(tasks, 0);
+
+        List<Task> loaded = storage.load();
+
+        assertEquals(List.of("fun"), loaded.get(0).getTags());
+        assertEquals(Priority.HIGH, loaded.get(1).getPriority());
+        assertEquals(List.of("money"), loaded.get(1).getTags());
+    }
+
+    private static int countSessions(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+                ResultSet rows = statement.executeQuery("SELECT COUNT(*) FROM INFORMATION_SCHEMA.SESSIONS")) {
+            rows.next();
+            return rows.getInt(1);
+        }
+    }
+}
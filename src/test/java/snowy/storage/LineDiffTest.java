@@ -0,0 +1,96 @@
+package snowy.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit tests for LineDiff class.
+ */
+public class LineDiffTest {
+
+    @Test
+    public void between_equalLines_empty() {
+        assertTrue(LineDiff.between(List.of("a", "b"), List.of("a", "b")).isEmpty());
+    }
+
+    @Test
+    public void between_oneLineEdited_onlyThatLineChanged() {
+        LineDiff diff = LineDiff.between(List.of("a", "b", "c"), List.of("a", "B", "c"));
+
+        assertEquals(1, diff.getStart());
+        assertEquals(List.of("b"), diff.getRemovedLines());
+        assertEquals(List.of("B"), diff.getAddedLines());
+    }
+
+    @Test
+    public void between_lineAppended_onlyInsertion() {
+        LineDiff diff = LineDiff.between(List.of("a", "b"), List.of("a", "b", "c"));
+
+        assertEquals(2, diff.getStart());
+        assertTrue(diff.getRemovedLines().isEmpty());
+        assertEquals(List.of("c"), diff.getAddedLines());
+        assertEquals(1, diff.getSizeChange());
+    }
+
+    @Test
+    public void between_repeatedLineDeleted_prefixAndSuffixDoNotOverlap() {
+        LineDiff diff = LineDiff.between(List.of("a", "a", "a"), List.of("a", "a"));
+
+        assertEquals(2, diff.getStart());
+        assertEquals(List.of("a"), diff.getRemovedLines());
+        assertTrue(diff.getAddedLines().isEmpty());
+    }
+
+    @Test
+    public void overlaps_regionsSeparatedByUnchangedLine_false() {
+        List<String> base = List.of("a", "b", "c");
+        LineDiff first = LineDiff.between(base, List.of("A", "b", "c"));
+        LineDiff second = LineDiff.between(base, List.of("a", "b", "C"));
+
+        assertFalse(first.overlaps(second));
+        assertTrue(first.overlaps(LineDiff.between(base, List.of("A2", "b", "c"))));
+    }
+
+    @Test
+    public void merge_bothAppended_theirLinesFirst() {
+        List<String> merged = LineDiff.merge(List.of("a"), List.of("a", "ours"), List.of("a", "theirs"));
+
+        assertEquals(List.of("a", "theirs", "ours"), merged);
+    }
+
+    @Test
+    public void merge_differentLinesEdited_bothEditsKept() {
+        List<String> base = List.of("a", "b", "c");
+
+        assertEquals(List.of("A", "b", "C"), LineDiff.merge(base, List.of("a", "b", "C"), List.of("A", "b", "c")));
+    }
+
+    @Test
+    public void merge_neighbouringLinesEdited_bothEditsKept() {
+        List<String> base = List.of("a", "b", "c");
+
+        assertFalse(LineDiff.between(base, List.of("A", "b", "c"))
+                .overlaps(LineDiff.between(base, List.of("a", "B", "c"))));
+        assertEquals(List.of("A", "B", "c"), LineDiff.merge(base, List.of("a", "B", "c"), List.of("A", "b", "c")));
+        assertEquals(List.of("a", "new", "B", "c"),
+                LineDiff.merge(base, List.of("a", "B", "c"), List.of("a", "new", "b", "c")));
+    }
+
+    @Test
+    public void merge_insertionInsideOtherEdit_null() {
+        List<String> base = List.of("a", "b", "c");
+
+        assertNull(LineDiff.merge(base, List.of("a", "B", "C"), List.of("a", "b", "new", "c")));
+    }
+
+    @Test
+    public void merge_sameLineEditedDifferently_null() {
+        assertNull(LineDiff.merge(List.of("a", "b"), List.of("a", "B1"), List.of("a", "B2")));
+    }
+}
@@ -0,0 +1,76 @@
+package snowy.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import snowy.exception.CorruptSnapshotException;
+
+/**
+ * JUnit tests for SnapshotFile class.
+ */
+public class SnapshotFileTest {
+    @TempDir
+    Path tempDir;
+
+    private static List<String> repetitiveLines(int count) {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            lines.add("D | 0 | weekly problem set " + (i % 10) + " | 2026-02-25T23:59");
+        }
+        return lines;
+    }
+
+    @Test
+    public void writeAndRead_severalBlocks_linesPreservedAndCompressed() throws IOException {
+        Path snapshot = tempDir.resolve("tasks.snapshot.1");
+        List<String> lines = repetitiveLines(10_000);
+
+        SnapshotFile.write(snapshot, lines);
+
+        assertEquals(lines, SnapshotFile.read(snapshot));
+        assertTrue(Files.size(snapshot) < String.join("\n", lines).length() / 5);
+    }
+
+    @Test
+    public void read_flippedByteInSecondBlock_corruptBlockReportedWithOffset() throws IOException {
+        Path snapshot = tempDir.resolve("tasks.snapshot.1");
+        SnapshotFile.write(snapshot, repetitiveLines(10_000));
+        byte[] bytes = Files.readAllBytes(snapshot);
+        int firstBlockEnd = 4 + 12 + readInt(bytes, 4 + 4);
+        bytes[firstBlockEnd + 12 + 5] ^= 0x40;
+        Files.write(snapshot, bytes);
+
+        CorruptSnapshotException e = assertThrows(CorruptSnapshotException.class, () -> SnapshotFile.read(snapshot));
+
+        assertEquals(1, e.getBlockIndex());
+        assertEquals(firstBlockEnd, e.getOffset());
+    }
+
+    @Test
+    public void rotate_moreSnapshotsThanKept_oldestDropped() {
+        Path base = tempDir.resolve("tasks.snapshot");
+        for (int i = 0; i < 4; i++) {
+            SnapshotFile.rotate(base, List.of("T | 0 | version " + i), 3);
+        }
+
+        assertEquals(List.of("T | 0 | version 3"), SnapshotFile.read(SnapshotFile.numbered(base, 1)));
+        assertEquals(List.of("T | 0 | version 1"), SnapshotFile.read(SnapshotFile.numbered(base, 3)));
+        assertFalse(Files.exists(SnapshotFile.numbered(base, 4)));
+    }
+
+    private static int readInt(byte[] bytes, int offset) {
+        return ((bytes[offset] & 0xFF) << 24) | ((bytes[offset + 1] & 0xFF) << 16)
+                | ((bytes[offset + 2] & 0xFF) << 8) | (bytes[offset + 3] & 0xFF);
+    }
+}
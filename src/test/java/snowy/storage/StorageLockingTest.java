@@ -0,0 +1,116 @@
+package snowy.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import snowy.exception.WriteConflictException;
+import snowy.task.Task;
+import snowy.task.ToDo;
+
+/**
+ * JUnit tests for several FlatFileStorage instances sharing one task file.
+ */
+public class StorageLockingTest {
+    private static final int WRITERS = 4;
+    private static final int TASKS_PER_WRITER = 25;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void save_otherInstanceAppended_bothTasksKept() {
+        String file = tempDir.resolve("tasks.txt").toString();
+        FlatFileStorage first = new FlatFileStorage(file);
+        FlatFileStorage second = new FlatFileStorage(file);
+        ArrayList<Task> firstTasks = first.load();
+        ArrayList<Task> secondTasks = second.load();
+
+        firstTasks.add(new ToDo("read book"));
+        first.save(firstTasks);
+        secondTasks.add(new ToDo("buy milk"));
+        TaskChanges merged = second.save(secondTasks);
+
+        assertEquals("read book", merged.getAddedTasks().get(0).getDescription());
+        assertEquals(2, new FlatFileStorage(file).load().size());
+    }
+
+    @Test
+    public void save_otherInstanceChangedSameTask_conflict() {
+        String file = tempDir.resolve("tasks.txt").toString();
+        FlatFileStorage setup = new FlatFileStorage(file);
+        setup.load();
+        setup.save(new ArrayList<>(List.of(new ToDo("read book"))));
+        FlatFileStorage first = new FlatFileStorage(file);
+        FlatFileStorage second = new FlatFileStorage(file);
+        ArrayList<Task> firstTasks = first.load();
+        ArrayList<Task> secondTasks = second.load();
+
+        firstTasks.get(0).markAsDone();
+        first.save(firstTasks);
+        secondTasks.remove(0);
+        WriteConflictException e = assertThrows(WriteConflictException.class, () -> second.save(secondTasks));
+
+        assertTrue(e.getChangesToFile().getAddedTasks().get(0).isDone());
+        assertTrue(new FlatFileStorage(file).load().get(0).isDone());
+    }
+
+    @Test
+    public void save_severalProcessesAppending_noUpdateLost() throws Exception {
+        String file = tempDir.resolve("tasks.txt").toString();
+        String javaBin = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        // The writers only need Snowy's classes and this test's classes
+        String classPath = Path.of(FlatFileStorage.class.getProtectionDomain().getCodeSource().getLocation().toURI())
+                + File.pathSeparator
+                + Path.of(Writer.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        List<Process> writers = new ArrayList<>();
+        for (int i = 0; i < WRITERS; i++) {
+            writers.add(new ProcessBuilder(javaBin, "-cp", classPath,
+                    Writer.class.getName(), file, "writer" + i, String.valueOf(TASKS_PER_WRITER))
+                    .inheritIO()
+                    .start());
+        }
+        for (Process writer : writers) {
+            assertTrue(writer.waitFor(60, TimeUnit.SECONDS));
+            assertEquals(0, writer.exitValue());
+        }
+
+        Set<String> descriptions = new HashSet<>();
+        for (Task task : new FlatFileStorage(file).load()) {
+            descriptions.add(task.getDescription());
+        }
+        assertEquals(WRITERS * TASKS_PER_WRITER, descriptions.size());
+    }
+
+    /**
+     * Adds tasks to a task file one save at a time, as a separate Snowy process would.
+     */
+    public static class Writer {
+        /**
+         * Adds the given number of tasks named after the writer.
+         *
+         * @param args The task file, the writer's name and the number of tasks to add.
+         */
+        public static void main(String[] args) {
+            FlatFileStorage storage = new FlatFileStorage(args[0]);
+            ArrayList<Task> tasks = storage.load();
+            for (int i = 0; i < Integer.parseInt(args[2]); i++) {
+                tasks.add(new ToDo(args[1] + "-" + i));
+                TaskChanges merged = storage.save(tasks);
+                tasks.subList(merged.getStart(), merged.getStart() + merged.getRemovedCount()).clear();
+                tasks.addAll(merged.getStart(), merged.getAddedTasks());
+            }
+        }
+    }
+}
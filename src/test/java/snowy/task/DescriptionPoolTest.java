@@ -0,0 +1,56 @@
+package snowy.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit tests for DescriptionPool class.
+ */
+public class DescriptionPoolTest {
+
+    @Test
+    public void intern_repeatedDescription_returnsSameInstance() {
+        DescriptionPool pool = new DescriptionPool();
+        String first = pool.intern(new String("standup"));
+        String second = pool.intern(new String("standup"));
+
+        assertSame(first, second);
+        assertEquals(1, pool.getHitCount());
+        assertEquals(1, pool.getMissCount());
+    }
+
+    @Test
+    public void intern_disabledPool_returnsInputUnchanged() {
+        DescriptionPool pool = new DescriptionPool(0);
+        String first = pool.intern(new String("standup"));
+        String second = pool.intern(new String("standup"));
+
+        assertNotSame(first, second);
+        assertEquals(0, pool.size());
+    }
+
+    @Test
+    public void intern_poolFull_newDescriptionsNotPooled() {
+        DescriptionPool pool = new DescriptionPool(1);
+        pool.intern("standup");
+        String first = pool.intern(new String("review PRs"));
+        String second = pool.intern(new String("review PRs"));
+
+        assertNotSame(first, second);
+        assertEquals(1, pool.size());
+    }
+
+    @Test
+    public void getHitRate_mixedDescriptions_correctRate() {
+        DescriptionPool pool = new DescriptionPool();
+        pool.intern(new String("standup"));
+        pool.intern(new String("standup"));
+        pool.intern(new String("standup"));
+        pool.intern(new String("pset2"));
+
+        assertEquals(0.5, pool.getHitRate());
+    }
+}
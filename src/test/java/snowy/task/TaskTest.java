@@ -2,9 +2,12 @@ package snowy.task;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
@@ -104,4 +107,63 @@ public class TaskTest {
         assertEquals(start, event.getStart());
         assertEquals(end, event.getEnd());
     }
+
+    @Test
+    public void getOccurrencesBetween_weeklyDeadline_onlyOccurrencesInRange() {
+        LocalDateTime first = LocalDateTime.of(2026, 3, 2, 9, 0);
+        RecurringDeadline deadline = new RecurringDeadline("standup", first, Recurrence.WEEKLY);
+
+        List<LocalDateTime> occurrences = deadline.getOccurrencesBetween(
+                LocalDate.of(2026, 3, 10), LocalDate.of(2026, 3, 23));
+
+        assertEquals(List.of(LocalDateTime.of(2026, 3, 16, 9, 0), LocalDateTime.of(2026, 3, 23, 9, 0)),
+                occurrences);
+    }
+
+    @Test
+    public void getOccurrencesBetween_monthlyEventOnLastDay_anchoredToFirstOccurrence() {
+        LocalDateTime start = LocalDateTime.of(2026, 1, 31, 10, 0);
+        RecurringEvent event = new RecurringEvent("review", start, start.plusHours(1), Recurrence.MONTHLY);
+
+        List<LocalDateTime> occurrences = event.getOccurrencesBetween(
+                LocalDate.of(2026, 2, 1), LocalDate.of(2026, 3, 31));
+
+        assertEquals(List.of(LocalDateTime.of(2026, 2, 28, 10, 0), LocalDateTime.of(2026, 3, 31, 10, 0)),
+                occurrences);
+    }
+
+    @Test
+    public void getNextOccurrence_weeklyEventInProgress_returnsCurrentOccurrence() {
+        LocalDateTime start = LocalDateTime.of(2026, 3, 2, 18, 0);
+        RecurringEvent event = new RecurringEvent("gym", start, start.plusHours(2), Recurrence.WEEKLY);
+
+        assertEquals(LocalDateTime.of(2026, 3, 16, 18, 0),
+                event.getNextOccurrence(LocalDateTime.of(2026, 3, 16, 19, 0)));
+    }
+
+    @Test
+    public void printDetailed_unchangedTask_renderedOnce() {
+        Task task = new Deadline("pset2", LocalDateTime.of(2026, 2, 25, 23, 59));
+
+        assertSame(task.printDetailed(), task.printDetailed());
+    }
+
+    @Test
+    public void printDetailed_afterMarkAsDone_statusUpdated() {
+        Task task = new Deadline("pset2", LocalDateTime.of(2026, 2, 25, 23, 59));
+        String before = task.printDetailed();
+        task.markAsDone();
+
+        assertEquals(before.replace("[ ]", "[X]"), task.printDetailed());
+    }
+
+    @Test
+    public void printDetailed_priorityAndTagsSet_labelsShownAfterDescription() {
+        Task task = new Deadline("pset2", LocalDateTime.of(2026, 2, 25, 23, 59));
+        task.setPriority(Priority.HIGH);
+        task.setTags(List.of("school", "cs2103", "school"));
+
+        assertEquals(List.of("cs2103", "school"), task.getTags());
+        assertTrue(task.printDetailed().startsWith("[D][ ]  pset2 !high #cs2103 #school (by: "));
+    }
 }
@@ -4,9 +4,14 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.regex.Pattern;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,6 +19,10 @@ import org.junit.jupiter.api.Test;
 import snowy.exception.SnowyException;
 import snowy.task.Deadline;
 import snowy.task.Event;
+import snowy.task.Priority;
+import snowy.task.Recurrence;
+import snowy.task.RecurringDeadline;
+import snowy.task.RecurringEvent;
 import snowy.task.Task;
 import snowy.task.ToDo;
 
@@ -142,4 +151,532 @@ public class TaskListTest {
 
         assertEquals(2, result.size());
     }
+
+    @Test
+    public void getTasksOnDate_recurringDeadline_occurrenceFound() {
+        LocalDateTime first = LocalDateTime.of(2024, 12, 4, 9, 0);
+        taskList.addTask(new RecurringDeadline("standup", first, Recurrence.WEEKLY));
+
+        ArrayList<Task> result = taskList.getTasksOnDate(LocalDate.of(2024, 12, 25));
+
+        assertEquals(1, result.size());
+        assertEquals(LocalDateTime.of(2024, 12, 25, 9, 0), result.get(0).getDate());
+        assertEquals(1, taskList.size());
+    }
+
+    @Test
+    public void getTasksBetween_multiDayEvent_listedOnEachDayInRange() {
+        LocalDateTime start = LocalDateTime.of(2024, 12, 23, 10, 0);
+        LocalDateTime end = LocalDateTime.of(2024, 12, 27, 12, 0);
+        Event event = new Event("Retreat", start, end);
+        taskList.addTask(event);
+        taskList.addTask(new Deadline("Report", LocalDateTime.of(2024, 12, 26, 18, 0)));
+
+        NavigableMap<LocalDate, List<Task>> result = taskList.getTasksBetween(
+                LocalDate.of(2024, 12, 25), LocalDate.of(2024, 12, 31));
+
+        assertEquals(List.of(LocalDate.of(2024, 12, 25), LocalDate.of(2024, 12, 26), LocalDate.of(2024, 12, 27)),
+                List.copyOf(result.keySet()));
+        assertEquals(2, result.get(LocalDate.of(2024, 12, 26)).size());
+        assertEquals(event, result.get(LocalDate.of(2024, 12, 27)).get(0));
+    }
+
+    @Test
+    public void getTasksBetween_deletedTask_notReturned() throws SnowyException {
+        taskList.addTask(new Deadline("Report", LocalDateTime.of(2024, 12, 26, 18, 0)));
+        taskList.deleteTask(0);
+
+        assertTrue(taskList.getTasksBetween(LocalDate.of(2024, 12, 1), LocalDate.of(2024, 12, 31)).isEmpty());
+    }
+
+    @Test
+    public void planQuery_longEventBeforeRange_notCountedAsCandidate() throws SnowyException {
+        taskList.addTask(new Event("Semester", LocalDateTime.of(2026, 1, 1, 9, 0), LocalDateTime.of(2026, 3, 1, 9, 0)));
+        taskList.addTask(new Deadline("Report", LocalDateTime.of(2026, 3, 20, 18, 0)));
+        taskList.addTask(new Deadline("Essay", LocalDateTime.of(2026, 2, 10, 18, 0)));
+
+        LocalDate afterSemester = LocalDate.of(2026, 3, 20);
+        Query query = new Query(List.of(Filter.ofDateRange("on:2026-03-20", afterSemester, afterSemester)));
+        assertTrue(taskList.planQuery(query).describe().contains("(~1 candidate(s))"));
+
+        LocalDate duringSemester = LocalDate.of(2026, 2, 10);
+        query = new Query(List.of(Filter.ofDateRange("on:2026-02-10", duringSemester, duringSemester)));
+        assertTrue(taskList.planQuery(query).describe().contains("(~2 candidate(s))"));
+    }
+
+    @Test
+    public void getTasksOnDate_eventEndsAtMidnight_listedOnThatDay() {
+        Event party = new Event("Party", LocalDateTime.of(2026, 3, 19, 20, 0), LocalDateTime.of(2026, 3, 20, 0, 0));
+        taskList.addTask(party);
+
+        assertEquals(List.of(party), taskList.getTasksOnDate(LocalDate.of(2026, 3, 20)));
+        assertEquals(List.of(), taskList.getTasksOnDate(LocalDate.of(2026, 3, 21)));
+    }
+
+    @Test
+    public void searchTasks_typoInQuery_taskFound() {
+        Task homework = new ToDo("finish homework");
+        taskList.addTask(new ToDo("buy milk"));
+        taskList.addTask(homework);
+
+        List<Task> result = taskList.searchTasks("homwork", 10);
+
+        assertEquals(List.of(homework), result);
+    }
+
+    @Test
+    public void searchTasks_exactAndFuzzyMatches_exactMatchRankedFirst() {
+        Task fuzzy = new ToDo("read bok club notes");
+        Task exact = new ToDo("Read Book");
+        taskList.addTask(fuzzy);
+        taskList.addTask(exact);
+
+        List<Task> result = taskList.searchTasks("read book", 10);
+
+        assertEquals(List.of(exact, fuzzy), result);
+    }
+
+    @Test
+    public void searchTasks_equalScores_listOrderKept() throws SnowyException {
+        List<Task> added = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Task task = new ToDo("weekly homework");
+            added.add(task);
+            taskList.addTask(task);
+        }
+        taskList.deleteTask(0);
+        taskList.insertTask(5, added.get(0));
+
+        List<Task> expected = new ArrayList<>(taskList.getTasks().subList(0, 8));
+        assertEquals(expected, taskList.searchTasks("homework", 8));
+        assertEquals(5, taskList.indexOf(added.get(0)));
+    }
+
+    @Test
+    public void searchTasks_moreMatchesThanLimit_limitApplied() {
+        for (int i = 0; i < 5; i++) {
+            taskList.addTask(new ToDo("pset" + i));
+        }
+
+        assertEquals(2, taskList.searchTasks("pset", 2).size());
+    }
+
+    @Test
+    public void searchTasks_deletedTask_notFound() throws SnowyException {
+        taskList.addTask(new ToDo("homework"));
+        taskList.deleteTask(0);
+
+        assertTrue(taskList.searchTasks("homework", 10).isEmpty());
+    }
+
+    @Test
+    public void runQuery_indexReturnsDateOrder_positionsInListOrder() throws SnowyException {
+        taskList.addTask(new Deadline("later", LocalDateTime.of(2026, 3, 20, 18, 0)));
+        taskList.addTask(new ToDo("undated"));
+        taskList.addTask(new Deadline("earlier", LocalDateTime.of(2026, 3, 2, 18, 0)));
+        taskList.insertTask(0, new Deadline("earliest", LocalDateTime.of(2026, 3, 1, 18, 0)));
+
+        QueryPlan plan = taskList.planQuery(new Query(List.of(
+                Filter.ofDateRange("before:2026-04-01", Filter.EARLIEST_DATE, LocalDate.of(2026, 3, 31)))));
+
+        assertTrue(plan.describe().startsWith("1. index lookup"));
+        assertEquals(List.of(0, 1, 3), taskList.runQuery(plan));
+    }
+
+    @Test
+    public void runQuery_typeDoneDateAndRegex_matchingPositionsReturned() throws SnowyException {
+        taskList.addTask(new Deadline("pset1", LocalDateTime.of(2026, 2, 10, 23, 59)));
+        taskList.addTask(new Deadline("pset2", LocalDateTime.of(2026, 2, 25, 23, 59)));
+        taskList.addTask(new Deadline("pset3", LocalDateTime.of(2026, 3, 10, 23, 59)));
+        taskList.addTask(new ToDo("pset4 notes"));
+        taskList.markTask(0);
+
+        Query query = new Query(List.of(
+                Filter.ofType("D"),
+                Filter.ofDone(false),
+                Filter.ofDateRange("before:2026-03-01", Filter.EARLIEST_DATE, LocalDate.of(2026, 2, 28)),
+                Filter.ofRegex(Pattern.compile("pset\\d"))));
+
+        assertEquals(List.of(1), taskList.runQuery(taskList.planQuery(query)));
+    }
+
+    @Test
+    public void planQuery_selectiveKeyword_keywordIndexChosen() {
+        for (int i = 0; i < 10; i++) {
+            taskList.addTask(new ToDo("chore " + i));
+        }
+        taskList.addTask(new ToDo("homework"));
+
+        QueryPlan plan = taskList.planQuery(new Query(List.of(Filter.ofType("T"), Filter.ofKeyword("homework"))));
+
+        assertTrue(plan.describe().startsWith("1. index lookup homework"));
+    }
+
+    @Test
+    public void planQuery_onlyRegex_fullScan() {
+        taskList.addTask(new ToDo("homework"));
+
+        QueryPlan plan = taskList.planQuery(new Query(List.of(Filter.ofRegex(Pattern.compile("home")))));
+
+        assertTrue(plan.describe().startsWith("1. full scan"));
+    }
+
+    @Test
+    public void removeDoneTasks_withCutoff_onlyOldDoneTasksRemoved() {
+        Task oldDone = new Deadline("pset1", LocalDateTime.of(2026, 2, 1, 23, 59));
+        Task recentDone = new Deadline("pset2", LocalDateTime.of(2026, 3, 1, 23, 59));
+        Task oldPending = new Deadline("pset3", LocalDateTime.of(2026, 2, 1, 23, 59));
+        taskList.addTask(oldDone);
+        taskList.addTask(recentDone);
+        taskList.addTask(oldPending);
+        taskList.markTask(0);
+        taskList.markTask(1);
+
+        List<Task> removed = taskList.removeDoneTasks(LocalDate.of(2026, 2, 15));
+
+        assertEquals(List.of(oldDone), removed);
+        assertEquals(List.of(recentDone, oldPending), taskList.getTasks());
+        assertTrue(taskList.getTasksOnDate(LocalDate.of(2026, 2, 1)).contains(oldPending));
+        assertEquals(1, taskList.getTasksOnDate(LocalDate.of(2026, 2, 1)).size());
+    }
+
+    @Test
+    public void replaceTasks_middleRun_indexesUpdated() {
+        Task first = new ToDo("read book");
+        Task second = new Deadline("pset2", LocalDateTime.of(2026, 2, 25, 23, 59));
+        Task third = new ToDo("buy milk");
+        taskList.addTask(first);
+        taskList.addTask(second);
+        taskList.addTask(third);
+        Task edited = new Deadline("pset2", LocalDateTime.of(2026, 2, 26, 23, 59));
+
+        List<Task> replaced = taskList.replaceTasks(1, 1, List.of(edited));
+
+        assertEquals(List.of(second), replaced);
+        assertEquals(List.of(first, edited, third), taskList.getTasks());
+        assertTrue(taskList.getTasksOnDate(LocalDate.of(2026, 2, 25)).isEmpty());
+        assertEquals(List.of(edited), taskList.getTasksOnDate(LocalDate.of(2026, 2, 26)));
+    }
+
+    @Test
+    public void getConflictingEvents_overlappingAndBackToBack_onlyOverlapsReturned() {
+        LocalDateTime nine = LocalDateTime.of(2026, 3, 2, 9, 0);
+        Event standup = new Event("standup", nine, nine.plusHours(1));
+        Event review = new Event("review", nine.plusHours(1), nine.plusHours(2));
+        Event lunch = new Event("lunch", nine.plusHours(3), nine.plusHours(4));
+        taskList.addTask(standup);
+        taskList.addTask(review);
+        taskList.addTask(lunch);
+        taskList.addTask(new ToDo("read book"));
+
+        Event workshop = new Event("workshop", nine.plusMinutes(30), nine.plusHours(3));
+        taskList.addTask(workshop);
+
+        assertEquals(List.of(standup, review), taskList.getConflictingEvents(workshop));
+        assertEquals(List.of(workshop), taskList.getConflictingEvents(standup));
+        assertEquals(List.of(), taskList.getConflictingEvents(lunch));
+    }
+
+    @Test
+    public void getConflictingEvents_deletedEventAndRecurringEvent_deletedSkippedOccurrenceFound()
+            throws SnowyException {
+        LocalDateTime monday = LocalDateTime.of(2026, 3, 2, 9, 0);
+        taskList.addTask(new Event("old meeting", monday.plusWeeks(2), monday.plusWeeks(2).plusHours(1)));
+        taskList.addTask(new RecurringEvent("standup", monday, monday.plusMinutes(15), Recurrence.WEEKLY));
+        taskList.deleteTask(0);
+
+        Event clash = new Event("dentist", monday.plusWeeks(2).minusMinutes(30), monday.plusWeeks(2).plusMinutes(5));
+        List<Event> conflicts = taskList.getConflictingEvents(clash);
+
+        assertEquals(1, conflicts.size());
+        assertEquals("standup", conflicts.get(0).getDescription());
+        assertEquals(monday.plusWeeks(2), conflicts.get(0).getStart());
+    }
+
+    @Test
+    public void findConflicts_randomEvents_matchesPairwiseCheck() throws SnowyException {
+        Random random = new Random(42);
+        LocalDateTime base = LocalDateTime.of(2026, 1, 1, 0, 0);
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            LocalDateTime start = base.plusMinutes(random.nextInt(20_000));
+            Event event = new Event("event " + i, start, start.plusMinutes(random.nextInt(240)));
+            events.add(event);
+            taskList.addTask(event);
+        }
+        // Deleting exercises removal from the middle of the index
+        for (int i = 0; i < 50; i++) {
+            events.remove(taskList.deleteTask(random.nextInt(taskList.size())));
+        }
+
+        int expectedPairs = 0;
+        for (int i = 0; i < events.size(); i++) {
+            int expectedForEvent = 0;
+            for (int j = 0; j < events.size(); j++) {
+                if (i != j && EventIndex.overlaps(events.get(j), events.get(i).getStart(), events.get(i).getEnd())) {
+                    expectedForEvent++;
+                    expectedPairs += j > i ? 1 : 0;
+                }
+            }
+            assertEquals(expectedForEvent, taskList.getConflictingEvents(events.get(i)).size());
+        }
+
+        List<EventConflict> conflicts = taskList.findConflicts();
+        assertEquals(expectedPairs, conflicts.size());
+        for (EventConflict conflict : conflicts) {
+            assertTrue(!conflict.getFirst().getStart().isAfter(conflict.getSecond().getStart()));
+            assertTrue(EventIndex.overlaps(conflict.getFirst(), conflict.getSecond().getStart(),
+                    conflict.getSecond().getEnd()));
+        }
+    }
+
+    @Test
+    public void getFreeSlots_overlappingAndRecurringEvents_gapsBetweenMergedBusyTimes() {
+        LocalDate day = LocalDate.of(2026, 3, 2);
+        LocalDateTime nine = day.atTime(9, 0);
+        taskList.addTask(new Event("night shift", day.minusDays(1).atTime(22, 0), day.atTime(6, 0)));
+        taskList.addTask(new Event("lecture", nine, nine.plusHours(2)));
+        taskList.addTask(new Event("lab", nine.plusHours(1), nine.plusHours(3)));
+        taskList.addTask(new Event("reminder", nine.plusHours(5), nine.plusHours(5)));
+        taskList.addTask(new RecurringEvent("gym", day.minusWeeks(1).atTime(18, 0),
+                day.minusWeeks(1).atTime(19, 0), Recurrence.WEEKLY));
+
+        List<TimeSlot> slots = taskList.getFreeSlots(day, day, Duration.ofMinutes(90));
+
+        assertEquals(3, slots.size());
+        assertEquals(day.atTime(6, 0), slots.get(0).getStart());
+        assertEquals(nine, slots.get(0).getEnd());
+        assertEquals(day.atTime(12, 0), slots.get(1).getStart());
+        assertEquals(day.atTime(18, 0), slots.get(1).getEnd());
+        assertEquals(day.atTime(19, 0), slots.get(2).getStart());
+        assertEquals(day.plusDays(1).atStartOfDay(), slots.get(2).getEnd());
+    }
+
+    @Test
+    public void getFreeSlots_noEventsOverRange_oneSlotForWholeRange() {
+        LocalDate from = LocalDate.of(2026, 3, 2);
+        taskList.addTask(new ToDo("read book"));
+
+        List<TimeSlot> slots = taskList.getFreeSlots(from, from.plusDays(2), Duration.ofHours(1));
+
+        assertEquals(1, slots.size());
+        assertEquals(Duration.ofDays(3), slots.get(0).getLength());
+    }
+
+    @Test
+    public void getStats_tasksAddedMarkedAndDeleted_countsKeptInStep() throws SnowyException {
+        LocalDateTime now = LocalDateTime.of(2026, 3, 4, 12, 0); // a Wednesday
+        taskList.addTask(new ToDo("read book"));
+        taskList.addTask(new Deadline("old report", now.minusWeeks(2)));
+        taskList.addTask(new Deadline("due this morning", now.minusHours(3)));
+        taskList.addTask(new Deadline("due tonight", now.plusHours(8)));
+        taskList.addTask(new Event("lecture", now.minusDays(2), now.minusDays(2).plusHours(2)));
+        taskList.addTask(new RecurringDeadline("rent", now.minusWeeks(5), Recurrence.MONTHLY));
+        taskList.markTask(4);
+        taskList.markTask(1);
+        taskList.unmarkTask(1);
+        taskList.markTask(2);
+
+        TaskStats stats = taskList.getStats(now, 4);
+
+        assertEquals(1, stats.getTodoCount());
+        assertEquals(4, stats.getDeadlineCount());
+        assertEquals(1, stats.getEventCount());
+        assertEquals(2, stats.getDoneCount());
+        assertEquals(4, stats.getPendingCount());
+        assertEquals(1, stats.getOverdueCount());
+        assertEquals(2, stats.getWeeks().size());
+        assertEquals(LocalDate.of(2026, 2, 16), stats.getWeeks().get(0).getStart());
+        assertEquals(0, stats.getWeeks().get(0).getDoneCount());
+        assertEquals(LocalDate.of(2026, 3, 2), stats.getWeeks().get(1).getStart());
+        assertEquals(3, stats.getWeeks().get(1).getTaskCount());
+        assertEquals(2, stats.getWeeks().get(1).getDoneCount());
+
+        taskList.deleteTask(1);
+        taskList.unmarkTask(1);
+
+        stats = taskList.getStats(now, 4);
+        assertEquals(1, stats.getOverdueCount());
+        assertEquals(1, stats.getWeeks().size());
+        assertEquals(1, stats.getWeeks().get(0).getDoneCount());
+        assertEquals(2, taskList.getStats(now.plusDays(1), 4).getOverdueCount());
+    }
+
+    @Test
+    public void getOverdueDeadlines_markedDeletedAndUnmarked_onlyPendingPastDeadlinesReturned()
+            throws SnowyException {
+        LocalDateTime now = LocalDateTime.of(2026, 3, 4, 12, 0);
+        Deadline report = new Deadline("report", now.minusDays(1));
+        Deadline essay = new Deadline("essay", now.minusDays(3));
+        Deadline slides = new Deadline("slides", now.minusHours(1));
+        taskList.addTask(report);
+        taskList.addTask(essay);
+        taskList.addTask(slides);
+        taskList.addTask(new Deadline("exam prep", now.plusDays(1)));
+        taskList.addTask(new RecurringDeadline("rent", now.minusWeeks(5), Recurrence.MONTHLY));
+        taskList.addTask(new ToDo("read book"));
+
+        assertEquals(List.of(essay, report, slides), taskList.getOverdueDeadlines(now));
+
+        taskList.markTask(0);
+        taskList.deleteTask(2);
+        assertEquals(List.of(essay), taskList.getOverdueDeadlines(now));
+
+        taskList.unmarkTask(0);
+        taskList.unmarkTask(0);
+        assertEquals(List.of(essay, report), taskList.getOverdueDeadlines(now));
+        assertEquals(3, taskList.getOverdueDeadlines(now.plusDays(2)).size());
+    }
+
+    @Test
+    public void getOverdueDeadlines_manyDeadlinesDeleted_matchesScan() throws SnowyException {
+        LocalDateTime now = LocalDateTime.of(2026, 3, 4, 12, 0);
+        Random random = new Random(48);
+        for (int i = 0; i < 500; i++) {
+            taskList.addTask(new Deadline("deadline " + i, now.plusHours(random.nextInt(200) - 100)));
+        }
+        for (int i = 0; i < 400; i++) {
+            int index = random.nextInt(taskList.size());
+            if (random.nextBoolean()) {
+                taskList.deleteTask(index);
+            } else if (random.nextBoolean()) {
+                taskList.markTask(index);
+            } else {
+                taskList.unmarkTask(index);
+            }
+        }
+
+        List<Deadline> overdue = taskList.getOverdueDeadlines(now);
+
+        long expected = taskList.getTasks().stream()
+                .filter(task -> !task.isDone() && task.getDate().isBefore(now))
+                .count();
+        assertEquals(expected, overdue.size());
+        for (int i = 1; i < overdue.size(); i++) {
+            assertTrue(!overdue.get(i).getBy().isBefore(overdue.get(i - 1).getBy()));
+        }
+    }
+
+    @Test
+    public void runQuery_severalExactFilters_bitmapIntersectionMatchesScan() throws SnowyException {
+        Random random = new Random(49);
+        List<String> tagNames = List.of("work", "home", "school");
+        for (int i = 0; i < 300; i++) {
+            Task task = random.nextBoolean() ? new ToDo("task " + i)
+                    : new Deadline("task " + i, LocalDateTime.of(2026, 3, 1, 12, 0).plusHours(i));
+            taskList.addTask(task);
+            taskList.relabelTask(i, Priority.values()[random.nextInt(3)],
+                    List.of(tagNames.get(random.nextInt(3)), tagNames.get(random.nextInt(3))));
+            if (random.nextInt(3) == 0) {
+                taskList.markTask(i);
+            }
+        }
+        for (int i = 0; i < 50; i++) {
+            taskList.deleteTask(random.nextInt(taskList.size()));
+        }
+        taskList.relabelTask(0, Priority.HIGH, List.of("work"));
+        taskList.unmarkTask(0);
+
+        Query query = new Query(List.of(Filter.ofPriority(Priority.HIGH), Filter.ofTag("work"),
+                Filter.ofDone(false), Filter.ofKeyword("task")));
+        QueryPlan plan = taskList.planQuery(query);
+        List<Integer> positions = taskList.runQuery(plan);
+
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < taskList.size(); i++) {
+            Task task = taskList.getTask(i);
+            if (query.getFilters().stream().allMatch(filter -> filter.test(task))) {
+                expected.add(i);
+            }
+        }
+        assertTrue(plan.describe().startsWith("1. bitmap intersection of priority:high and tag:work and done:0 ("
+                + expected.size() + " candidate(s))"));
+        assertTrue(positions.contains(0));
+        assertEquals(expected, positions);
+    }
+
+    @Test
+    public void listener_addMarkDelete_eventsWithPositions() {
+        List<TaskEvent> events = new ArrayList<>();
+        taskList.addListener(events::addAll);
+        Task first = new ToDo("first");
+        Task second = new ToDo("second");
+        taskList.addTask(first);
+        taskList.insertTask(0, second);
+        taskList.markTask(1);
+        taskList.deleteTask(0);
+
+        assertEquals(List.of(TaskEvent.Kind.ADDED, TaskEvent.Kind.ADDED, TaskEvent.Kind.UPDATED,
+                TaskEvent.Kind.REMOVED), events.stream().map(TaskEvent::getKind).toList());
+        assertEquals(List.of(0, 0, 1, 0), events.stream().map(TaskEvent::getIndex).toList());
+        assertEquals(List.of(first, second, first, second), events.stream().map(TaskEvent::getTask).toList());
+        assertEquals(taskList.getVersion(), events.get(3).getVersion());
+    }
+
+    @Test
+    public void listener_removeDoneTasks_positionsFollowEarlierRemovals() {
+        for (int i = 0; i < 5; i++) {
+            taskList.addTask(new ToDo("task " + i));
+        }
+        taskList.markTask(1);
+        taskList.markTask(2);
+        taskList.markTask(4);
+        List<List<TaskEvent>> batches = new ArrayList<>();
+        taskList.addListener(batches::add);
+
+        taskList.removeDoneTasks(null);
+
+        assertEquals(1, batches.size());
+        List<TaskEvent> events = batches.get(0);
+        // Applying the removals in order to the old list gives the new one
+        assertEquals(List.of(1, 1, 2), events.stream().map(TaskEvent::getIndex).toList());
+        assertTrue(events.stream().allMatch(event -> event.getKind() == TaskEvent.Kind.REMOVED
+                && event.getVersion() == taskList.getVersion()));
+    }
+
+    @Test
+    public void listener_replaceTasks_removalsThenAdditionsInOneBatch() {
+        taskList.addTask(new ToDo("keep"));
+        Task old = new ToDo("old");
+        taskList.addTask(old);
+        List<List<TaskEvent>> batches = new ArrayList<>();
+        taskList.addListener(batches::add);
+        Task first = new ToDo("new 1");
+        Task second = new ToDo("new 2");
+
+        taskList.replaceTasks(1, 1, List.of(first, second));
+
+        assertEquals(1, batches.size());
+        List<TaskEvent> events = batches.get(0);
+        assertEquals(List.of(TaskEvent.Kind.REMOVED, TaskEvent.Kind.ADDED, TaskEvent.Kind.ADDED),
+                events.stream().map(TaskEvent::getKind).toList());
+        assertEquals(List.of(1, 1, 2), events.stream().map(TaskEvent::getIndex).toList());
+        assertEquals(List.of(old, first, second), events.stream().map(TaskEvent::getTask).toList());
+    }
+
+    @Test
+    public void listener_earlierListenerThrows_laterListenersStillCalled() {
+        taskList.addListener(events -> {
+            throw new SnowyException("Woof! Disk full");
+        });
+        List<TaskEvent> events = new ArrayList<>();
+        taskList.addListener(events::addAll);
+
+        assertThrows(SnowyException.class, () -> taskList.addTask(new ToDo("kept")));
+
+        assertEquals(1, taskList.size());
+        assertEquals(1, events.size());
+    }
+
+    @Test
+    public void removeListener_afterRemoval_noMoreEvents() {
+        List<TaskEvent> events = new ArrayList<>();
+        TaskListener listener = events::addAll;
+        taskList.addListener(listener);
+        taskList.addTask(new ToDo("seen"));
+        taskList.removeListener(listener);
+        taskList.addTask(new ToDo("not seen"));
+
+        assertEquals(1, events.size());
+    }
 }
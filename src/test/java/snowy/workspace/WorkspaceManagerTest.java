@@ -0,0 +1,131 @@
+package snowy.workspace;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import snowy.exception.SnowyException;
+import snowy.storage.Storage;
+import snowy.task.DescriptionPool;
+import snowy.task.ToDo;
+
+/**
+ * JUnit tests for WorkspaceManager class.
+ */
+public class WorkspaceManagerTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void get_newWorkspace_fileCreatedInDirectory() throws SnowyException {
+        WorkspaceManager manager = new WorkspaceManager(tempDir.resolve("lists"), new DescriptionPool(), 10);
+
+        Workspace workspace = manager.get("project-a");
+
+        assertEquals(0, workspace.getTasks().size());
+        assertTrue(Files.exists(tempDir.resolve("lists").resolve("project-a.txt")));
+    }
+
+    @Test
+    public void get_sameWorkspaceTwice_loadedOnce() throws SnowyException {
+        WorkspaceManager manager = new WorkspaceManager(tempDir, new DescriptionPool(), 10);
+
+        assertSame(manager.get("work"), manager.get("work"));
+    }
+
+    @Test
+    public void get_overMemoryBudget_leastRecentlyUsedUnloaded() throws SnowyException {
+        WorkspaceManager manager = new WorkspaceManager(tempDir, new DescriptionPool(), 2);
+        Workspace work = manager.get("work");
+        work.getTasks().addTask(new ToDo("report"));
+        work.getStorage().save(work.getTasks().getTasks());
+        manager.get("home").getTasks().addTask(new ToDo("laundry"));
+        manager.get("home");
+
+        manager.get("school").getTasks().addTask(new ToDo("pset2"));
+        manager.get("school");
+
+        assertEquals(List.of("home", "school"), List.copyOf(manager.getLoadedNames()));
+        Workspace reloaded = manager.get("work");
+        assertNotSame(work, reloaded);
+        assertEquals(1, reloaded.getTasks().size());
+    }
+
+    @Test
+    public void get_h2WorkspaceUnloaded_connectionClosed() throws SnowyException, SQLException {
+        System.setProperty(Storage.BACKEND_PROPERTY, "h2");
+        try {
+            WorkspaceManager manager = new WorkspaceManager(tempDir, new DescriptionPool(), 1);
+            Workspace work = manager.get("work");
+            work.getTasks().addTask(new ToDo("report"));
+            work.getStorage().save(work.getTasks().getTasks());
+            manager.get("home").getTasks().addTask(new ToDo("laundry"));
+            manager.get("home");
+
+            assertEquals(List.of("home"), List.copyOf(manager.getLoadedNames()));
+            try (Connection connection = DriverManager.getConnection("jdbc:h2:file:" + tempDir.resolve("work"));
+                    Statement statement = connection.createStatement();
+                    ResultSet rows = statement.executeQuery("SELECT COUNT(*) FROM INFORMATION_SCHEMA.SESSIONS")) {
+                rows.next();
+                assertEquals(1, rows.getInt(1));
+            }
+        } finally {
+            System.clearProperty(Storage.BACKEND_PROPERTY);
+        }
+    }
+
+    @Test
+    public void get_invalidName_throwsException() {
+        WorkspaceManager manager = new WorkspaceManager(tempDir, new DescriptionPool(), 10);
+
+        assertThrows(SnowyException.class, () -> manager.get("../secrets"));
+    }
+
+    @Test
+    public void get_unreadableFile_throwsExceptionAndNotLoaded() throws Exception {
+        WorkspaceManager manager = new WorkspaceManager(tempDir, new DescriptionPool(), 10);
+        // A directory in place of the task file cannot be read
+        Files.createDirectory(tempDir.resolve("broken.txt"));
+
+        assertThrows(SnowyException.class, () -> manager.get("broken"));
+
+        assertFalse(manager.getLoadedNames().contains("broken"));
+    }
+
+    @Test
+    public void open_fileNameNotValidListName_fileKeptAfterUnload() throws SnowyException {
+        WorkspaceManager manager = new WorkspaceManager(tempDir, new DescriptionPool(), 1);
+        Path file = tempDir.resolve("my.tasks.dat");
+        Workspace opened = manager.open(file);
+        opened.getTasks().addTask(new ToDo("report"));
+        opened.getStorage().save(opened.getTasks().getTasks());
+        manager.get("home").getTasks().addTask(new ToDo("laundry"));
+        manager.get("home");
+
+        Workspace reloaded = manager.get("my.tasks.dat");
+        assertNotSame(opened, reloaded);
+        assertEquals(1, reloaded.getTasks().size());
+        assertTrue(Files.exists(file));
+        assertThrows(SnowyException.class, () -> manager.get("other.tasks"));
+    }
+
+    @Test
+    public void getWorkspaceName_textFile_extensionRemoved() {
+        assertEquals("tasks", WorkspaceManager.getWorkspaceName(Path.of("data", "tasks.txt")));
+    }
+}